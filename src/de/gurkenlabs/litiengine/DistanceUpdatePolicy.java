@@ -0,0 +1,108 @@
+package de.gurkenlabs.litiengine;
+
+import java.awt.geom.Point2D;
+import java.util.Collection;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.entities.IEntityController;
+import de.gurkenlabs.litiengine.graphics.ICamera;
+
+/**
+ * An update policy that lowers the update frequency of entities and their controllers the further they are away from
+ * the closest point of interest. If no points of interest were added, the focus of the camera is used.
+ * <p>
+ * Instances within the configured distance are updated with their attached interval. For every additional multiple
+ * of this distance, the interval grows by the attached interval, up to the configured maximum interval.
+ * </p>
+ *
+ * @see ILoop#setUpdatePolicy(IUpdatePolicy)
+ */
+public class DistanceUpdatePolicy implements IUpdatePolicy {
+  private final Collection<Supplier<Point2D>> interestPoints = new CopyOnWriteArrayList<>();
+  private final double distance;
+  private final int maxInterval;
+
+  /**
+   * Initializes a new instance of the <code>DistanceUpdatePolicy</code> class.
+   *
+   * @param distance
+   *          The distance up to which instances are updated with their attached interval.
+   * @param maxInterval
+   *          The maximum number of ticks between two updates of distant instances.
+   */
+  public DistanceUpdatePolicy(double distance, int maxInterval) {
+    this.distance = distance;
+    this.maxInterval = maxInterval;
+  }
+
+  public void addInterestPoint(Supplier<Point2D> interestPoint) {
+    this.interestPoints.add(interestPoint);
+  }
+
+  public void addInterestPoint(IEntity entity) {
+    this.addInterestPoint(entity::getCenter);
+  }
+
+  public void removeInterestPoint(Supplier<Point2D> interestPoint) {
+    this.interestPoints.remove(interestPoint);
+  }
+
+  public Collection<Supplier<Point2D>> getInterestPoints() {
+    return this.interestPoints;
+  }
+
+  public double getDistance() {
+    return this.distance;
+  }
+
+  public int getMaxInterval() {
+    return this.maxInterval;
+  }
+
+  @Override
+  public int getUpdateInterval(IUpdateable updatable, int interval) {
+    final IEntity entity = getEntity(updatable);
+    if (entity == null || this.distance <= 0) {
+      return interval;
+    }
+
+    final double distanceSq = this.getDistanceSqToInterestPoints(entity.getCenter());
+    if (distanceSq < this.distance * this.distance) {
+      return interval;
+    }
+
+    final double factor = 1 + Math.floor(Math.sqrt(distanceSq) / this.distance);
+    return (int) Math.max(interval, Math.min(interval * factor, this.maxInterval));
+  }
+
+  private double getDistanceSqToInterestPoints(Point2D location) {
+    if (this.interestPoints.isEmpty()) {
+      final ICamera camera = Game.world().camera();
+      return camera != null && camera.getFocus() != null ? location.distanceSq(camera.getFocus()) : 0;
+    }
+
+    double closest = Double.MAX_VALUE;
+    for (Supplier<Point2D> interestPoint : this.interestPoints) {
+      final Point2D point = interestPoint.get();
+      if (point != null) {
+        closest = Math.min(closest, location.distanceSq(point));
+      }
+    }
+
+    return closest;
+  }
+
+  private static IEntity getEntity(IUpdateable updatable) {
+    if (updatable instanceof IEntity) {
+      return (IEntity) updatable;
+    }
+
+    if (updatable instanceof IEntityController) {
+      return ((IEntityController) updatable).getEntity();
+    }
+
+    return null;
+  }
+}
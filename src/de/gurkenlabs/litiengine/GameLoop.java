@@ -1,8 +1,12 @@
 package de.gurkenlabs.litiengine;
 
+import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+
+import de.gurkenlabs.litiengine.environment.Environment;
+import de.gurkenlabs.litiengine.graphics.ICamera;
+import de.gurkenlabs.litiengine.graphics.RenderSnapshot;
 
 /**
  * The main update loop that executes the game logic by calling the update functions on all registered components and entities.
@@ -21,9 +25,11 @@ public final class GameLoop extends UpdateLoop implements IGameLoop {
    */
   public static final int TICK_DELTATIME_LAG = 67;
 
-  private static int executionIndex = -1;
+  // the share of the viewport's size by which the captured region of a render snapshot exceeds each side of the viewport
+  private static final double SNAPSHOT_PADDING = 0.25;
 
-  private final List<TimedAction> actions;
+  private final TimingWheel actions = new TimingWheel();
+  private final List<Runnable> dueActions = new ArrayList<>();
 
   private long lastUpsTime;
 
@@ -33,18 +39,18 @@ public final class GameLoop extends UpdateLoop implements IGameLoop {
 
   protected GameLoop(String name, final int updateRate) {
     super(name, updateRate);
-    this.actions = new CopyOnWriteArrayList<>();
     this.setTimeScale(1.0F);
   }
 
   @Override
   public int perform(int delay, Runnable action) {
     final long d = Game.time().toTicks(delay);
+    return this.actions.schedule(this.getTicks() + d, action);
+  }
 
-    TimedAction a = new TimedAction(this.getTicks() + d, action);
-    this.actions.add(a);
-
-    return a.getIndex();
+  @Override
+  public void cancel(int index) {
+    this.actions.cancel(index);
   }
 
   @Override
@@ -64,16 +70,14 @@ public final class GameLoop extends UpdateLoop implements IGameLoop {
 
   @Override
   public void updateExecutionTime(int index, long ticks) {
-    for (TimedAction action : this.actions) {
-      if (action.getIndex() == index) {
-        action.setExecutionTicks(ticks);
-      }
-    }
+    this.actions.reschedule(index, ticks);
   }
 
   /**
    * In addition to the normal base implementation, the <code>GameLoop</code> performs registered action at the required
-   * time and tracks some detailed metrics.
+   * time, publishes the render snapshot of the tick if snapshot rendering is enabled and tracks some detailed metrics.
+   * 
+   * @see de.gurkenlabs.litiengine.graphics.RenderEngine#setSnapshotRendering(boolean)
    */
   @Override
   protected void process() {
@@ -82,6 +86,7 @@ public final class GameLoop extends UpdateLoop implements IGameLoop {
       this.executeTimedActions();
     }
 
+    this.publishRenderSnapshot();
     this.trackUpdateRate();
   }
 
@@ -92,16 +97,36 @@ public final class GameLoop extends UpdateLoop implements IGameLoop {
   }
 
   private void executeTimedActions() {
-    final List<TimedAction> executed = new ArrayList<>();
-    for (final TimedAction action : this.actions) {
-      if (action.getExecutionTick() <= this.getTicks()) {
-
-        action.getAction().run();
-        executed.add(action);
+    // the due actions are executed outside of the wheel's lock so that they can schedule further actions
+    this.actions.advance(this.getTicks(), this.dueActions);
+    try {
+      for (final Runnable action : this.dueActions) {
+        action.run();
       }
+    } finally {
+      this.dueActions.clear();
+    }
+  }
+
+  private void publishRenderSnapshot() {
+    final Environment environment = Game.world().environment();
+    if (!Game.graphics().isSnapshotRendering() || environment == null) {
+      return;
+    }
+
+    // only the entities around the viewport are captured, entities that are not part of the snapshot are rendered from
+    // their live state
+    final ICamera camera = Game.world().camera();
+    if (camera == null) {
+      Game.graphics().publish(new RenderSnapshot(environment.getEntities(), this.getTicks()));
+      return;
     }
 
-    this.actions.removeAll(executed);
+    final Rectangle2D viewport = camera.getViewport();
+    final double paddingX = viewport.getWidth() * SNAPSHOT_PADDING;
+    final double paddingY = viewport.getHeight() * SNAPSHOT_PADDING;
+    final Rectangle2D region = new Rectangle2D.Double(viewport.getX() - paddingX, viewport.getY() - paddingY, viewport.getWidth() + 2 * paddingX, viewport.getHeight() + 2 * paddingY);
+    Game.graphics().publish(new RenderSnapshot(environment.findEntities(region), this.getTicks()));
   }
 
   private void trackUpdateRate() {
@@ -114,32 +139,4 @@ public final class GameLoop extends UpdateLoop implements IGameLoop {
       this.updateCount = 0;
     }
   }
-
-  private class TimedAction {
-    private final Runnable action;
-    private long execution;
-    private final int index;
-
-    private TimedAction(final long execution, final Runnable action) {
-      this.execution = execution;
-      this.action = action;
-      this.index = ++executionIndex;
-    }
-
-    public Runnable getAction() {
-      return this.action;
-    }
-
-    public long getExecutionTick() {
-      return this.execution;
-    }
-
-    public void setExecutionTicks(long ticks) {
-      this.execution = ticks;
-    }
-
-    public int getIndex() {
-      return index;
-    }
-  }
 }
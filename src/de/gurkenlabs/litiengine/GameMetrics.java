@@ -8,9 +8,12 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import de.gurkenlabs.litiengine.configuration.ClientConfiguration;
 import de.gurkenlabs.litiengine.graphics.IRenderable;
+import de.gurkenlabs.litiengine.util.TimeUtilities;
 
 public final class GameMetrics implements IRenderable {
   private static final Font TITLE_FONT = new Font(Font.MONOSPACED, Font.BOLD, 12);
@@ -24,6 +27,9 @@ public final class GameMetrics implements IRenderable {
 
   private final Runtime runtime;
 
+  private final AtomicInteger convertedImages = new AtomicInteger();
+  private final AtomicLong imageConversionTime = new AtomicLong();
+
   private Color renderColor = Color.RED;
 
   private int currentOffsetY;
@@ -56,6 +62,26 @@ public final class GameMetrics implements IRenderable {
     return this.framesPerSecond;
   }
 
+  /**
+   * Gets the number of images that were converted to a compatible format when loading resources.
+   * 
+   * @return The number of converted images.
+   * 
+   * @see de.gurkenlabs.litiengine.resources.Images#toCompatible(java.awt.image.BufferedImage)
+   */
+  public int getConvertedImages() {
+    return this.convertedImages.get();
+  }
+
+  /**
+   * Gets the total time that was spent converting images to a compatible format.
+   * 
+   * @return The conversion time in milliseconds.
+   */
+  public double getImageConversionTime() {
+    return TimeUtilities.nanoToMs(this.imageConversionTime.get());
+  }
+
   public int getPackagesReceived() {
     return this.packagesReceived;
   }
@@ -96,6 +122,11 @@ public final class GameMetrics implements IRenderable {
     this.renderMetrics.add(new RenderMetrics(name, renderTime, infos));
   }
 
+  public void trackImageConversion(long conversionTime) {
+    this.convertedImages.incrementAndGet();
+    this.imageConversionTime.addAndGet(conversionTime);
+  }
+
   @Override
   public void render(final Graphics2D g) {
     this.updateMetrics();
@@ -116,6 +147,7 @@ public final class GameMetrics implements IRenderable {
       this.drawMetric(g, "java      : " + Runtime.class.getPackage().getImplementationVersion());
       this.drawMetric(g, "memory    : " + String.format("%-5.5s", this.usedMemory) + " MB");
       this.drawMetric(g, "threads   : " + Thread.activeCount());
+      this.drawMetric(g, "images    : " + this.getConvertedImages() + " converted in " + String.format("%.1f", this.getImageConversionTime()) + " ms");
     }
 
     // render network metrics
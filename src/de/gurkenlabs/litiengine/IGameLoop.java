@@ -1,14 +1,16 @@
-package de.gurkenlabs.litiengine;
-
-public interface IGameLoop extends ILoop {
-
-  public int perform(int delay, Runnable action);
-
-  public void updateExecutionTime(int index, long ticks);
-
-  public float getTimeScale();
-
-  public int getUpdateRate();
-
-  public void setTimeScale(float timeScale);
+package de.gurkenlabs.litiengine;
+
+public interface IGameLoop extends ILoop {
+
+  public int perform(int delay, Runnable action);
+
+  public void updateExecutionTime(int index, long ticks);
+
+  public default void cancel(int index) {}
+
+  public float getTimeScale();
+
+  public int getUpdateRate();
+
+  public void setTimeScale(float timeScale);
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package de.gurkenlabs.litiengine;
 
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.locks.Lock;
 
 public interface ILoop extends ILaunchable {
@@ -13,6 +14,22 @@ public interface ILoop extends ILaunchable {
    */
   public void attach(final IUpdateable updatable);
 
+  /**
+   * Attaches the update method of the specified IUpdatable instance to be called
+   * every <code>interval</code> ticks. This allows to update instances that
+   * don't require the full precision less frequently. The passed time since the
+   * last update is still provided by {@link #getDeltaTime()} when the instance
+   * is updated.
+   * 
+   * @param updatable
+   *          The instance that will be registered for the update event.
+   * @param interval
+   *          The number of ticks between two updates of the instance.
+   */
+  public default void attach(final IUpdateable updatable, int interval) {
+    this.attach(updatable);
+  }
+
   /**
    * Detaches the specified instance from the game loop.
    * 
@@ -48,6 +65,21 @@ public interface ILoop extends ILaunchable {
    */
   public long getDeltaTime();
 
+  /**
+   * Gets the number of ticks that passed since the instance that is currently
+   * being updated was last updated by this loop.
+   * <br>
+   * This is always 1 for instances that are updated every tick and outside of
+   * the update of an instance.
+   * 
+   * @return The number of ticks since the last update.
+   * 
+   * @see #attach(IUpdateable, int)
+   */
+  public default int getDeltaTicks() {
+    return 1;
+  }
+
   /**
    * Gets the actual process time in milliseconds that was required during the last tick.
    * <br>
@@ -59,6 +91,40 @@ public interface ILoop extends ILaunchable {
    */
   public double getProcessTime();
 
+  public default IUpdatePolicy getUpdatePolicy() {
+    return null;
+  }
+
+  /**
+   * Sets a policy that can lower the update frequency of the attached instances,
+   * e.g. based on their distance to the camera.
+   * 
+   * @param updatePolicy
+   *          The policy or <code>null</code> to update all instances with their
+   *          attached interval.
+   * 
+   * @see DistanceUpdatePolicy
+   */
+  public default void setUpdatePolicy(IUpdatePolicy updatePolicy) {}
+
+  public default ForkJoinPool getUpdatePool() {
+    return null;
+  }
+
+  /**
+   * Sets the pool that is used to update the attached instances of parallel
+   * update phases concurrently. The phases are still processed one after
+   * another.
+   * 
+   * @param updatePool
+   *          The pool or <code>null</code> to update all instances sequentially
+   *          on the thread of this loop, which is the default.
+   * 
+   * @see UpdatePhase
+   * @see IUpdateable#getUpdatePhase()
+   */
+  public default void setUpdatePool(ForkJoinPool updatePool) {}
+
   /**
    * Returns a lock that can be used for actions that must be performed either within or independently of the loop.
    * @return A {@code Lock} for this loop.
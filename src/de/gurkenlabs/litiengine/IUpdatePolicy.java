@@ -0,0 +1,22 @@
+package de.gurkenlabs.litiengine;
+
+/**
+ * An update policy determines how often an attached <code>IUpdateable</code> is updated by a loop.
+ * 
+ * @see ILoop#setUpdatePolicy(IUpdatePolicy)
+ */
+@FunctionalInterface
+public interface IUpdatePolicy {
+
+  /**
+   * Gets the number of ticks until the specified instance is updated again.
+   * This is called after every update of the instance.
+   * 
+   * @param updatable
+   *          The instance that was just updated.
+   * @param interval
+   *          The interval with which the instance was attached to the loop.
+   * @return The number of ticks until the next update.
+   */
+  public int getUpdateInterval(IUpdateable updatable, int interval);
+}
@@ -27,4 +27,15 @@ public interface IUpdateable {
   public default boolean isActive() {
     return true;
   }
+
+  /**
+   * Gets the phase in which this instance is updated by the game loop.
+   * 
+   * @return The update phase of this instance.
+   * 
+   * @see ILoop#setUpdatePool(java.util.concurrent.ForkJoinPool)
+   */
+  public default UpdatePhase getUpdatePhase() {
+    return UpdatePhase.DEFAULT;
+  }
 }
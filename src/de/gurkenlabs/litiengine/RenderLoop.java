@@ -20,6 +20,7 @@ public class RenderLoop extends UpdateLoop {
    */
   @Override
   protected void process() {
+    Game.graphics().updateInterpolation();
     Game.world().camera().updateFocus();
     super.process();
     Game.window().getRenderComponent().render();
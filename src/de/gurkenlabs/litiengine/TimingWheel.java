@@ -0,0 +1,198 @@
+package de.gurkenlabs.litiengine;
+
+import java.util.Collection;
+
+import de.gurkenlabs.litiengine.util.IntHashMap;
+
+/**
+ * A hierarchical timing wheel that schedules actions for a specific tick of a loop.
+ * <p>
+ * The wheel consists of several levels of 256 slots, where a slot of a level covers 256 times the ticks of a slot of
+ * the level below. An action is stored in the lowest level that can hold its execution tick and is moved down to the
+ * lower levels (cascaded) once the wheel reaches its slot. Scheduling, cancelling and rescheduling an action takes
+ * constant time and advancing the wheel by a tick only touches the due and the cascaded actions.
+ * </p>
+ */
+final class TimingWheel {
+  private static final int SLOT_BITS = 8;
+  private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+  private static final int LEVELS = 4;
+  private static final long MAX_DELTA = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+  // every slot is a circular doubly linked list with a sentinel head
+  private final TimedAction[][] slots = new TimedAction[LEVELS][SLOT_MASK + 1];
+  private final int[] levelSizes = new int[LEVELS];
+  private final IntHashMap<TimedAction> actions = new IntHashMap<>();
+
+  private long nextTick;
+  private int index = -1;
+
+  TimingWheel() {
+    for (TimedAction[] level : this.slots) {
+      for (int i = 0; i < level.length; i++) {
+        level[i] = new TimedAction(-1, 0, null);
+      }
+    }
+  }
+
+  /**
+   * Schedules the specified action.
+   *
+   * @param tick
+   *          The tick at which the action is executed. Actions for ticks that have already passed are executed with the
+   *          next tick.
+   * @param action
+   *          The action to execute.
+   * @return The index of the scheduled action that can be used to cancel or reschedule the action.
+   */
+  synchronized int schedule(long tick, Runnable action) {
+    final TimedAction timedAction = new TimedAction(++this.index, tick, action);
+    this.actions.put(timedAction.index, timedAction);
+    this.link(timedAction);
+    return timedAction.index;
+  }
+
+  synchronized boolean reschedule(int index, long tick) {
+    final TimedAction timedAction = this.actions.get(index);
+    if (timedAction == null) {
+      return false;
+    }
+
+    this.unlink(timedAction);
+    timedAction.execution = tick;
+    this.link(timedAction);
+    return true;
+  }
+
+  synchronized boolean cancel(int index) {
+    final TimedAction timedAction = this.actions.remove(index);
+    if (timedAction == null) {
+      return false;
+    }
+
+    this.unlink(timedAction);
+    return true;
+  }
+
+  synchronized int size() {
+    return this.actions.size();
+  }
+
+  /**
+   * Advances the wheel up to the specified tick and removes all actions that are due until then.
+   *
+   * @param tick
+   *          The current tick.
+   * @param due
+   *          The collection to which the due actions are added in the order of their execution ticks.
+   */
+  synchronized void advance(long tick, Collection<Runnable> due) {
+    while (this.nextTick <= tick) {
+      if (this.actions.isEmpty()) {
+        // nothing is scheduled, so the wheel can skip all remaining ticks
+        this.nextTick = tick + 1;
+        return;
+      }
+
+      // skip the ticks until the next cascade of the lowest level that holds any actions
+      int lowestLevel = 0;
+      while (lowestLevel < LEVELS - 1 && this.levelSizes[lowestLevel] == 0) {
+        lowestLevel++;
+      }
+
+      final long step = 1L << (SLOT_BITS * lowestLevel);
+      final long nextEvent = (this.nextTick + step - 1) & -step;
+      if (nextEvent > tick) {
+        this.nextTick = tick + 1;
+        return;
+      }
+
+      this.nextTick = nextEvent;
+
+      final int slot = (int) (this.nextTick & SLOT_MASK);
+      if (slot == 0) {
+        for (int level = 1; level < LEVELS; level++) {
+          final int levelSlot = (int) ((this.nextTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+          this.cascade(level, this.slots[level][levelSlot]);
+          if (levelSlot != 0) {
+            break;
+          }
+        }
+      }
+
+      final TimedAction head = this.slots[0][slot];
+      while (head.next != head) {
+        final TimedAction timedAction = head.next;
+        this.unlink(timedAction);
+        this.actions.remove(timedAction.index);
+        due.add(timedAction.action);
+      }
+
+      this.nextTick++;
+    }
+  }
+
+  private void cascade(int level, TimedAction head) {
+    if (head.next == head) {
+      return;
+    }
+
+    // detach the whole list first because actions might be linked to the same slot again
+    TimedAction timedAction = head.next;
+    head.prev.next = null;
+    head.next = head;
+    head.prev = head;
+
+    while (timedAction != null) {
+      final TimedAction next = timedAction.next;
+      this.levelSizes[level]--;
+      this.link(timedAction);
+      timedAction = next;
+    }
+  }
+
+  private void link(TimedAction timedAction) {
+    long execution = Math.max(timedAction.execution, this.nextTick);
+    final long delta = Math.min(execution - this.nextTick, MAX_DELTA);
+
+    // actions beyond the range of the wheel are cascaded again until they are in range
+    execution = this.nextTick + delta;
+
+    int level = 0;
+    while (delta >>> (SLOT_BITS * (level + 1)) != 0) {
+      level++;
+    }
+
+    final TimedAction head = this.slots[level][(int) ((execution >>> (SLOT_BITS * level)) & SLOT_MASK)];
+    timedAction.level = level;
+    this.levelSizes[level]++;
+    timedAction.prev = head.prev;
+    timedAction.next = head;
+    head.prev.next = timedAction;
+    head.prev = timedAction;
+  }
+
+  private void unlink(TimedAction timedAction) {
+    this.levelSizes[timedAction.level]--;
+    timedAction.prev.next = timedAction.next;
+    timedAction.next.prev = timedAction.prev;
+    timedAction.prev = null;
+    timedAction.next = null;
+  }
+
+  private static final class TimedAction {
+    private final int index;
+    private final Runnable action;
+    private long execution;
+    private int level;
+
+    private TimedAction prev = this;
+    private TimedAction next = this;
+
+    private TimedAction(final int index, final long execution, final Runnable action) {
+      this.index = index;
+      this.execution = execution;
+      this.action = action;
+    }
+  }
+}
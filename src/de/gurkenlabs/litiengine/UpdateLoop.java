@@ -1,7 +1,14 @@
 package de.gurkenlabs.litiengine;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
@@ -10,10 +17,35 @@ import java.util.logging.Logger;
 import de.gurkenlabs.litiengine.util.TimeUtilities;
 
 public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
+  /**
+   * The maximum number of ticks between two updates of an <code>IUpdateable</code>.
+   */
+  public static final int MAX_UPDATE_INTERVAL = 64;
+
   private static final Logger log = Logger.getLogger(UpdateLoop.class.getName());
-  private final Set<IUpdateable> updatables = ConcurrentHashMap.newKeySet();
+
+  // the number of instances below which a parallel update task is not split any further
+  private static final int PARALLEL_UPDATE_THRESHOLD = 32;
+
+  private final Map<IUpdateable, Registration> updatables = new ConcurrentHashMap<>();
+  private final Queue<Registration> attachedUpdatables = new ConcurrentLinkedQueue<>();
   private final Lock lock = new ReentrantLock();
 
+  // the updatables are sorted into a ring of buckets by the update at which they are due next
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private final List<Registration>[] buckets = new List[MAX_UPDATE_INTERVAL];
+  private List<Registration> dueUpdatables = new ArrayList<>();
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private final List<Registration>[] phases = new List[UpdatePhase.values().length];
+  private IUpdatePolicy updatePolicy;
+  private ForkJoinPool updatePool;
+
+  private long updates;
+  private long elapsedTime;
+
+  // instances can be updated on the threads of the update pool
+  private final ThreadLocal<Registration> currentRegistration = new ThreadLocal<>();
+
   private int tickRate;
 
   private long totalTicks;
@@ -25,6 +57,13 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
   protected UpdateLoop(String name, int tickRate) {
     super(name);
     this.tickRate = tickRate;
+    for (int i = 0; i < this.buckets.length; i++) {
+      this.buckets[i] = new ArrayList<>();
+    }
+
+    for (int i = 0; i < this.phases.length; i++) {
+      this.phases[i] = new ArrayList<>();
+    }
   }
 
   /**
@@ -76,18 +115,53 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
 
   @Override
   public void attach(final IUpdateable updatable) {
+    this.attach(updatable, 1);
+  }
+
+  @Override
+  public void attach(final IUpdateable updatable, int interval) {
     if (updatable == null) {
       return;
     }
 
-    if (!this.updatables.add(updatable)) {
+    final Registration registration = new Registration(updatable, Math.max(1, Math.min(interval, MAX_UPDATE_INTERVAL)));
+    final Registration existing = this.updatables.putIfAbsent(updatable, registration);
+    if (existing != null) {
+      existing.interval = registration.interval;
       log.log(Level.FINE, "Updatable {0} already registered for update!", new Object[] { updatable });
+      return;
     }
+
+    // the loop picks up the new registration with its next update
+    this.attachedUpdatables.add(registration);
   }
 
   @Override
   public void detach(final IUpdateable updatable) {
-    this.updatables.remove(updatable);
+    final Registration registration = this.updatables.remove(updatable);
+    if (registration != null) {
+      registration.detached = true;
+    }
+  }
+
+  @Override
+  public IUpdatePolicy getUpdatePolicy() {
+    return this.updatePolicy;
+  }
+
+  @Override
+  public void setUpdatePolicy(IUpdatePolicy updatePolicy) {
+    this.updatePolicy = updatePolicy;
+  }
+
+  @Override
+  public ForkJoinPool getUpdatePool() {
+    return this.updatePool;
+  }
+
+  @Override
+  public void setUpdatePool(ForkJoinPool updatePool) {
+    this.updatePool = updatePool;
   }
 
   @Override
@@ -102,16 +176,32 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
 
   @Override
   public long getDeltaTime() {
+    // instances that are not updated every tick receive the time that passed since their last update
+    final Registration registration = this.currentRegistration.get();
+    if (registration != null) {
+      return this.elapsedTime - registration.lastUpdateTime;
+    }
+
     return this.deltaTime;
   }
 
+  @Override
+  public int getDeltaTicks() {
+    final Registration registration = this.currentRegistration.get();
+    if (registration != null) {
+      return (int) (this.updates - registration.lastUpdate);
+    }
+
+    return 1;
+  }
+
   @Override
   public double getProcessTime() {
     return this.processTime;
   }
 
   protected Set<IUpdateable> getUpdatables() {
-    return this.updatables;
+    return this.updatables.keySet();
   }
 
   /**
@@ -127,20 +217,61 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
   }
 
   /**
-   * Calls the <code>update()</code> procedure on all registered instances.
+   * Calls the <code>update()</code> procedure on all registered instances that are due for this tick.
+   * If an update pool is set, the instances are updated phase by phase and the instances of parallel phases are
+   * distributed over the pool.
    * 
    * @see IUpdateable#update()
+   * @see #attach(IUpdateable, int)
+   * @see #setUpdatePolicy(IUpdatePolicy)
    */
   protected void update() {
-    for (IUpdateable updatable : this.getUpdatables()) {
-      try {
-        if (updatable != null && updatable.isActive()) {
-          updatable.update();
+    final long update = ++this.updates;
+    this.elapsedTime += this.deltaTime;
+
+    Registration attached;
+    while ((attached = this.attachedUpdatables.poll()) != null) {
+      // spread instances with the same interval over the ticks
+      attached.lastUpdate = update - 1;
+      attached.lastUpdateTime = this.elapsedTime - this.deltaTime;
+      this.getBucket(update + Math.floorMod(attached.updatable.hashCode(), attached.interval)).add(attached);
+    }
+
+    // swap the due bucket with an empty list so that registrations can be re-added to it while iterating
+    final int index = (int) (update % MAX_UPDATE_INTERVAL);
+    final List<Registration> due = this.buckets[index];
+    this.buckets[index] = this.dueUpdatables;
+    this.dueUpdatables = due;
+
+    final ForkJoinPool pool = this.getUpdatePool();
+    if (pool == null) {
+      for (Registration registration : due) {
+        if (!registration.detached) {
+          this.update(registration);
         }
-      } catch (final Exception e) {
-        log.log(Level.SEVERE, e.getMessage(), e);
       }
+    } else {
+      this.update(due, pool);
+    }
+
+    final IUpdatePolicy policy = this.getUpdatePolicy();
+    for (Registration registration : due) {
+      if (registration.detached) {
+        continue;
+      }
+
+      registration.lastUpdate = update;
+      registration.lastUpdateTime = this.elapsedTime;
+
+      int interval = registration.interval;
+      if (policy != null) {
+        interval = Math.max(1, Math.min(policy.getUpdateInterval(registration.updatable, interval), MAX_UPDATE_INTERVAL));
+      }
+
+      this.getBucket(update + interval).add(registration);
     }
+
+    due.clear();
   }
 
   /**
@@ -174,8 +305,89 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
     this.tickRate = tickRate;
   }
 
+  private void update(List<Registration> due, ForkJoinPool pool) {
+    for (Registration registration : due) {
+      if (!registration.detached) {
+        this.phases[registration.phase.ordinal()].add(registration);
+      }
+    }
+
+    for (UpdatePhase phase : UpdatePhase.values()) {
+      final List<Registration> registrations = this.phases[phase.ordinal()];
+      if (phase.isParallel() && registrations.size() > 1) {
+        // the invocation only returns after all instances of the phase were updated
+        pool.invoke(new UpdateTask(registrations, 0, registrations.size()));
+      } else {
+        for (Registration registration : registrations) {
+          this.update(registration);
+        }
+      }
+
+      registrations.clear();
+    }
+  }
+
+  private void update(Registration registration) {
+    this.currentRegistration.set(registration);
+    try {
+      if (registration.updatable.isActive()) {
+        registration.updatable.update();
+      }
+    } catch (final Exception e) {
+      log.log(Level.SEVERE, e.getMessage(), e);
+    } finally {
+      this.currentRegistration.remove();
+    }
+  }
+
+  private List<Registration> getBucket(long update) {
+    return this.buckets[(int) (update % MAX_UPDATE_INTERVAL)];
+  }
+
   @Override
   public Lock getLock() {
     return this.lock;
   }
+
+  private static final class Registration {
+    private final IUpdateable updatable;
+    private final UpdatePhase phase;
+    private volatile int interval;
+    private volatile boolean detached;
+    private long lastUpdate;
+    private long lastUpdateTime;
+
+    private Registration(IUpdateable updatable, int interval) {
+      this.updatable = updatable;
+      this.phase = updatable.getUpdatePhase() != null ? updatable.getUpdatePhase() : UpdatePhase.DEFAULT;
+      this.interval = interval;
+    }
+  }
+
+  private final class UpdateTask extends RecursiveAction {
+    private static final long serialVersionUID = 4613924758232549087L;
+    private final transient List<Registration> registrations;
+    private final int from;
+    private final int to;
+
+    private UpdateTask(List<Registration> registrations, int from, int to) {
+      this.registrations = registrations;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.to - this.from <= PARALLEL_UPDATE_THRESHOLD) {
+        for (int i = this.from; i < this.to; i++) {
+          update(this.registrations.get(i));
+        }
+
+        return;
+      }
+
+      final int middle = (this.from + this.to) >>> 1;
+      invokeAll(new UpdateTask(this.registrations, this.from, middle), new UpdateTask(this.registrations, middle, this.to));
+    }
+  }
 }
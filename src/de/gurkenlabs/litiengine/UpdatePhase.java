@@ -0,0 +1,37 @@
+package de.gurkenlabs.litiengine;
+
+/**
+ * The phases in which a loop updates its attached instances. The phases are processed in the order of their declaration
+ * and each phase is completed before the next one starts.
+ * <p>
+ * If the loop has an update pool, the instances of parallel phases are updated concurrently. Instances in these phases
+ * must therefore not depend on each other's state during the update.
+ * </p>
+ * 
+ * @see IUpdateable#getUpdatePhase()
+ * @see ILoop#setUpdatePool(java.util.concurrent.ForkJoinPool)
+ */
+public enum UpdatePhase {
+  INPUT(false),
+  AI(true),
+  MOVEMENT(false),
+  PHYSICS(false),
+  DEFAULT(false),
+  ANIMATION(true),
+  EMITTERS(true);
+
+  private final boolean parallel;
+
+  private UpdatePhase(boolean parallel) {
+    this.parallel = parallel;
+  }
+
+  /**
+   * Determines whether the instances of this phase can be updated concurrently.
+   * 
+   * @return True if the instances of this phase are independent of each other.
+   */
+  public boolean isParallel() {
+    return this.parallel;
+  }
+}
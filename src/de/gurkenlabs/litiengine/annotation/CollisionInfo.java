@@ -25,4 +25,18 @@ public @interface CollisionInfo {
   Valign valign() default Valign.DOWN;
   
   Collision collisionType() default Collision.DYNAMIC;
+
+  /**
+   * The bits that describe the categories of the entity.
+   *
+   * @return The collision category bits.
+   */
+  int collisionCategory() default 1;
+
+  /**
+   * The bits of the categories that the entity can collide with.
+   *
+   * @return The collision mask bits.
+   */
+  int collisionMask() default -1;
 }
@@ -17,6 +17,14 @@ public @interface MovementInfo {
 
   boolean turnOnMove() default true;
 
+  /**
+   * Specifies whether the movement of the entity is swept against all collision boxes so that it cannot pass through any of them, regardless
+   * of its velocity.
+   *
+   * @return true, if the entity uses continuous collision detection
+   */
+  boolean continuousCollision() default false;
+
   /**
    * The velocity in pixels per second.
    *
@@ -26,6 +26,8 @@ public class GraphicConfiguration extends ConfigurationGroup {
 
   private boolean colorInterpolation;
 
+  private int lightMapDownscale;
+
   /**
    * Instantiates a new graphic configuration.
    */
@@ -96,6 +98,17 @@ public class GraphicConfiguration extends ConfigurationGroup {
     return this.colorInterpolation;
   }
 
+  /**
+   * Gets the factor by which the resolution of the ambient light and static shadow layers is reduced.
+   * 
+   * @return The downscale factor of the light map or 0 if the light map is a single image in the full map resolution.
+   * 
+   * @see de.gurkenlabs.litiengine.graphics.ColorLayer
+   */
+  public int getLightMapDownscale() {
+    return this.lightMapDownscale;
+  }
+
   /**
    * Sets the fullscreen.
    *
@@ -155,4 +168,16 @@ public class GraphicConfiguration extends ConfigurationGroup {
   public void setColorInterpolation(boolean colorInterpolation) {
     this.colorInterpolation = colorInterpolation;
   }
+
+  /**
+   * Sets the factor by which the resolution of light maps is reduced. With a factor greater than 0, light maps are
+   * split into chunks that are only rendered when they become visible, e.g. a factor of 4 renders one pixel of the
+   * light map for 4x4 pixels of the map. The factor is applied to environments that are loaded afterwards.
+   * 
+   * @param lightMapDownscale
+   *          The downscale factor or 0 to render the light map as a single image in the full map resolution.
+   */
+  public void setLightMapDownscale(int lightMapDownscale) {
+    this.lightMapDownscale = Math.max(0, lightMapDownscale);
+  }
 }
@@ -35,6 +35,12 @@ public abstract class CollisionEntity extends Entity implements ICollisionEntity
   @TmxProperty(name = MapObjectProperty.COLLISION_TYPE)
   private Collision collisionType;
 
+  @TmxProperty(name = MapObjectProperty.COLLISION_CATEGORY)
+  private int collisionCategory;
+
+  @TmxProperty(name = MapObjectProperty.COLLISION_MASK)
+  private int collisionMask;
+
   private Rectangle2D collisionBox;
 
   protected CollisionEntity() {
@@ -46,6 +52,8 @@ public abstract class CollisionEntity extends Entity implements ICollisionEntity
     this.valign = info.valign();
     this.align = info.align();
     this.collisionType = info.collisionType();
+    this.collisionCategory = info.collisionCategory();
+    this.collisionMask = info.collisionMask();
     this.collisionBox = this.getCollisionBox(this.getLocation());
   }
 
@@ -115,6 +123,16 @@ public abstract class CollisionEntity extends Entity implements ICollisionEntity
     return this.collisionType;
   }
 
+  @Override
+  public int getCollisionCategory() {
+    return this.collisionCategory;
+  }
+
+  @Override
+  public int getCollisionMask() {
+    return this.collisionMask;
+  }
+
   /**
    * Checks for collision.
    *
@@ -140,24 +158,28 @@ public abstract class CollisionEntity extends Entity implements ICollisionEntity
   public void setCollisionBoxAlign(final Align align) {
     this.align = align;
     this.collisionBox = this.getCollisionBox(this.getLocation());
+    this.fireSizeChangedEvent();
   }
 
   @Override
   public void setCollisionBoxHeight(final double collisionBoxHeight) {
     this.collisionBoxHeight = collisionBoxHeight;
     this.collisionBox = this.getCollisionBox(this.getLocation());
+    this.fireSizeChangedEvent();
   }
 
   @Override
   public void setCollisionBoxValign(final Valign valign) {
     this.valign = valign;
     this.collisionBox = this.getCollisionBox(this.getLocation());
+    this.fireSizeChangedEvent();
   }
 
   @Override
   public void setCollisionBoxWidth(final double collisionBoxWidth) {
     this.collisionBoxWidth = collisionBoxWidth;
     this.collisionBox = this.getCollisionBox(this.getLocation());
+    this.fireSizeChangedEvent();
   }
 
   @Override
@@ -184,6 +206,16 @@ public abstract class CollisionEntity extends Entity implements ICollisionEntity
     this.collisionBox = this.getCollisionBox(this.getLocation());
   }
 
+  @Override
+  public void setCollisionCategory(int category) {
+    this.collisionCategory = category;
+  }
+
+  @Override
+  public void setCollisionMask(int mask) {
+    this.collisionMask = mask;
+  }
+
   @Override
   public void setCollisionType(Collision type) {
     if (type == Collision.ANY) {
@@ -28,6 +28,9 @@ public class Creature extends CombatEntity implements IMobileEntity {
   @TmxProperty(name = MapObjectProperty.MOVEMENT_TURNONMOVE)
   private boolean turnOnMove;
 
+  @TmxProperty(name = MapObjectProperty.MOVEMENT_CONTINUOUSCOLLISION)
+  private boolean continuousCollision;
+
   @TmxProperty(name = MapObjectProperty.MOVEMENT_VELOCITY)
   private Attribute<Float> velocity;
 
@@ -52,6 +55,7 @@ public class Creature extends CombatEntity implements IMobileEntity {
       this.acceleration = movementInfo.acceleration();
       this.deceleration = movementInfo.deceleration();
       this.setTurnOnMove(movementInfo.turnOnMove());
+      this.setContinuousCollision(movementInfo.continuousCollision());
       this.addController(new MovementController<>(this));
     }
 
@@ -130,6 +134,11 @@ public class Creature extends CombatEntity implements IMobileEntity {
     this.acceleration = acceleration;
   }
 
+  @Override
+  public void setContinuousCollision(final boolean continuousCollision) {
+    this.continuousCollision = continuousCollision;
+  }
+
   @Override
   public void setDeceleration(final int deceleration) {
     this.deceleration = deceleration;
@@ -182,6 +191,11 @@ public class Creature extends CombatEntity implements IMobileEntity {
     return this.turnOnMove;
   }
 
+  @Override
+  public boolean hasContinuousCollision() {
+    return this.continuousCollision;
+  }
+
   @Override
   public String toString() {
     StringBuilder sb = new StringBuilder();
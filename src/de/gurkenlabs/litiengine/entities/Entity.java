@@ -7,6 +7,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
@@ -330,7 +331,15 @@ public abstract class Entity implements IEntity {
 
   @Override
   public void setName(final String name) {
+    final String previousName = this.name;
     this.name = name;
+    if (Objects.equals(previousName, name)) {
+      return;
+    }
+
+    for (EntityListener listener : this.listeners) {
+      listener.nameChanged(this, previousName);
+    }
   }
 
   @Override
@@ -458,7 +467,7 @@ public abstract class Entity implements IEntity {
     return this.controllers;
   }
 
-  private void fireSizeChangedEvent() {
+  protected void fireSizeChangedEvent() {
     for (EntityTransformListener listener : this.transformListeners) {
       listener.sizeChanged(this);
     }
@@ -9,4 +9,16 @@ public interface EntityListener extends EventListener {
   public default void loaded(IEntity entity, Environment environment) {}
 
   public default void removed(IEntity entity, Environment environment) {}
+
+  /**
+   * This method is called whenever the name of an <code>IEntity</code> was changed.
+   * 
+   * @param entity
+   *          The entity that changed its name.
+   * @param previousName
+   *          The name of the entity before it was changed.
+   * 
+   * @see IEntity#setName(String)
+   */
+  public default void nameChanged(IEntity entity, String previousName) {}
 }
@@ -39,6 +39,30 @@ public interface ICollisionEntity extends IEntity {
   
   public Collision getCollisionType();
 
+  /**
+   * Gets the bits that describe the collision categories of this entity. Two entities can only collide if the category of each entity
+   * matches at least one bit of the mask of the other entity.
+   *
+   * @return The collision category bits of this entity.
+   *
+   * @see #getCollisionMask()
+   */
+  public default int getCollisionCategory() {
+    return 1;
+  }
+
+  /**
+   * Gets the bits of the collision categories that this entity can collide with. This allows to exclude entities from collision without
+   * overriding {@link #canCollideWith(ICollisionEntity)}.
+   *
+   * @return The collision mask bits of this entity.
+   *
+   * @see #getCollisionCategory()
+   */
+  public default int getCollisionMask() {
+    return -1;
+  }
+
   public double getCollisionBoxHeight();
 
   public double getCollisionBoxWidth();
@@ -67,4 +91,10 @@ public interface ICollisionEntity extends IEntity {
   public void setCollisionBoxValign(final Valign valign);
   
   public void setCollisionType(Collision collisionType);
+
+  public default void setCollisionCategory(int category) {
+  }
+
+  public default void setCollisionMask(int mask) {
+  }
 }
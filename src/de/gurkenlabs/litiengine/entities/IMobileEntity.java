@@ -61,6 +61,17 @@ public interface IMobileEntity extends ICollisionEntity {
    */
   public void setAcceleration(int acceleration);
 
+  /**
+   * Sets whether the movement of this entity uses continuous collision detection. If enabled, the collision box of the entity is swept from
+   * its current to its new location and the entity is stopped at the first collision box that it would hit. This prevents fast entities
+   * from passing through thin collision boxes.
+   *
+   * @param continuousCollision
+   *          true, to enable continuous collision detection for this entity
+   */
+  public default void setContinuousCollision(boolean continuousCollision) {
+  }
+
   /**
    * Sets the deceleration for this entity. deceleration is a value that defines how long it takes the entity to stop when slowing down from movements
    * (in ms).
@@ -104,4 +115,13 @@ public interface IMobileEntity extends ICollisionEntity {
    * @return true, if the entity will change its angle to the direction of the move destination when being moved
    */
   public boolean turnOnMove();
+
+  /**
+   * Gets a value indicating whether the movement of this entity uses continuous collision detection.
+   *
+   * @return true, if the collision box of this entity is swept from its current to its new location when being moved
+   */
+  public default boolean hasContinuousCollision() {
+    return false;
+  }
 }
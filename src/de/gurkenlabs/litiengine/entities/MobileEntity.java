@@ -22,6 +22,9 @@ public class MobileEntity extends CollisionEntity implements IMobileEntity {
   @TmxProperty(name = MapObjectProperty.MOVEMENT_TURNONMOVE)
   private boolean turnOnMove;
 
+  @TmxProperty(name = MapObjectProperty.MOVEMENT_CONTINUOUSCOLLISION)
+  private boolean continuousCollision;
+
   @TmxProperty(name = MapObjectProperty.MOVEMENT_VELOCITY)
   private Attribute<Float> velocity;
 
@@ -33,6 +36,7 @@ public class MobileEntity extends CollisionEntity implements IMobileEntity {
     this.acceleration = info.acceleration();
     this.deceleration = info.deceleration();
     this.setTurnOnMove(info.turnOnMove());
+    this.setContinuousCollision(info.continuousCollision());
   }
 
   @Override
@@ -70,6 +74,11 @@ public class MobileEntity extends CollisionEntity implements IMobileEntity {
     this.acceleration = acceleration;
   }
 
+  @Override
+  public void setContinuousCollision(final boolean continuousCollision) {
+    this.continuousCollision = continuousCollision;
+  }
+
   @Override
   public void setDeceleration(final int deceleration) {
     this.deceleration = deceleration;
@@ -104,9 +113,14 @@ public class MobileEntity extends CollisionEntity implements IMobileEntity {
     return this.turnOnMove;
   }
 
+  @Override
+  public boolean hasContinuousCollision() {
+    return this.continuousCollision;
+  }
+
   protected static float getTickVelocity(IMobileEntity entity) {
     // pixels per ms multiplied by the passed ms
-    // ensure that entities don't travel too far in case of lag
-    return Math.min(Game.loop().getDeltaTime(), GameLoop.TICK_DELTATIME_LAG) * 0.001F * entity.getVelocity().getCurrentValue() * Game.loop().getTimeScale();
+    // ensure that entities don't travel too far in case of lag, even if they are not updated every tick
+    return Math.min(Game.loop().getDeltaTime(), GameLoop.TICK_DELTATIME_LAG * Game.loop().getDeltaTicks()) * 0.001F * entity.getVelocity().getCurrentValue() * Game.loop().getTimeScale();
   }
 }
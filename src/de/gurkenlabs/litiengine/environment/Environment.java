@@ -23,7 +23,6 @@ import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 import de.gurkenlabs.litiengine.Direction;
 import de.gurkenlabs.litiengine.Game;
@@ -33,6 +32,8 @@ import de.gurkenlabs.litiengine.annotation.EntityInfo;
 import de.gurkenlabs.litiengine.configuration.Quality;
 import de.gurkenlabs.litiengine.entities.CollisionBox;
 import de.gurkenlabs.litiengine.entities.Creature;
+import de.gurkenlabs.litiengine.entities.EntityListener;
+import de.gurkenlabs.litiengine.entities.EntityTransformListener;
 import de.gurkenlabs.litiengine.entities.ICollisionEntity;
 import de.gurkenlabs.litiengine.entities.ICombatEntity;
 import de.gurkenlabs.litiengine.entities.IEntity;
@@ -54,6 +55,7 @@ import de.gurkenlabs.litiengine.environment.tilemap.MapUtilities;
 import de.gurkenlabs.litiengine.environment.tilemap.xml.Blueprint;
 import de.gurkenlabs.litiengine.graphics.AmbientLight;
 import de.gurkenlabs.litiengine.graphics.DebugRenderer;
+import de.gurkenlabs.litiengine.graphics.EntityRenderList;
 import de.gurkenlabs.litiengine.graphics.IRenderable;
 import de.gurkenlabs.litiengine.graphics.RenderType;
 import de.gurkenlabs.litiengine.graphics.StaticShadowLayer;
@@ -62,21 +64,51 @@ import de.gurkenlabs.litiengine.graphics.emitters.Emitter;
 import de.gurkenlabs.litiengine.physics.GravityForce;
 import de.gurkenlabs.litiengine.physics.IMovementController;
 import de.gurkenlabs.litiengine.resources.Resources;
+import de.gurkenlabs.litiengine.util.IntHashMap;
 import de.gurkenlabs.litiengine.util.TimeUtilities;
-import de.gurkenlabs.litiengine.util.geom.GeometricUtilities;
+import de.gurkenlabs.litiengine.util.geom.ISpatialIndex;
+import de.gurkenlabs.litiengine.util.geom.IntersectionUtilities;
+import de.gurkenlabs.litiengine.util.geom.SpatialHashGrid;
 
 public final class Environment implements IRenderable {
   private static final Map<String, IMapObjectLoader> mapObjectLoaders = new ConcurrentHashMap<>();
   private static final String GRAVITY_IDENTIFIER = "GRAVITY";
   private static final Logger log = Logger.getLogger(Environment.class.getName());
 
-  private final Map<Integer, ICombatEntity> combatEntities = new ConcurrentHashMap<>();
-  private final Map<Integer, IMobileEntity> mobileEntities = new ConcurrentHashMap<>();
-  private final Map<Integer, GravityForce> gravityForces = new ConcurrentHashMap<>();
-  private final Map<RenderType, Map<Integer, IEntity>> miscEntities = Collections.synchronizedMap(new EnumMap<>(RenderType.class));
-  private final Map<IMapObjectLayer, List<IEntity>> layerEntities = new ConcurrentHashMap<>();
+  private final IntHashMap<ICombatEntity> combatEntities = new IntHashMap<>();
+  private final IntHashMap<IMobileEntity> mobileEntities = new IntHashMap<>();
+  private final IntHashMap<GravityForce> gravityForces = new IntHashMap<>();
+  private final Map<RenderType, IntHashMap<IEntity>> miscEntities = Collections.synchronizedMap(new EnumMap<>(RenderType.class));
+  private final Map<RenderType, EntityRenderList> renderLists = Collections.synchronizedMap(new EnumMap<>(RenderType.class));
+  private final Map<IMapObjectLayer, EntityRenderList> layerRenderLists = new ConcurrentHashMap<>();
   private final Map<String, Collection<IEntity>> entitiesByTag = new ConcurrentHashMap<>();
-  private final Map<Integer, IEntity> allEntities = new ConcurrentHashMap<>();
+  private final IntHashMap<IEntity> allEntities = new IntHashMap<>();
+  private final Map<String, Collection<IEntity>> entitiesByName = new ConcurrentHashMap<>();
+  private final Map<Class<?>, Collection<IEntity>> entitiesByType = new ConcurrentHashMap<>();
+
+  // the hit box of a combat entity can differ from its bounding box, so both are indexed separately
+  private final ISpatialIndex<IEntity> entityIndex = new SpatialHashGrid<>(IEntity::getBoundingBox);
+  private final ISpatialIndex<ICombatEntity> combatEntityIndex = new SpatialHashGrid<>(Environment::getHitBoxBounds);
+
+  private final EntityTransformListener transformListener = new EntityTransformListener() {
+    @Override
+    public void locationChanged(IEntity entity) {
+      invalidate(entity);
+    }
+
+    @Override
+    public void sizeChanged(IEntity entity) {
+      invalidate(entity);
+    }
+  };
+
+  private final EntityListener entityListener = new EntityListener() {
+    @Override
+    public void nameChanged(IEntity entity, String previousName) {
+      removeFromIndex(entitiesByName, previousName, entity);
+      addToIndex(entitiesByName, entity.getName(), entity);
+    }
+  };
 
   private final Map<RenderType, Collection<EnvironmentRenderListener>> renderListeners = Collections.synchronizedMap(new EnumMap<>(RenderType.class));
   private final Collection<EnvironmentListener> listeners = ConcurrentHashMap.newKeySet();
@@ -129,7 +161,8 @@ public final class Environment implements IRenderable {
 
   private Environment() {
     for (RenderType renderType : RenderType.values()) {
-      this.miscEntities.put(renderType, new ConcurrentHashMap<>());
+      this.miscEntities.put(renderType, new IntHashMap<>());
+      this.renderLists.put(renderType, new EntityRenderList(this.entityIndex, renderType == RenderType.NORMAL));
       this.renderListeners.put(renderType, ConcurrentHashMap.newKeySet());
       this.renderables.put(renderType, ConcurrentHashMap.newKeySet());
     }
@@ -175,13 +208,14 @@ public final class Environment implements IRenderable {
     }
     this.addEntity(entity);
     this.miscEntities.get(entity.getRenderType()).put(entity.getMapId(), entity);
+    this.renderLists.get(entity.getRenderType()).add(entity);
     this.fireEntityEvent(l -> l.entityAdded(entity));
   }
 
   private void addEntity(final IEntity entity) {
     int desiredID = entity.getMapId();
     // assign local map id if the entity's mapID is invalid
-    if (desiredID == 0 || this.getAllMapIDs().contains(desiredID)) {
+    if (desiredID == 0 || this.allEntities.containsKey(desiredID)) {
       entity.setMapId(this.getLocalMapId());
       log.fine(() -> String.format("Entity [%s] was assigned a local mapID because #%d was already taken or invalid.", entity, desiredID));
     }
@@ -250,6 +284,15 @@ public final class Environment implements IRenderable {
     }
 
     this.allEntities.put(entity.getMapId(), entity);
+    addToIndex(this.entitiesByName, entity.getName(), entity);
+    addToIndex(this.entitiesByType, entity.getClass(), entity);
+    this.entityIndex.add(entity);
+    if (entity instanceof ICombatEntity) {
+      this.combatEntityIndex.add((ICombatEntity) entity);
+    }
+
+    entity.addTransformListener(this.transformListener);
+    entity.addListener(this.entityListener);
   }
 
   private void addEmitter(Emitter emitter) {
@@ -324,15 +367,29 @@ public final class Environment implements IRenderable {
   public void clear() {
     Game.physics().clear();
 
+    for (IEntity entity : this.allEntities.values()) {
+      entity.removeTransformListener(this.transformListener);
+      entity.removeListener(this.entityListener);
+    }
+
+    this.entityIndex.clear();
+    this.combatEntityIndex.clear();
     this.combatEntities.clear();
     this.mobileEntities.clear();
     this.gravityForces.clear();
-    this.layerEntities.clear();
+    for (EntityRenderList layerRenderList : this.layerRenderLists.values()) {
+      layerRenderList.clear();
+    }
+
+    this.layerRenderLists.clear();
     this.entitiesByTag.clear();
     this.allEntities.clear();
+    this.entitiesByName.clear();
+    this.entitiesByType.clear();
 
     for (RenderType renderType : RenderType.values()) {
       this.miscEntities.get(renderType).clear();
+      this.renderLists.get(renderType).clear();
       this.renderListeners.get(renderType).clear();
       this.renderables.get(renderType).clear();
     }
@@ -355,7 +412,7 @@ public final class Environment implements IRenderable {
     this.ambientLight = null;
     this.staticShadowLayer = null;
 
-    for (Map<Integer, IEntity> type : this.miscEntities.values()) {
+    for (IntHashMap<IEntity> type : this.miscEntities.values()) {
       type.clear();
     }
 
@@ -386,25 +443,21 @@ public final class Environment implements IRenderable {
       return foundCombatEntities;
     }
 
-    // for rectangle we can just use the intersects method
-    if (shape instanceof Rectangle2D) {
-      final Rectangle2D rect = (Rectangle2D) shape;
-      for (final ICombatEntity combatEntity : this.getCombatEntities().stream().filter(condition).collect(Collectors.toList())) {
-        if (combatEntity.getHitBox().intersects(rect)) {
+    // only the candidates provided by the spatial index are checked against the condition;
+    // for rectangles we can just use the intersects method, for other shapes, we check if the
+    // shape's bounds intersect the hitbox and if so, we then check if the actual shape intersects the hitbox
+    final Rectangle2D bounds = shape.getBounds2D();
+    final boolean isRectangle = shape instanceof Rectangle2D;
+    this.combatEntityIndex.anyMatch(bounds.getX(), bounds.getY(), bounds.getWidth(), bounds.getHeight(), combatEntity -> {
+      if (condition.test(combatEntity)) {
+        final Shape hitBox = combatEntity.getHitBox();
+        if (hitBox.intersects(bounds) && (isRectangle || IntersectionUtilities.intersects(hitBox, shape))) {
           foundCombatEntities.add(combatEntity);
         }
       }
 
-      return foundCombatEntities;
-    }
-
-    // for other shapes, we check if the shape's bounds intersect the hitbox and
-    // if so, we then check if the actual shape intersects the hitbox
-    for (final ICombatEntity combatEntity : this.getCombatEntities().stream().filter(condition).collect(Collectors.toList())) {
-      if (combatEntity.getHitBox().intersects(shape.getBounds()) && GeometricUtilities.shapeIntersects(combatEntity.getHitBox(), shape)) {
-        foundCombatEntities.add(combatEntity);
-      }
-    }
+      return false;
+    });
 
     return foundCombatEntities;
   }
@@ -414,23 +467,19 @@ public final class Environment implements IRenderable {
     if (shape == null) {
       return foundEntities;
     }
-    if (shape instanceof Rectangle2D) {
-      final Rectangle2D rect = (Rectangle2D) shape;
-      for (final IEntity entity : this.getEntities()) {
-        if (entity.getBoundingBox().intersects(rect)) {
-          foundEntities.add(entity);
-        }
-      }
-      return foundEntities;
-    }
-    // for other shapes, we check if the shape's bounds intersect the hitbox
-    // and
-    // if so, we then check if the actual shape intersects the hitbox
-    for (final IEntity entity : this.getEntities()) {
-      if (entity.getBoundingBox().intersects(shape.getBounds()) && GeometricUtilities.shapeIntersects(entity.getBoundingBox(), shape)) {
+
+    // for other shapes than rectangles, we check if the actual shape intersects the bounding box
+    // of the candidates provided by the spatial index
+    final Rectangle2D bounds = shape.getBounds2D();
+    final boolean isRectangle = shape instanceof Rectangle2D;
+    this.entityIndex.anyMatch(bounds.getX(), bounds.getY(), bounds.getWidth(), bounds.getHeight(), entity -> {
+      final Rectangle2D boundingBox = entity.getBoundingBox();
+      if (boundingBox.intersects(bounds) && (isRectangle || IntersectionUtilities.intersects(boundingBox, shape))) {
         foundEntities.add(entity);
       }
-    }
+
+      return false;
+    });
 
     return foundEntities;
   }
@@ -472,26 +521,11 @@ public final class Environment implements IRenderable {
   }
 
   public IEntity get(final String name) {
-    if (name == null || name.isEmpty()) {
-      return null;
-    }
-
-    for (final IEntity entity : this.allEntities.values()) {
-      if (entity.getName() != null && entity.getName().equals(name)) {
-        return entity;
-      }
-    }
-
-    return null;
+    return this.getByName(IEntity.class, name, entity -> true);
   }
 
   public <T extends IEntity> T get(Class<T> clss, String name) {
-    IEntity ent = this.get(name);
-    if (ent == null || !clss.isInstance(ent)) {
-      return null;
-    }
-
-    return clss.cast(ent);
+    return this.getByName(clss, name, entity -> true);
   }
 
   public Collection<IEntity> getByTag(String... tags) {
@@ -529,11 +563,11 @@ public final class Environment implements IRenderable {
   }
 
   public MapArea getArea(final int mapId) {
-    return getById(this.getAreas(), mapId);
+    return this.getById(MapArea.class, mapId, this.mapAreas::contains);
   }
 
   public MapArea getArea(final String name) {
-    return getByName(this.getAreas(), name);
+    return this.getByName(MapArea.class, name, this.mapAreas::contains);
   }
 
   public Point2D getCenter() {
@@ -545,11 +579,11 @@ public final class Environment implements IRenderable {
   }
 
   public Emitter getEmitter(int mapId) {
-    return getById(this.getEmitters(), mapId);
+    return this.getById(Emitter.class, mapId, this.emitters::contains);
   }
 
   public Emitter getEmitter(String name) {
-    return getByName(this.getEmitters(), name);
+    return this.getByName(Emitter.class, name, this.emitters::contains);
   }
 
   public Collection<CollisionBox> getCollisionBoxes() {
@@ -557,11 +591,11 @@ public final class Environment implements IRenderable {
   }
 
   public CollisionBox getCollisionBox(int mapId) {
-    return getById(this.getCollisionBoxes(), mapId);
+    return this.getById(CollisionBox.class, mapId, this.colliders::contains);
   }
 
   public CollisionBox getCollisionBox(String name) {
-    return getByName(this.getCollisionBoxes(), name);
+    return this.getByName(CollisionBox.class, name, this.colliders::contains);
   }
 
   public Collection<ICombatEntity> getCombatEntities() {
@@ -569,15 +603,15 @@ public final class Environment implements IRenderable {
   }
 
   public ICombatEntity getCombatEntity(final int mapId) {
-    return getById(this.getCombatEntities(), mapId);
+    return this.combatEntities.get(mapId);
   }
 
   public ICombatEntity getCombatEntity(String name) {
-    return getByName(this.getCombatEntities(), name);
+    return this.getByName(ICombatEntity.class, name, entity -> this.combatEntities.get(entity.getMapId()) == entity);
   }
 
   public Collection<IEntity> getEntities() {
-    return Collections.unmodifiableCollection(this.allEntities.values());
+    return this.allEntities.values();
   }
 
   /**
@@ -612,11 +646,12 @@ public final class Environment implements IRenderable {
    * @see ILayer#getRenderType()
    */
   public Collection<IEntity> getEntities(final IMapObjectLayer layer) {
-    if (layer == null || !this.layerEntities.containsKey(layer)) {
+    final EntityRenderList entities = layer != null ? this.layerRenderLists.get(layer) : null;
+    if (entities == null) {
       return Collections.emptySet();
     }
 
-    return this.layerEntities.get(layer);
+    return entities.getEntities();
   }
 
   /**
@@ -638,9 +673,9 @@ public final class Environment implements IRenderable {
       return Collections.emptySet();
     }
 
-    for (Entry<IMapObjectLayer, List<IEntity>> entry : this.layerEntities.entrySet()) {
+    for (Entry<IMapObjectLayer, EntityRenderList> entry : this.layerRenderLists.entrySet()) {
       if (name.equals(entry.getKey().getName())) {
-        return entry.getValue();
+        return entry.getValue().getEntities();
       }
     }
 
@@ -662,9 +697,9 @@ public final class Environment implements IRenderable {
    * @see ILayer#getId()
    */
   public Collection<IEntity> getEntitiesByLayer(final int layerId) {
-    for (Entry<IMapObjectLayer, List<IEntity>> entry : this.layerEntities.entrySet()) {
+    for (Entry<IMapObjectLayer, EntityRenderList> entry : this.layerRenderLists.entrySet()) {
       if (layerId == entry.getKey().getId()) {
-        return entry.getValue();
+        return entry.getValue().getEntities();
       }
     }
 
@@ -677,8 +712,14 @@ public final class Environment implements IRenderable {
 
   public <T> Collection<T> getByType(Class<? extends T> cls) {
     Collection<T> foundEntities = new ArrayList<>();
-    for (IEntity ent : this.getEntities()) {
-      if (cls.isInstance(ent)) {
+
+    // entities are indexed by their concrete class, so only the matching types need to be iterated
+    for (Entry<Class<?>, Collection<IEntity>> entry : this.entitiesByType.entrySet()) {
+      if (!cls.isAssignableFrom(entry.getKey())) {
+        continue;
+      }
+
+      for (IEntity ent : entry.getValue()) {
         foundEntities.add(cls.cast(ent));
       }
     }
@@ -691,11 +732,11 @@ public final class Environment implements IRenderable {
   }
 
   public LightSource getLightSource(final int mapId) {
-    return getById(this.getLightSources(), mapId);
+    return this.getById(LightSource.class, mapId, this.lightSources::contains);
   }
 
   public LightSource getLightSource(String name) {
-    return getByName(this.getLightSources(), name);
+    return this.getByName(LightSource.class, name, this.lightSources::contains);
   }
 
   /**
@@ -716,11 +757,11 @@ public final class Environment implements IRenderable {
   }
 
   public IMobileEntity getMobileEntity(final int mapId) {
-    return getById(this.getMobileEntities(), mapId);
+    return this.mobileEntities.get(mapId);
   }
 
   public IMobileEntity getMobileEntity(String name) {
-    return getByName(this.getMobileEntities(), name);
+    return this.getByName(IMobileEntity.class, name, entity -> this.mobileEntities.get(entity.getMapId()) == entity);
   }
 
   /**
@@ -742,19 +783,19 @@ public final class Environment implements IRenderable {
   }
 
   public Prop getProp(int mapId) {
-    return getById(this.getProps(), mapId);
+    return this.getById(Prop.class, mapId, this.props::contains);
   }
 
   public Prop getProp(String name) {
-    return getByName(this.getProps(), name);
+    return this.getByName(Prop.class, name, this.props::contains);
   }
 
   public Creature getCreature(int mapId) {
-    return getById(this.getCreatures(), mapId);
+    return this.getById(Creature.class, mapId, this.creatures::contains);
   }
 
   public Creature getCreature(String name) {
-    return getByName(this.getCreatures(), name);
+    return this.getByName(Creature.class, name, this.creatures::contains);
   }
 
   public Collection<Creature> getCreatures() {
@@ -762,11 +803,11 @@ public final class Environment implements IRenderable {
   }
 
   public Spawnpoint getSpawnpoint(final int mapId) {
-    return getById(this.getSpawnPoints(), mapId);
+    return this.getById(Spawnpoint.class, mapId, this.spawnPoints::contains);
   }
 
   public Spawnpoint getSpawnpoint(final String name) {
-    return getByName(this.getSpawnPoints(), name);
+    return this.getByName(Spawnpoint.class, name, this.spawnPoints::contains);
   }
 
   public Collection<Spawnpoint> getSpawnPoints() {
@@ -778,11 +819,11 @@ public final class Environment implements IRenderable {
   }
 
   public StaticShadow getStaticShadow(int mapId) {
-    return getById(this.getStaticShadows(), mapId);
+    return this.getById(StaticShadow.class, mapId, this.staticShadows::contains);
   }
 
   public StaticShadow getStaticShadow(String name) {
-    return getByName(this.getStaticShadows(), name);
+    return this.getByName(StaticShadow.class, name, this.staticShadows::contains);
   }
 
   public StaticShadowLayer getStaticShadowLayer() {
@@ -790,11 +831,11 @@ public final class Environment implements IRenderable {
   }
 
   public Trigger getTrigger(final int mapId) {
-    return getById(this.getTriggers(), mapId);
+    return this.getById(Trigger.class, mapId, this.triggers::contains);
   }
 
   public Trigger getTrigger(final String name) {
-    return getByName(this.getTriggers(), name);
+    return this.getByName(Trigger.class, name, this.triggers::contains);
   }
 
   public Collection<Trigger> getTriggers() {
@@ -921,16 +962,31 @@ public final class Environment implements IRenderable {
       return;
     }
 
-    this.allEntities.remove(entity.getMapId());
-    Iterator<List<IEntity>> iter = this.layerEntities.values().iterator();
-    while (iter.hasNext()) {
-      List<IEntity> layer = iter.next();
-      if (layer.remove(entity) && layer.isEmpty()) {
-        iter.remove();
-      }
+    this.allEntities.remove(entity.getMapId(), entity);
+    removeFromIndex(this.entitiesByName, entity.getName(), entity);
+    removeFromIndex(this.entitiesByType, entity.getClass(), entity);
+    entity.removeTransformListener(this.transformListener);
+    entity.removeListener(this.entityListener);
+    this.entityIndex.remove(entity);
+    if (entity instanceof ICombatEntity) {
+      this.combatEntityIndex.remove((ICombatEntity) entity);
     }
+
     if (this.miscEntities.get(entity.getRenderType()) != null) {
-      this.miscEntities.get(entity.getRenderType()).values().remove(entity);
+      this.miscEntities.get(entity.getRenderType()).remove(entity.getMapId(), entity);
+    }
+
+    // the render type might have changed since the entity was added
+    for (EntityRenderList renderList : this.renderLists.values()) {
+      renderList.remove(entity);
+    }
+
+    Iterator<EntityRenderList> layerIter = this.layerRenderLists.values().iterator();
+    while (layerIter.hasNext()) {
+      EntityRenderList layer = layerIter.next();
+      if (layer.remove(entity) && layer.size() == 0) {
+        layerIter.remove();
+      }
     }
 
     for (String tag : entity.getTags()) {
@@ -984,11 +1040,11 @@ public final class Environment implements IRenderable {
     }
 
     if (entity instanceof IMobileEntity) {
-      this.mobileEntities.values().remove(entity);
+      this.mobileEntities.remove(entity.getMapId(), entity);
     }
 
     if (entity instanceof ICombatEntity) {
-      this.combatEntities.values().remove(entity);
+      this.combatEntities.remove(entity.getMapId(), entity);
     }
 
     this.unload(entity);
@@ -1135,6 +1191,12 @@ public final class Environment implements IRenderable {
       this.unload(entity);
     }
 
+    // release the pre-rendered tile layers of the map and the gradients of the lights
+    MapRenderer.getCache().clear();
+    if (this.ambientLight != null) {
+      this.ambientLight.clearGradients();
+    }
+
     this.loaded = false;
     this.fireEvent(l -> l.unloaded(this));
   }
@@ -1167,7 +1229,7 @@ public final class Environment implements IRenderable {
           // only add the entity to be rendered with it's layer if its RenderType equals the layer's RenderType
           if (mapObject.getLayer() != null && entity.renderWithLayer()) {
             this.addEntity(entity);
-            this.layerEntities.computeIfAbsent(mapObject.getLayer(), m -> new CopyOnWriteArrayList<>()).add(entity);
+            this.layerRenderLists.computeIfAbsent(mapObject.getLayer(), m -> new EntityRenderList(this.entityIndex, m.getRenderType() == RenderType.NORMAL)).add(entity);
             this.fireEntityEvent(l -> l.entityAdded(entity));
           } else {
             this.add(entity);
@@ -1181,29 +1243,74 @@ public final class Environment implements IRenderable {
     return new ArrayList<>();
   }
 
-  private static <T extends IEntity> T getById(Collection<T> entities, int mapId) {
-    for (final T m : entities) {
-      if (m.getMapId() == mapId) {
-        return m;
-      }
+  private <T extends IEntity> T getById(Class<T> cls, int mapId, Predicate<IEntity> contains) {
+    final IEntity entity = this.allEntities.get(mapId);
+    if (!cls.isInstance(entity) || !contains.test(entity)) {
+      return null;
     }
 
-    return null;
+    return cls.cast(entity);
+  }
+
+  private static Rectangle2D getHitBoxBounds(ICombatEntity combatEntity) {
+    final Shape hitBox = combatEntity.getHitBox();
+    return hitBox != null ? hitBox.getBounds2D() : null;
+  }
+
+  private void invalidate(IEntity entity) {
+    this.entityIndex.invalidate(entity);
+    if (entity instanceof ICombatEntity) {
+      this.combatEntityIndex.invalidate((ICombatEntity) entity);
+    }
+
+    // the render lists ignore entities that they don't contain
+    for (EntityRenderList renderList : this.renderLists.values()) {
+      renderList.invalidate(entity);
+    }
+
+    for (EntityRenderList layerRenderList : this.layerRenderLists.values()) {
+      layerRenderList.invalidate(entity);
+    }
   }
 
-  private static <T extends IEntity> T getByName(Collection<T> entities, String name) {
+  private <T extends IEntity> T getByName(Class<T> cls, String name, Predicate<IEntity> contains) {
     if (name == null || name.isEmpty()) {
       return null;
     }
 
-    for (final T m : entities) {
-      if (m.getName() != null && m.getName().equals(name)) {
-        return m;
+    // usually there is only one entity with a given name
+    for (final IEntity entity : this.entitiesByName.getOrDefault(name, Collections.emptyList())) {
+      if (cls.isInstance(entity) && contains.test(entity)) {
+        return cls.cast(entity);
       }
     }
+
     return null;
   }
 
+  private static <K> void addToIndex(Map<K, Collection<IEntity>> index, K key, IEntity entity) {
+    if (key == null) {
+      return;
+    }
+
+    index.compute(key, (k, entities) -> {
+      final Collection<IEntity> indexed = entities != null ? entities : ConcurrentHashMap.newKeySet();
+      indexed.add(entity);
+      return indexed;
+    });
+  }
+
+  private static <K> void removeFromIndex(Map<K, Collection<IEntity>> index, K key, IEntity entity) {
+    if (key == null) {
+      return;
+    }
+
+    index.computeIfPresent(key, (k, entities) -> {
+      entities.remove(entity);
+      return entities.isEmpty() ? null : entities;
+    });
+  }
+
   private void render(Graphics2D g, RenderType renderType) {
     long renderStart = System.nanoTime();
 
@@ -1218,7 +1325,7 @@ public final class Environment implements IRenderable {
     }
 
     // 3. Render entities
-    Game.graphics().renderEntities(g, this.miscEntities.get(renderType).values(), renderType == RenderType.NORMAL);
+    Game.graphics().renderEntities(g, this.renderLists.get(renderType));
 
     // 4. fire event
     this.fireRenderEvent(g, renderType);
@@ -1233,9 +1340,9 @@ public final class Environment implements IRenderable {
   }
 
   public void renderLayer(Graphics2D g, IMapObjectLayer layer) {
-    List<IEntity> entities = this.layerEntities.get(layer);
+    EntityRenderList entities = this.layerRenderLists.get(layer);
     if (entities != null) {
-      Game.graphics().renderEntities(g, entities, layer.getRenderType() == RenderType.NORMAL);
+      Game.graphics().renderEntities(g, entities);
     }
   }
 
@@ -1250,7 +1357,7 @@ public final class Environment implements IRenderable {
   }
 
   public Collection<Integer> getAllMapIDs() {
-    return this.allEntities.keySet();
+    return this.allEntities.keys();
   }
 
   private static void dispose(final Collection<? extends IEntity> entities) {
@@ -19,6 +19,8 @@ public final class MapObjectProperty {
   public static final String COLLISION_ALIGN = "collisionAlign";
   public static final String COLLISION_VALIGN = "collisionValign";
   public static final String COLLISION_TYPE = "collisionType";
+  public static final String COLLISION_CATEGORY = "collisionCategory";
+  public static final String COLLISION_MASK = "collisionMask";
 
   // collision box
   public static final String COLLISIONBOX_HEIGHT = "collisionboxHeight";
@@ -34,6 +36,7 @@ public final class MapObjectProperty {
   public static final String MOVEMENT_DECELERATION = "deceleration";
   public static final String MOVEMENT_VELOCITY = "velocity";
   public static final String MOVEMENT_TURNONMOVE = "turnOnMove";
+  public static final String MOVEMENT_CONTINUOUSCOLLISION = "continuousCollision";
 
   // combat entity
   public static final String COMBAT_HITPOINTS = "hitpoints";
@@ -4,6 +4,7 @@ import java.awt.AlphaComposite;
 import java.awt.Composite;
 import java.awt.Graphics2D;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 
@@ -14,6 +15,7 @@ import de.gurkenlabs.litiengine.graphics.Spritesheet;
 import de.gurkenlabs.litiengine.resources.Resources;
 
 public class MapRenderer {
+  private static final TileLayerCache cache = new TileLayerCache();
 
   public static void render(Graphics2D g, IMap map, Rectangle2D viewport, RenderType... renderTypes) {
     renderLayers(g, map, map, viewport, null, renderTypes, 1f);
@@ -23,6 +25,18 @@ public class MapRenderer {
     renderLayers(g, map, map, viewport, env, renderTypes, 1f);
   }
 
+  /**
+   * Gets the cache that holds the pre-rendered chunks of all tile layers. Setting its budget to 0 renders tile layers
+   * tile by tile. Maps that aren't supported by the cache are always rendered tile by tile.
+   * 
+   * @see TileLayerCache#supports(IMap)
+   * 
+   * @return The tile layer cache.
+   */
+  public static TileLayerCache getCache() {
+    return cache;
+  }
+
   private static void renderLayers(final Graphics2D g, final IMap map, ILayerList layers, final Rectangle2D viewport, Environment env, RenderType[] renderTypes, float opacity) {
     for (final ILayer layer : layers.getRenderLayers()) {
       if (layer == null || !shouldBeRendered(layer, renderTypes)) {
@@ -52,24 +66,97 @@ public class MapRenderer {
   private static void renderTileLayer(final Graphics2D g, final ITileLayer layer, final IMap map, final Rectangle2D viewport, float opacity) {
     // TODO: possibly implement the same render order that Tiled uses for staggered maps: undo the staggering, and then render it right-down
     g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, opacity));
+    final Rectangle tiles = getVisibleTiles(map, viewport);
+    if (cache.isEnabled() && TileLayerCache.supports(map)) {
+      cache.render(g, layer, map, tiles, viewport);
+      return;
+    }
+
     if (map.getRenderOrder().btt) {
-      for (int y = map.getHeight() - 1; y >= 0; y--) {
-        drawRow(g, layer, y, map, viewport);
+      for (int y = tiles.y + tiles.height - 1; y >= tiles.y; y--) {
+        drawRow(g, layer, y, tiles, map, viewport);
       }
     } else {
-      for (int y = 0; y < map.getHeight(); y++) {
-        drawRow(g, layer, y, map, viewport);
+      for (int y = tiles.y; y < tiles.y + tiles.height; y++) {
+        drawRow(g, layer, y, tiles, map, viewport);
       }
     }
   }
 
-  private static void drawRow(Graphics2D g, ITileLayer layer, int y, IMap map, Rectangle2D viewport) {
+  /**
+   * Determines the range of tiles that can intersect with the specified viewport. The range covers tiles whose images
+   * are larger than the map's tile size or are moved by the offset of their tileset.
+   * 
+   * @param map
+   *          The map that contains the tiles.
+   * @param viewport
+   *          The viewport in map coordinates.
+   * @return The range of tile coordinates within the bounds of the map, which might contain some tiles that aren't
+   *         visible.
+   */
+  static Rectangle getVisibleTiles(IMap map, Rectangle2D viewport) {
+    final int tileWidth = map.getTileWidth();
+    final int tileHeight = map.getTileHeight();
+    if (tileWidth <= 0 || tileHeight <= 0) {
+      return new Rectangle(0, 0, map.getWidth(), map.getHeight());
+    }
+
+    // the image of a tile is drawn from the bottom-left corner of its cell, so larger images reach into the viewport from
+    // below and from the left; the tileset offset moves the image in any direction
+    int extendLeft = 0;
+    int extendRight = 0;
+    int extendUp = 0;
+    int extendDown = 0;
+    for (ITileset tileset : map.getTilesets()) {
+      final ITileOffset offset = tileset.getTileOffset();
+      final int offsetX = offset != null ? offset.getX() : 0;
+      final int offsetY = offset != null ? offset.getY() : 0;
+      extendLeft = Math.max(extendLeft, offsetX + tileset.getTileWidth() - tileWidth);
+      extendRight = Math.max(extendRight, -offsetX);
+      extendUp = Math.max(extendUp, offsetY);
+      extendDown = Math.max(extendDown, tileset.getTileHeight() - tileHeight - offsetY);
+    }
+
+    final double minX = viewport.getMinX() - extendLeft;
+    final double maxX = viewport.getMaxX() + extendRight;
+    final double minY = viewport.getMinY() - extendUp;
+    final double maxY = viewport.getMaxY() + extendDown;
+
+    final Point[] corners;
+    try {
+      final IMapOrientation orientation = map.getOrientation();
+      corners = new Point[] { orientation.getTile(minX, minY, map), orientation.getTile(maxX, minY, map), orientation.getTile(minX, maxY, map), orientation.getTile(maxX, maxY, map) };
+    } catch (ArithmeticException e) {
+      return new Rectangle(0, 0, map.getWidth(), map.getHeight());
+    }
+
+    // the tile coordinates of the corners span the transformed viewport for all orientations
+    int startX = Integer.MAX_VALUE;
+    int startY = Integer.MAX_VALUE;
+    int endX = Integer.MIN_VALUE;
+    int endY = Integer.MIN_VALUE;
+    for (Point corner : corners) {
+      startX = Math.min(startX, corner.x);
+      startY = Math.min(startY, corner.y);
+      endX = Math.max(endX, corner.x);
+      endY = Math.max(endY, corner.y);
+    }
+
+    // the rendered cell of a tile is the bounding box of its shape which reaches into the adjacent tiles
+    startX = Math.max(0, startX - 1);
+    startY = Math.max(0, startY - 1);
+    endX = Math.min(map.getWidth() - 1, endX + 1);
+    endY = Math.min(map.getHeight() - 1, endY + 1);
+    return new Rectangle(startX, startY, Math.max(0, endX - startX + 1), Math.max(0, endY - startY + 1));
+  }
+
+  private static void drawRow(Graphics2D g, ITileLayer layer, int y, Rectangle tiles, IMap map, Rectangle2D viewport) {
     if (map.getRenderOrder().rtl) {
-      for (int x = map.getWidth() - 1; x >= 0; x--) {
+      for (int x = tiles.x + tiles.width - 1; x >= tiles.x; x--) {
         drawTile(g, layer, x, y, map, viewport);
       }
     } else {
-      for (int x = 0; x < map.getWidth(); x++) {
+      for (int x = tiles.x; x < tiles.x + tiles.width; x++) {
         drawTile(g, layer, x, y, map, viewport);
       }
     }
@@ -82,19 +169,25 @@ public class MapRenderer {
     }
     BufferedImage image = tile.getImage();
     if (image != null) {
-      Point p = map.getOrientation().getLocation(x, y, map);
-      p.y -= image.getHeight();
-      ITileOffset offset = tile.getTilesetEntry().getTileset().getTileOffset();
-      if (offset != null) {
-        p.x += offset.getX();
-        p.y += offset.getY();
-      }
+      Point p = getImageLocation(tile, image, x, y, map);
       if (viewport.intersects(p.x, p.y, image.getWidth(), image.getHeight())) {
         ImageRenderer.render(g, image, p.x - viewport.getX(), p.y - viewport.getY());
       }
     }
   }
 
+  static Point getImageLocation(ITile tile, BufferedImage image, int x, int y, IMap map) {
+    Point p = map.getOrientation().getLocation(x, y, map);
+    p.y -= image.getHeight();
+    ITileOffset offset = tile.getTilesetEntry().getTileset().getTileOffset();
+    if (offset != null) {
+      p.x += offset.getX();
+      p.y += offset.getY();
+    }
+
+    return p;
+  }
+
   protected static boolean shouldBeRendered(ILayer layer, RenderType[] renderTypes) {
     if (renderTypes == null || renderTypes.length == 0 || layer instanceof IGroupLayer) {
       return isVisible(layer);
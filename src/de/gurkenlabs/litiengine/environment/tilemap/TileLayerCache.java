@@ -0,0 +1,366 @@
+package de.gurkenlabs.litiengine.environment.tilemap;
+
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import de.gurkenlabs.litiengine.graphics.ImageRenderer;
+import de.gurkenlabs.litiengine.util.Imaging;
+
+/**
+ * A cache that pre-renders tile layers in chunks of a fixed number of tiles so that a layer can be rendered with a few
+ * large images instead of one image per tile.
+ * <p>
+ * A chunk is rendered when it becomes visible for the first time. Once the memory of all cached chunks exceeds the
+ * budget, the least recently rendered chunks are evicted. Chunks that contain animated tiles are rendered again when
+ * their animation advances. Changes to the tiles of a layer need to be reported by one of the <code>invalidate</code>
+ * methods.
+ * </p>
+ *
+ * @see MapRenderer#getCache()
+ */
+public final class TileLayerCache {
+  public static final int DEFAULT_CHUNK_SIZE = 16;
+  public static final long DEFAULT_BUDGET = 64L * 1024 * 1024;
+
+  private final Map<ChunkKey, Chunk> chunks = new LinkedHashMap<>(16, 0.75f, true);
+  private final int chunkSize;
+  private long budget;
+  private long memoryUsage;
+
+  /**
+   * Initializes a new instance of the <code>TileLayerCache</code> class with the default chunk size and budget.
+   */
+  public TileLayerCache() {
+    this(DEFAULT_CHUNK_SIZE, DEFAULT_BUDGET);
+  }
+
+  /**
+   * Initializes a new instance of the <code>TileLayerCache</code> class.
+   *
+   * @param chunkSize
+   *          The number of tiles in both dimensions of a chunk.
+   * @param budget
+   *          The maximum memory of all cached chunk images in bytes. A budget of 0 disables the cache.
+   */
+  public TileLayerCache(int chunkSize, long budget) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("chunk size must be positive");
+    }
+
+    this.chunkSize = chunkSize;
+    this.budget = budget;
+  }
+
+  public int getChunkSize() {
+    return this.chunkSize;
+  }
+
+  public synchronized long getBudget() {
+    return this.budget;
+  }
+
+  /**
+   * Gets the approximate memory of all cached chunk images.
+   *
+   * @return The memory of the cached chunks in bytes.
+   */
+  public synchronized long getMemoryUsage() {
+    return this.memoryUsage;
+  }
+
+  public synchronized int size() {
+    return this.chunks.size();
+  }
+
+  public synchronized boolean isEnabled() {
+    return this.budget > 0;
+  }
+
+  /**
+   * Sets the maximum memory of all cached chunk images and evicts the least recently rendered chunks until the cache
+   * fits into the new budget.
+   *
+   * @param budget
+   *          The budget in bytes. A budget of 0 disables the cache.
+   */
+  public synchronized void setBudget(long budget) {
+    this.budget = budget;
+    this.evict(null);
+  }
+
+  /**
+   * Renders the tiles of the specified layer within the specified range of tile coordinates from the cached chunks.
+   * Chunks that are not cached yet are rendered first.
+   * <p>
+   * The chunks are drawn in the render order of the map, which only matches the order of the individual tiles if tile
+   * images that overlap each other belong to the same row or column of tiles.
+   * </p>
+   *
+   * @param g
+   *          The graphics object to draw on.
+   * @param layer
+   *          The tile layer to be rendered.
+   * @param map
+   *          The map that contains the layer.
+   * @param tiles
+   *          The range of tile coordinates to be rendered.
+   * @param viewport
+   *          The viewport in map coordinates.
+   */
+  public synchronized void render(Graphics2D g, ITileLayer layer, IMap map, Rectangle tiles, Rectangle2D viewport) {
+    if (tiles.isEmpty()) {
+      return;
+    }
+
+    final int startX = tiles.x / this.chunkSize;
+    final int startY = tiles.y / this.chunkSize;
+    final int endX = (tiles.x + tiles.width - 1) / this.chunkSize;
+    final int endY = (tiles.y + tiles.height - 1) / this.chunkSize;
+    final RenderOrder renderOrder = map.getRenderOrder();
+
+    // the chunks are rendered in the same order as the tiles within them
+    for (int row = 0; row <= endY - startY; row++) {
+      final int chunkY = renderOrder.btt ? endY - row : startY + row;
+      for (int column = 0; column <= endX - startX; column++) {
+        final int chunkX = renderOrder.rtl ? endX - column : startX + column;
+        final Chunk chunk = this.getChunk(layer, map, chunkX, chunkY);
+        if (chunk.image != null && viewport.intersects(chunk.x, chunk.y, chunk.image.getWidth(), chunk.image.getHeight())) {
+          ImageRenderer.render(g, chunk.image, chunk.x - viewport.getX(), chunk.y - viewport.getY());
+        }
+      }
+    }
+  }
+
+  /**
+   * Determines whether the tile layers of the specified map can be rendered from chunks without changing the order in
+   * which overlapping tile images are drawn. This is the case for orthogonal maps whose tile images aren't wider than a
+   * tile and for isometric maps whose tile images don't exceed the tile size. All tilesets need to share the same
+   * offset.
+   *
+   * @param map
+   *          The map to check.
+   * @return True if the layers of the map can be cached; otherwise false.
+   */
+  public static boolean supports(IMap map) {
+    final IMapOrientation orientation = map.getOrientation();
+    if (orientation != MapOrientations.ORTHOGONAL && orientation != MapOrientations.ISOMETRIC) {
+      return false;
+    }
+
+    Point sharedOffset = null;
+    for (ITileset tileset : map.getTilesets()) {
+      final ITileOffset tileOffset = tileset.getTileOffset();
+      final Point offset = tileOffset != null ? new Point(tileOffset.getX(), tileOffset.getY()) : new Point();
+      if (sharedOffset != null && !sharedOffset.equals(offset)) {
+        return false;
+      }
+
+      sharedOffset = offset;
+      if (tileset.getTileWidth() > map.getTileWidth() || orientation == MapOrientations.ISOMETRIC && tileset.getTileHeight() > map.getTileHeight()) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Removes all cached chunks of the specified layer.
+   *
+   * @param layer
+   *          The layer whose tiles have changed.
+   */
+  public synchronized void invalidate(ITileLayer layer) {
+    final Iterator<Map.Entry<ChunkKey, Chunk>> iterator = this.chunks.entrySet().iterator();
+    while (iterator.hasNext()) {
+      final Map.Entry<ChunkKey, Chunk> entry = iterator.next();
+      if (entry.getKey().layer == layer) {
+        this.memoryUsage -= entry.getValue().getMemory();
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * Removes the cached chunk that contains the tile at the specified coordinates.
+   *
+   * @param layer
+   *          The layer whose tile has changed.
+   * @param x
+   *          The x-coordinate of the changed tile.
+   * @param y
+   *          The y-coordinate of the changed tile.
+   */
+  public synchronized void invalidate(ITileLayer layer, int x, int y) {
+    final Chunk chunk = this.chunks.remove(new ChunkKey(layer, Math.floorDiv(x, this.chunkSize), Math.floorDiv(y, this.chunkSize)));
+    if (chunk != null) {
+      this.memoryUsage -= chunk.getMemory();
+    }
+  }
+
+  public synchronized void clear() {
+    this.chunks.clear();
+    this.memoryUsage = 0;
+  }
+
+  private Chunk getChunk(ITileLayer layer, IMap map, int chunkX, int chunkY) {
+    final ChunkKey key = new ChunkKey(layer, chunkX, chunkY);
+    Chunk chunk = this.chunks.get(key);
+    if (chunk != null && !chunk.isAnimationAdvanced()) {
+      return chunk;
+    }
+
+    if (chunk != null) {
+      this.memoryUsage -= chunk.getMemory();
+    }
+
+    chunk = this.renderChunk(layer, map, chunkX, chunkY);
+    this.chunks.put(key, chunk);
+    this.memoryUsage += chunk.getMemory();
+    this.evict(key);
+    return chunk;
+  }
+
+  private Chunk renderChunk(ITileLayer layer, IMap map, int chunkX, int chunkY) {
+    final int startX = chunkX * this.chunkSize;
+    final int startY = chunkY * this.chunkSize;
+    final int endX = Math.min(startX + this.chunkSize, map.getWidth()) - 1;
+    final int endY = Math.min(startY + this.chunkSize, map.getHeight()) - 1;
+
+    // determine the bounds of all tile images and the animation frames that the chunk is rendered with
+    Rectangle bounds = null;
+    final List<ITilesetEntry> animatedEntries = new ArrayList<>();
+    for (int y = startY; y <= endY; y++) {
+      for (int x = startX; x <= endX; x++) {
+        final ITile tile = layer.getTile(x, y);
+        final BufferedImage image = tile != null ? tile.getImage() : null;
+        if (image == null) {
+          continue;
+        }
+
+        final Point location = MapRenderer.getImageLocation(tile, image, x, y, map);
+        final Rectangle imageBounds = new Rectangle(location.x, location.y, image.getWidth(), image.getHeight());
+        bounds = bounds == null ? imageBounds : bounds.union(imageBounds);
+
+        final ITilesetEntry entry = tile.getTilesetEntry();
+        if (entry.getAnimation() != null && !animatedEntries.contains(entry)) {
+          animatedEntries.add(entry);
+        }
+      }
+    }
+
+    final int[] frames = new int[animatedEntries.size()];
+    for (int i = 0; i < frames.length; i++) {
+      frames[i] = animatedEntries.get(i).getAnimation().getCurrentFrame().getTileId();
+    }
+
+    final ITilesetEntry[] entries = animatedEntries.toArray(new ITilesetEntry[animatedEntries.size()]);
+    if (bounds == null) {
+      return new Chunk(null, 0, 0, entries, frames);
+    }
+
+    final BufferedImage chunkImage = Imaging.getCompatibleImage(bounds.width, bounds.height);
+    final Graphics2D g = chunkImage.createGraphics();
+    final RenderOrder renderOrder = map.getRenderOrder();
+    for (int row = 0; row <= endY - startY; row++) {
+      final int y = renderOrder.btt ? endY - row : startY + row;
+      for (int column = 0; column <= endX - startX; column++) {
+        final int x = renderOrder.rtl ? endX - column : startX + column;
+        final ITile tile = layer.getTile(x, y);
+        final BufferedImage image = tile != null ? tile.getImage() : null;
+        if (image != null) {
+          final Point location = MapRenderer.getImageLocation(tile, image, x, y, map);
+          g.drawImage(image, location.x - bounds.x, location.y - bounds.y, null);
+        }
+      }
+    }
+
+    g.dispose();
+    return new Chunk(chunkImage, bounds.x, bounds.y, entries, frames);
+  }
+
+  private void evict(ChunkKey added) {
+    final Iterator<Map.Entry<ChunkKey, Chunk>> iterator = this.chunks.entrySet().iterator();
+    while (this.memoryUsage > this.budget && iterator.hasNext()) {
+      final Map.Entry<ChunkKey, Chunk> eldest = iterator.next();
+
+      // the chunk that was just added is the most recently used one and is needed for the current frame
+      if (eldest.getKey().equals(added)) {
+        break;
+      }
+
+      this.memoryUsage -= eldest.getValue().getMemory();
+      iterator.remove();
+    }
+  }
+
+  private static final class ChunkKey {
+    private final ITileLayer layer;
+    private final int x;
+    private final int y;
+
+    private ChunkKey(ITileLayer layer, int x, int y) {
+      this.layer = layer;
+      this.x = x;
+      this.y = y;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+
+      if (!(obj instanceof ChunkKey)) {
+        return false;
+      }
+
+      final ChunkKey other = (ChunkKey) obj;
+      return this.layer == other.layer && this.x == other.x && this.y == other.y;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(System.identityHashCode(this.layer), this.x, this.y);
+    }
+  }
+
+  private static final class Chunk {
+    private final BufferedImage image;
+    private final int x;
+    private final int y;
+    private final ITilesetEntry[] animatedEntries;
+    private final int[] frames;
+
+    private Chunk(BufferedImage image, int x, int y, ITilesetEntry[] animatedEntries, int[] frames) {
+      this.image = image;
+      this.x = x;
+      this.y = y;
+      this.animatedEntries = animatedEntries;
+      this.frames = frames;
+    }
+
+    private long getMemory() {
+      return this.image != null ? 4L * this.image.getWidth() * this.image.getHeight() : 0;
+    }
+
+    private boolean isAnimationAdvanced() {
+      for (int i = 0; i < this.animatedEntries.length; i++) {
+        if (this.animatedEntries[i].getAnimation().getCurrentFrame().getTileId() != this.frames[i]) {
+          return true;
+        }
+      }
+
+      return false;
+    }
+  }
+}
@@ -23,6 +23,7 @@ public class Tile extends CustomPropertyProvider implements ITile {
   protected static final int FLIPPED_HORIZONTALLY_FLAG = 0x80000000;
   protected static final int FLIPPED_VERTICALLY_FLAG = 0x40000000;
   protected static final int FLIPPED_DIAGONALLY_FLAG = 0x20000000;
+  static final int FLIP_MASK = FLIPPED_HORIZONTALLY_FLAG | FLIPPED_VERTICALLY_FLAG | FLIPPED_DIAGONALLY_FLAG;
   private static final AffineTransform TX_DIAGONAL_FLIP = new AffineTransform(0.0, 1.0, 1.0, 0.0, 0.0, 0.0);
 
   @XmlAttribute
@@ -47,7 +48,7 @@ public class Tile extends CustomPropertyProvider implements ITile {
     this.flippedVertically = (gidBitmask & FLIPPED_VERTICALLY_FLAG) != 0;
 
     this.flipped = this.isFlippedDiagonally() || this.isFlippedHorizontally() || this.isFlippedVertically();
-    this.gid = gidBitmask & ~(FLIPPED_HORIZONTALLY_FLAG | FLIPPED_VERTICALLY_FLAG | FLIPPED_DIAGONALLY_FLAG);
+    this.gid = gidBitmask & ~FLIP_MASK;
   }
 
   @Override
@@ -94,22 +95,45 @@ public class Tile extends CustomPropertyProvider implements ITile {
     if (this.tilesetEntry == null) { // happens if the tile is empty
       return null;
     }
-    BufferedImage base = this.getTilesetEntry().getImage();
     if (!this.isFlipped()) {
+      return this.getTilesetEntry().getImage();
+    }
+
+    // the flipped variants are shared by all tiles of the same tileset entry
+    if (this.getTilesetEntry() instanceof TilesetEntry) {
+      return ((TilesetEntry) this.getTilesetEntry()).getFlippedImage(this.getFlipFlags());
+    }
+
+    return flip(this.getTilesetEntry().getImage(), this.getFlipFlags());
+  }
+
+  /**
+   * Creates a flipped copy of the specified image.
+   *
+   * @param base
+   *          The image to flip.
+   * @param flags
+   *          A combination of the <code>FLIPPED_HORIZONTALLY_FLAG</code>, <code>FLIPPED_VERTICALLY_FLAG</code> and
+   *          <code>FLIPPED_DIAGONALLY_FLAG</code>.
+   * @return A new image with the flipped content or the base image if no flag is set.
+   */
+  static BufferedImage flip(BufferedImage base, int flags) {
+    if (base == null || (flags & FLIP_MASK) == 0) {
       return base;
     }
+
     // save some overhead by doing all the reflection at once
     // affine transforms are confusing: this actually does represent the correct order
     AffineTransform tx = new AffineTransform();
-    if (this.isFlippedHorizontally()) {
+    if ((flags & FLIPPED_HORIZONTALLY_FLAG) != 0) {
       tx.translate(base.getWidth(), 0.0);
       tx.scale(-1.0, 1.0);
     }
-    if (this.isFlippedVertically()) {
+    if ((flags & FLIPPED_VERTICALLY_FLAG) != 0) {
       tx.translate(0.0, base.getHeight());
       tx.scale(1.0, -1.0);
     }
-    if (this.isFlippedDiagonally()) {
+    if ((flags & FLIPPED_DIAGONALLY_FLAG) != 0) {
       tx.concatenate(TX_DIAGONAL_FLIP);
     }
     return (new AffineTransformOp(tx, AffineTransformOp.TYPE_NEAREST_NEIGHBOR)).filter(base, null);
@@ -154,19 +178,7 @@ public class Tile extends CustomPropertyProvider implements ITile {
 
   @Override
   public int hashCode() {
-    int hash = this.getGridId();
-    if (this.isFlipped()) {
-      if (this.isFlippedDiagonally()) {
-        hash |= FLIPPED_DIAGONALLY_FLAG;
-      }
-      if (this.isFlippedHorizontally()) {
-        hash |= FLIPPED_HORIZONTALLY_FLAG;
-      }
-      if (this.isFlippedVertically()) {
-        hash |= FLIPPED_VERTICALLY_FLAG;
-      }
-    }
-    return hash ^ Objects.hashCode(this.getTilesetEntry());
+    return (this.getGridId() | this.getFlipFlags()) ^ Objects.hashCode(this.getTilesetEntry());
   }
 
   @Override
@@ -174,6 +186,20 @@ public class Tile extends CustomPropertyProvider implements ITile {
     return this.getGridId() + String.valueOf(this.getTilesetEntry());
   }
 
+  int getFlipFlags() {
+    int flags = 0;
+    if (this.isFlippedDiagonally()) {
+      flags |= FLIPPED_DIAGONALLY_FLAG;
+    }
+    if (this.isFlippedHorizontally()) {
+      flags |= FLIPPED_HORIZONTALLY_FLAG;
+    }
+    if (this.isFlippedVertically()) {
+      flags |= FLIPPED_VERTICALLY_FLAG;
+    }
+    return flags;
+  }
+
   void setTilesetEntry(ITilesetEntry entry) {
     this.tilesetEntry = entry;
   }
@@ -89,7 +89,14 @@ public class Tileset extends CustomPropertyProvider implements ITileset {
   private transient Spritesheet spriteSheet;
 
   public Tileset() {
-    Resources.images().addClearedListener(() -> this.spriteSheet = null);
+    Resources.images().addClearedListener(() -> {
+      this.spriteSheet = null;
+      if (this.allTiles != null) {
+        for (TilesetEntry entry : this.allTiles) {
+          entry.clearFlippedImages();
+        }
+      }
+    });
   }
 
   public Tileset(Tileset source) {
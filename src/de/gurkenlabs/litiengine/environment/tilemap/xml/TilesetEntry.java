@@ -40,6 +40,9 @@ public class TilesetEntry extends CustomPropertyProvider implements ITilesetEntr
   @XmlAttribute
   private String type;
 
+  private transient BufferedImage flipSource;
+  private transient BufferedImage[] flippedImages;
+
   public TilesetEntry() {
   }
 
@@ -83,6 +86,54 @@ public class TilesetEntry extends CustomPropertyProvider implements ITilesetEntr
     return this.tileset.getSpritesheet().getSprite(this.getId(), this.tileset.getMargin(), this.tileset.getSpacing());
   }
 
+  /**
+   * Gets the current image of this entry, flipped according to the specified flags. Every flipped variant is only created
+   * once per entry and then shared by all tiles that reference it.
+   *
+   * @param flags
+   *          A combination of the flip flags of the <code>Tile</code> class.
+   * @return The flipped image.
+   */
+  BufferedImage getFlippedImage(int flags) {
+    if (this.animation == null) {
+      return this.getFlippedBasicImage(flags);
+    }
+
+    ITilesetEntry frame = this.tileset.getTile(this.animation.getCurrentFrame().getTileId());
+    if (frame instanceof TilesetEntry) {
+      return ((TilesetEntry) frame).getFlippedBasicImage(flags);
+    }
+
+    return Tile.flip(frame.getBasicImage(), flags);
+  }
+
+  void clearFlippedImages() {
+    this.flipSource = null;
+    this.flippedImages = null;
+  }
+
+  private BufferedImage getFlippedBasicImage(int flags) {
+    final BufferedImage base = this.getBasicImage();
+    if (base == null) {
+      return null;
+    }
+
+    // the variants are created again if the basic image was reloaded
+    BufferedImage[] images = this.flippedImages;
+    if (images == null || base != this.flipSource) {
+      images = new BufferedImage[8];
+      this.flippedImages = images;
+      this.flipSource = base;
+    }
+
+    final int index = (flags & Tile.FLIP_MASK) >>> 29;
+    if (images[index] == null) {
+      images[index] = Tile.flip(base, flags);
+    }
+
+    return images[index];
+  }
+
   @Override
   public ITileset getTileset() {
     return this.tileset;
@@ -4,7 +4,6 @@ import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.MultipleGradientPaint.CycleMethod;
-import java.awt.Paint;
 import java.awt.RadialGradientPaint;
 import java.awt.Shape;
 import java.awt.geom.AffineTransform;
@@ -13,21 +12,40 @@ import java.awt.geom.Line2D;
 import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import de.gurkenlabs.litiengine.entities.LightSource;
 import de.gurkenlabs.litiengine.entities.StaticShadow;
 import de.gurkenlabs.litiengine.environment.Environment;
+import de.gurkenlabs.litiengine.util.Imaging;
 import de.gurkenlabs.litiengine.util.MathUtilities;
 import de.gurkenlabs.litiengine.util.geom.GeometricUtilities;
 import de.gurkenlabs.litiengine.util.geom.Vector2D;
 
 public class AmbientLight extends ColorLayer {
   public static final Color DEFAULT_COLOR = new Color(0, 0, 0, 0);
+  private static final int MAX_CACHED_GRADIENTS = 64;
+
+  // the least recently used gradients are discarded, e.g. those of lights with an animated radius or color
+  private final Map<String, BufferedImage> gradients = new LinkedHashMap<String, BufferedImage>(16, 0.75f, true) {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, BufferedImage> eldest) {
+      return this.size() > MAX_CACHED_GRADIENTS;
+    }
+  };
 
   public AmbientLight(final Environment env, final Color ambientColor) {
     super(env, ambientColor);
   }
 
+  public AmbientLight(final Environment env, final Color ambientColor, int downscale) {
+    super(env, ambientColor, downscale);
+  }
+
   /**
    * @see <a href="https://docs.oracle.com/javase/tutorial/2d/advanced/compositing.html">Compositing Graphics</a>
    */
@@ -138,17 +156,73 @@ public class AmbientLight extends ColorLayer {
       }
     }
 
-    final Paint oldPaint = g.getPaint();
-
     // render parts that lie within the shadow with a gradient from the light
     // color to transparent
-    final Shape lightShape = light.getLightShape();
+    final Rectangle2D lightBounds = light.getLightShape().getBounds2D();
+    final BufferedImage gradient = this.getGradient(light, lightBounds.getWidth(), lightBounds.getHeight());
+    if (gradient == null) {
+      return;
+    }
+
+    final Shape oldClip = g.getClip();
+    if (lightArea != null) {
+      lightArea.transform(AffineTransform.getTranslateInstance(-section.getX(), -section.getY()));
+      g.clip(lightArea);
+    }
+
+    g.drawImage(gradient, AffineTransform.getTranslateInstance(lightBounds.getX() - section.getX(), lightBounds.getY() - section.getY()), null);
+    g.setClip(oldClip);
+  }
 
-    final double radius = lightShape.getBounds2D().getWidth() > lightShape.getBounds2D().getHeight() ? lightShape.getBounds2D().getWidth() : lightShape.getBounds2D().getHeight();
-    final Color[] transColors = new Color[] { light.getColor(), new Color(light.getColor().getRed(), light.getColor().getGreen(), light.getColor().getBlue(), 0) };
-    final Point2D center = new Point2D.Double(lightShape.getBounds2D().getCenterX() - section.getX(), lightShape.getBounds2D().getCenterY() - section.getY());
-    final Point2D focus = new Point2D.Double(center.getX() + lightShape.getBounds2D().getWidth() * light.getFocusOffsetX(), center.getY() + lightShape.getBounds2D().getHeight() * light.getFocusOffsetY());
-    RadialGradientPaint paint = new RadialGradientPaint(
+  /**
+   * Releases the pre-rendered gradients of the lights. This is called when the environment is unloaded.
+   */
+  public void clearGradients() {
+    synchronized (this.gradients) {
+      this.gradients.clear();
+    }
+  }
+
+  /**
+   * Gets the pre-rendered radial gradient of the specified light. Lights with the same size in whole pixels, color and
+   * focus share the same image, which is cached by this instance. The intensity of a light is applied when the image is
+   * drawn, so it doesn't require an individual gradient.
+   * 
+   * @param light
+   *          The light source.
+   * @param width
+   *          The width of the light's shape.
+   * @param height
+   *          The height of the light's shape.
+   * @return The image of the light's gradient or null if the light has no visible size.
+   */
+  BufferedImage getGradient(final LightSource light, final double width, final double height) {
+    final int imageWidth = (int) Math.round(width);
+    final int imageHeight = (int) Math.round(height);
+    if (imageWidth <= 0 || imageHeight <= 0) {
+      return null;
+    }
+
+    final Color color = light.getColor();
+    final String cacheKey = imageWidth + "x" + imageHeight + "-" + Integer.toHexString(color.getRGB()) + "-" + light.getFocusOffsetX() + "-" + light.getFocusOffsetY();
+    synchronized (this.gradients) {
+      return this.gradients.computeIfAbsent(cacheKey, key -> createGradient(light, imageWidth, imageHeight));
+    }
+  }
+
+  int getCachedGradientCount() {
+    synchronized (this.gradients) {
+      return this.gradients.size();
+    }
+  }
+
+  private static BufferedImage createGradient(final LightSource light, final int width, final int height) {
+    final Color color = light.getColor();
+    final double radius = width > height ? width : height;
+    final Color[] transColors = new Color[] { color, new Color(color.getRed(), color.getGreen(), color.getBlue(), 0) };
+    final Point2D center = new Point2D.Double(width / 2.0, height / 2.0);
+    final Point2D focus = new Point2D.Double(center.getX() + width * light.getFocusOffsetX(), center.getY() + height * light.getFocusOffsetY());
+    final RadialGradientPaint paint = new RadialGradientPaint(
         center,
         (float) (radius / 2d),
         focus,
@@ -156,16 +230,11 @@ public class AmbientLight extends ColorLayer {
         transColors,
         CycleMethod.NO_CYCLE);
 
+    final BufferedImage image = Imaging.getCompatibleImage(width, height);
+    final Graphics2D g = image.createGraphics();
     g.setPaint(paint);
-
-    if (lightArea != null) {
-      lightArea.transform(AffineTransform.getTranslateInstance(-section.getX(), -section.getY()));
-      fillShape = lightArea;
-    } else {
-      fillShape = new Rectangle2D.Double(light.getBoundingBox().getX() - section.getX(), light.getBoundingBox().getY() - section.getY(), light.getBoundingBox().getWidth(), light.getBoundingBox().getHeight());
-    }
-
-    g.fill(fillShape);
-    g.setPaint(oldPaint);
+    g.fill(new Rectangle2D.Double(0, 0, width, height));
+    g.dispose();
+    return image;
   }
 }
\ No newline at end of file
@@ -4,33 +4,88 @@ import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.environment.Environment;
 import de.gurkenlabs.litiengine.util.Imaging;
 import de.gurkenlabs.litiengine.util.MathUtilities;
 
+/**
+ * A layer that covers the whole map with a color and is only updated for the sections that have changed.
+ * <p>
+ * By default, the layer is a single image in the size of the map. With a downscale factor, the layer is split into
+ * chunks in a reduced resolution instead. Chunks are only rendered when they become visible or after a section that
+ * they cover has changed, and they are upscaled smoothly when drawn. Chunks that haven't been visible recently are
+ * discarded, so the memory of the layer depends on the size of the viewport instead of the size of the map.
+ * </p>
+ * 
+ * @see de.gurkenlabs.litiengine.configuration.GraphicConfiguration#setLightMapDownscale(int)
+ */
 public abstract class ColorLayer implements IRenderable {
+  // the size of a chunk in the pixels of the reduced resolution
+  private static final int CHUNK_SIZE = 64;
+  private static final int MIN_CACHED_CHUNKS = 16;
+
   private final Environment environment;
   private final BufferedImage layer;
+  private final int downscale;
+  private final Map<Long, Chunk> chunks = new LinkedHashMap<>(16, 0.75f, true);
 
   private Color color;
 
   protected ColorLayer(Environment env, final Color color) {
+    this(env, color, Game.config().graphics().getLightMapDownscale());
+  }
+
+  /**
+   * Initializes a new instance of the <code>ColorLayer</code> class.
+   * 
+   * @param env
+   *          The environment of the layer.
+   * @param color
+   *          The color of the layer.
+   * @param downscale
+   *          The factor by which the resolution of the chunks is reduced or 0 to use a single image in the full map
+   *          resolution.
+   */
+  protected ColorLayer(Environment env, final Color color, int downscale) {
+    if (downscale < 0) {
+      throw new IllegalArgumentException("The downscale factor of a color layer must not be negative.");
+    }
+
     this.environment = env;
     this.color = color;
+    this.downscale = downscale;
 
-    Dimension size = env.getMap().getSizeInPixels();
-    this.layer = Imaging.getCompatibleImage(size.width, size.height);
-    this.updateSection(this.environment.getMap().getBounds());
+    if (downscale == 0) {
+      Dimension size = env.getMap().getSizeInPixels();
+      this.layer = Imaging.getCompatibleImage(size.width, size.height);
+      this.updateSection(this.environment.getMap().getBounds());
+    } else {
+      this.layer = null;
+    }
   }
 
   @Override
   public void render(Graphics2D g) {
-    final Rectangle2D viewport = Game.world().camera().getViewport();
-    ImageRenderer.render(g, this.layer, -viewport.getX(), -viewport.getY());
+    this.render(g, Game.world().camera().getViewport());
+  }
+
+  /**
+   * Gets the factor by which the resolution of the layer is reduced.
+   * 
+   * @return The downscale factor or 0 if the layer is a single image in the full map resolution.
+   */
+  public int getDownscale() {
+    return this.downscale;
   }
 
   public Color getColor() {
@@ -48,6 +103,19 @@ public abstract class ColorLayer implements IRenderable {
   }
 
   public void updateSection(Rectangle2D section) {
+    if (this.layer == null) {
+      // chunks are rendered again as soon as they are visible
+      synchronized (this.chunks) {
+        for (Chunk chunk : this.chunks.values()) {
+          if (chunk.section.intersects(section)) {
+            chunk.dirty = true;
+          }
+        }
+      }
+
+      return;
+    }
+
     if (this.getColor() == null) {
       return;
     }
@@ -73,4 +141,105 @@ public abstract class ColorLayer implements IRenderable {
   protected Environment getEnvironment() {
     return this.environment;
   }
+
+  void render(Graphics2D g, Rectangle2D viewport) {
+    if (this.layer != null) {
+      ImageRenderer.render(g, this.layer, -viewport.getX(), -viewport.getY());
+      return;
+    }
+
+    final Rectangle2D visible = viewport.createIntersection(this.environment.getMap().getBounds());
+    if (visible.isEmpty()) {
+      return;
+    }
+
+    final int size = CHUNK_SIZE * this.downscale;
+    final int minX = (int) Math.floor(visible.getX() / size);
+    final int minY = (int) Math.floor(visible.getY() / size);
+    final int maxX = (int) Math.ceil(visible.getMaxX() / size);
+    final int maxY = (int) Math.ceil(visible.getMaxY() / size);
+
+    final Shape oldClip = g.getClip();
+    final Object oldInterpolation = g.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+    g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+
+    synchronized (this.chunks) {
+      for (int y = minY; y < maxY; y++) {
+        for (int x = minX; x < maxX; x++) {
+          final Chunk chunk = this.getChunk(x, y);
+
+          // only the inner part of the chunk is drawn, the border provides the neighbouring pixels for the interpolation
+          g.setClip(oldClip);
+          g.clip(new Rectangle2D.Double(x * size - viewport.getX(), y * size - viewport.getY(), size, size));
+          g.clip(new Rectangle2D.Double(visible.getX() - viewport.getX(), visible.getY() - viewport.getY(), visible.getWidth(), visible.getHeight()));
+
+          final AffineTransform transform = AffineTransform.getTranslateInstance(chunk.section.getX() - viewport.getX(), chunk.section.getY() - viewport.getY());
+          transform.scale(this.downscale, this.downscale);
+          g.drawImage(chunk.image, transform, null);
+        }
+      }
+
+      // keep the recently visible chunks to avoid rendering them again when the camera moves back and forth
+      final int maxChunks = Math.max(MIN_CACHED_CHUNKS, (maxX - minX) * (maxY - minY) * 2);
+      final Iterator<Chunk> iter = this.chunks.values().iterator();
+      while (this.chunks.size() > maxChunks && iter.hasNext()) {
+        iter.next();
+        iter.remove();
+      }
+    }
+
+    g.setClip(oldClip);
+    if (oldInterpolation != null) {
+      g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, oldInterpolation);
+    }
+  }
+
+  int getChunkCount() {
+    synchronized (this.chunks) {
+      return this.chunks.size();
+    }
+  }
+
+  private Chunk getChunk(int x, int y) {
+    final long key = ((long) x << 32) | (y & 0xffffffffL);
+    Chunk chunk = this.chunks.get(key);
+    if (chunk == null) {
+      final int size = CHUNK_SIZE * this.downscale;
+      chunk = new Chunk(new Rectangle(x * size - this.downscale, y * size - this.downscale, size + 2 * this.downscale, size + 2 * this.downscale));
+      this.chunks.put(key, chunk);
+    }
+
+    if (chunk.dirty) {
+      this.renderChunk(chunk);
+    }
+
+    return chunk;
+  }
+
+  private void renderChunk(Chunk chunk) {
+    final Graphics2D g = chunk.image.createGraphics();
+    g.scale(1.0 / this.downscale, 1.0 / this.downscale);
+
+    final Rectangle local = new Rectangle(0, 0, chunk.section.width, chunk.section.height);
+    this.clearSection(g, local);
+    if (this.getColor() != null) {
+      g.setClip(local);
+      this.renderSection(g, chunk.section);
+    }
+
+    g.dispose();
+    chunk.dirty = false;
+  }
+
+  private static final class Chunk {
+    // the covered section of the map, including a border of one pixel of the reduced resolution
+    private final Rectangle section;
+    private final BufferedImage image;
+    private boolean dirty = true;
+
+    private Chunk(Rectangle section) {
+      this.section = section;
+      this.image = Imaging.getCompatibleImage(CHUNK_SIZE + 2, CHUNK_SIZE + 2);
+    }
+  }
 }
@@ -0,0 +1,309 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.gurkenlabs.litiengine.entities.ICollisionEntity;
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.util.geom.ISpatialIndex;
+
+/**
+ * A persistent collection of entities in their render order. A sorted list keeps its entities sorted by their maximum
+ * y-coordinate in order to render them in a 2.5D manner, an unsorted list keeps the order in which they were added.
+ * <p>
+ * In contrast to sorting all entities every frame, the order is only repaired when entities were added or moved.
+ * Because entities usually only move a few pixels per tick, the array is nearly sorted and an insertion sort pass
+ * restores the order in almost linear time. The visible entities are determined by a spatial index, so that the cost
+ * of rendering mostly depends on the number of visible entities.
+ * </p>
+ * <p>
+ * The list doesn't maintain the spatial index and doesn't observe its entities. The owner of the list has to keep the
+ * entities in the index and report changes to the sort criterion by calling {@link #invalidate(IEntity)}.
+ * </p>
+ *
+ * @see RenderEngine#renderEntities(java.awt.Graphics2D, EntityRenderList)
+ * @see de.gurkenlabs.litiengine.entities.EntityYComparator
+ */
+public final class EntityRenderList {
+  private static final Comparator<Entry> SORT_ORDER = Comparator.comparingDouble(e -> e.sortY);
+  private static final Comparator<Entry> POSITION_ORDER = Comparator.comparingInt(e -> e.position);
+
+  private final Map<IEntity, Entry> entries = new IdentityHashMap<>();
+  private final ISpatialIndex<IEntity> index;
+  private final boolean sorting;
+  private final List<Entry> dirtyEntries = new ArrayList<>();
+  private final List<Entry> visibleEntries = new ArrayList<>();
+
+  private Entry[] sorted = new Entry[16];
+  private int size;
+  private boolean added;
+  private boolean removed;
+  private List<IEntity> entities;
+
+  /**
+   * Initializes a new instance of the <code>EntityRenderList</code> class.
+   *
+   * @param index
+   *          The spatial index that contains the entities of this list. It is used to determine the visible entities.
+   * @param sorting
+   *          True to sort the entities by their maximum y-coordinate; false to keep the order in which they were added.
+   */
+  public EntityRenderList(ISpatialIndex<IEntity> index, boolean sorting) {
+    this.index = index;
+    this.sorting = sorting;
+  }
+
+  public boolean isSorting() {
+    return this.sorting;
+  }
+
+  /**
+   * Adds the specified entity to this list. The entity is sorted into place upon the next query.
+   *
+   * @param entity
+   *          The entity to add.
+   */
+  public synchronized void add(IEntity entity) {
+    if (entity == null || this.entries.containsKey(entity)) {
+      return;
+    }
+
+    final Entry entry = new Entry(entity);
+    this.entries.put(entity, entry);
+    if (this.size == this.sorted.length) {
+      this.sorted = Arrays.copyOf(this.sorted, this.size * 2);
+    }
+
+    entry.position = this.size;
+    this.sorted[this.size++] = entry;
+    this.added = this.sorting;
+    this.entities = null;
+  }
+
+  /**
+   * Removes the specified entity from this list.
+   *
+   * @param entity
+   *          The entity to remove.
+   * @return True if the entity was part of this list; otherwise false.
+   */
+  public synchronized boolean remove(IEntity entity) {
+    final Entry entry = this.entries.remove(entity);
+    if (entry == null) {
+      return false;
+    }
+
+    entry.removed = true;
+    this.removed = true;
+    this.entities = null;
+    return true;
+  }
+
+  /**
+   * Marks the specified entity as changed. Its position in the sort order is updated upon the next query.
+   *
+   * @param entity
+   *          The entity that has changed.
+   */
+  public synchronized void invalidate(IEntity entity) {
+    if (!this.sorting) {
+      return;
+    }
+
+    final Entry entry = this.entries.get(entity);
+    if (entry == null || entry.dirty) {
+      return;
+    }
+
+    entry.dirty = true;
+    this.dirtyEntries.add(entry);
+  }
+
+  public synchronized boolean contains(IEntity entity) {
+    return this.entries.containsKey(entity);
+  }
+
+  public synchronized int size() {
+    return this.entries.size();
+  }
+
+  public synchronized void clear() {
+    this.entries.clear();
+    this.dirtyEntries.clear();
+    Arrays.fill(this.sorted, 0, this.size, null);
+    this.size = 0;
+    this.added = false;
+    this.removed = false;
+    this.entities = null;
+  }
+
+  /**
+   * Gets all entities of this list in their render order.
+   *
+   * @return An unmodifiable list of all entities in their render order.
+   */
+  public synchronized List<IEntity> getEntities() {
+    this.repair();
+    if (this.entities == null) {
+      final List<IEntity> all = new ArrayList<>(this.size);
+      for (int i = 0; i < this.size; i++) {
+        all.add(this.sorted[i].entity);
+      }
+
+      this.entities = Collections.unmodifiableList(all);
+    }
+
+    return this.entities;
+  }
+
+  /**
+   * Gets the entities whose bounding box intersects the specified viewport in their render order.
+   *
+   * @param viewport
+   *          The visible region.
+   * @return The visible entities in their render order.
+   */
+  public List<IEntity> getEntities(Rectangle2D viewport) {
+    return this.getEntities(viewport, Collections.emptyList());
+  }
+
+  /**
+   * Gets the entities whose bounding box intersects the specified viewport and the specified included entities that
+   * are part of this list in their render order.
+   *
+   * @param viewport
+   *          The visible region.
+   * @param included
+   *          Entities that are visible regardless of their bounding box, e.g. because they're rendered from a
+   *          different location.
+   * @return The visible entities in their render order.
+   */
+  public synchronized List<IEntity> getEntities(Rectangle2D viewport, Collection<? extends IEntity> included) {
+    this.repair();
+
+    this.visibleEntries.clear();
+    this.index.anyMatch(viewport.getX(), viewport.getY(), viewport.getWidth(), viewport.getHeight(), entity -> {
+      final Entry entry = this.entries.get(entity);
+      if (entry != null && viewport.intersects(entity.getBoundingBox())) {
+        this.visibleEntries.add(entry);
+      }
+
+      return false;
+    });
+
+    for (IEntity entity : included) {
+      final Entry entry = this.entries.get(entity);
+      if (entry != null) {
+        this.visibleEntries.add(entry);
+      }
+    }
+
+    // the candidates of all entities in the index are provided in the order of the index cells
+    this.visibleEntries.sort(POSITION_ORDER);
+    final List<IEntity> visible = new ArrayList<>(this.visibleEntries.size());
+    Entry previous = null;
+    for (Entry entry : this.visibleEntries) {
+      // included entities might also have been found in the index
+      if (entry != previous) {
+        visible.add(entry.entity);
+      }
+
+      previous = entry;
+    }
+
+    this.visibleEntries.clear();
+    return visible;
+  }
+
+  /**
+   * Gets the y-coordinate by which the specified entity is sorted. This is the same criterion that is used by the
+   * <code>EntityYComparator</code>.
+   *
+   * @param entity
+   *          The entity.
+   * @return The maximum y-coordinate of the entity's collision box or bounding box.
+   */
+  static double getSortY(IEntity entity) {
+    final Rectangle2D sortBox = entity instanceof ICollisionEntity ? ((ICollisionEntity) entity).getCollisionBox() : entity.getBoundingBox();
+    return sortBox != null ? sortBox.getMaxY() : entity.getY() + entity.getHeight();
+  }
+
+  private void repair() {
+    if (this.removed) {
+      int count = 0;
+      for (int i = 0; i < this.size; i++) {
+        if (!this.sorted[i].removed) {
+          this.sorted[count] = this.sorted[i];
+          this.sorted[count].position = count;
+          count++;
+        }
+      }
+
+      Arrays.fill(this.sorted, count, this.size, null);
+      this.size = count;
+      this.removed = false;
+    }
+
+    if (this.dirtyEntries.isEmpty() && !this.added) {
+      return;
+    }
+
+    for (Entry entry : this.dirtyEntries) {
+      entry.sortY = getSortY(entry.entity);
+      entry.dirty = false;
+    }
+
+    this.dirtyEntries.clear();
+    this.entities = null;
+
+    if (this.added) {
+      // newly added entries are located at the end of the array in an arbitrary order, the merge sort of the
+      // collections framework takes advantage of the remaining sorted runs
+      Arrays.sort(this.sorted, 0, this.size, SORT_ORDER);
+      for (int i = 0; i < this.size; i++) {
+        this.sorted[i].position = i;
+      }
+
+      this.added = false;
+      return;
+    }
+
+    // moved entities are usually only displaced by a few positions
+    for (int i = 1; i < this.size; i++) {
+      final Entry entry = this.sorted[i];
+      int j = i - 1;
+      if (this.sorted[j].sortY <= entry.sortY) {
+        continue;
+      }
+
+      while (j >= 0 && this.sorted[j].sortY > entry.sortY) {
+        this.sorted[j + 1] = this.sorted[j];
+        this.sorted[j + 1].position = j + 1;
+        j--;
+      }
+
+      this.sorted[j + 1] = entry;
+      entry.position = j + 1;
+    }
+  }
+
+  private static final class Entry {
+    private final IEntity entity;
+    private double sortY;
+    private int position;
+    private boolean dirty;
+    private boolean removed;
+
+    private Entry(IEntity entity) {
+      this.entity = entity;
+      this.sortY = getSortY(entity);
+    }
+  }
+}
@@ -20,6 +20,11 @@ public interface IRenderable {
    * This interface can be implemented in general by anything that should be rendered to the game's screen.
    * </p>
    * 
+   * <p>
+   * Implementations that move independently of the game loop's tick rate can use <code>RenderEngine.getInterpolationAlpha()</code>
+   * to interpolate their visual state between two ticks.
+   * </p>
+   * 
    * @param g
    *          The current graphics object onto which this instance will render its visual contents.
    * 
@@ -24,7 +24,7 @@ public final class ImageRenderer {
     }
 
     final AffineTransform t = AffineTransform.getTranslateInstance(x, y);
-    g.drawImage(image, t, null);
+    drawImage(g, image, t);
   }
 
   public static void render(final Graphics2D g, final Image image, final Point2D renderLocation) {
@@ -61,7 +61,7 @@ public final class ImageRenderer {
     t.translate(x, y);
     t.rotate(Math.toRadians(angle), image.getWidth(null) * 0.5, image.getHeight(null) * 0.5);
 
-    g.drawImage(image, t, null);
+    drawImage(g, image, t);
   }
 
   public static void renderRotated(final Graphics2D g, final Image image, final Point2D renderLocation, final double angle) {
@@ -95,7 +95,7 @@ public final class ImageRenderer {
     t.translate(x, y);
     t.scale(scaleX, scaleY);
 
-    g.drawImage(image, t, null);
+    drawImage(g, image, t);
   }
 
   public static void renderTransformed(final Graphics2D g, final Image image, final Point2D renderLocation, AffineTransform transform) {
@@ -112,7 +112,7 @@ public final class ImageRenderer {
     t.translate(x, y);
     t.concatenate(transform);
 
-    g.drawImage(image, t, null);
+    drawImage(g, image, t);
   }
 
   public static void renderTransformed(final Graphics2D g, final Image image, AffineTransform transform) {
@@ -120,6 +120,22 @@ public final class ImageRenderer {
       return;
     }
 
-    g.drawImage(image, transform, null);
+    drawImage(g, image, transform);
+  }
+
+  private static void drawImage(final Graphics2D g, final Image image, final AffineTransform transform) {
+    if (!(image instanceof TextureAtlasPacker.PackedImage)) {
+      g.drawImage(image, transform, null);
+      return;
+    }
+
+    // packed images are drawn from the region of their atlas page so that Java2D only manages the surface of the page
+    final TextureAtlasPacker.PackedImage packed = (TextureAtlasPacker.PackedImage) image;
+    final int width = packed.getWidth();
+    final int height = packed.getHeight();
+    final AffineTransform oldTransform = g.getTransform();
+    g.transform(transform);
+    g.drawImage(packed.getPage(), 0, 0, width, height, packed.getPageX(), packed.getPageY(), packed.getPageX() + width, packed.getPageY() + height, null);
+    g.setTransform(oldTransform);
   }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package de.gurkenlabs.litiengine.graphics;
 
 import java.awt.geom.Point2D;
 
+import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.entities.IEntity;
 
 /**
@@ -29,6 +30,7 @@ public class PositionLockCamera extends Camera {
   }
 
   protected Point2D getLockedCameraLocation() {
-    return this.getLockedEntity().getCenter();
+    // follow the entity where it is rendered, which might be an interpolated location
+    return Game.graphics().getRenderCenter(this.getLockedEntity());
   }
 }
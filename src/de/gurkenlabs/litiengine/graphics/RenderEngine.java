@@ -8,9 +8,12 @@ import java.awt.Shape;
 import java.awt.Stroke;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
@@ -20,6 +23,7 @@ import java.util.stream.Collectors;
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.entities.EntityYComparator;
 import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.entities.IMobileEntity;
 import de.gurkenlabs.litiengine.environment.GameWorld;
 import de.gurkenlabs.litiengine.graphics.animation.IEntityAnimationController;
 
@@ -49,6 +53,14 @@ public final class RenderEngine {
 
   private float baseRenderScale = DEFAULT_RENDERSCALE;
 
+  private volatile boolean snapshotRendering;
+  private volatile boolean interpolating;
+  private volatile PublishedSnapshots published;
+
+  // the snapshots and the interpolation alpha are determined once per frame on the render loop
+  private PublishedSnapshots frameSnapshots;
+  private double interpolationAlpha = 1;
+
   /**
    * Instantiates a new RenderEngine instance.
    * 
@@ -211,15 +223,20 @@ public final class RenderEngine {
   }
 
   public void renderEntities(final Graphics2D g, final Collection<? extends IEntity> entities, final boolean sort) {
+    final PublishedSnapshots snapshots = this.getRenderedSnapshots();
+    if (snapshots != null) {
+      this.renderEntities(g, snapshots, entities, sort);
+      return;
+    }
+
     // in order to render the entities in a 2.5D manner, we sort them by their
     // max Y Coordinate
 
     final List<? extends IEntity> entitiesToRender = entities.stream().filter(x -> Game.world().camera().getViewport().intersects(x.getBoundingBox())).collect(Collectors.toList());
 
     if (sort) {
-      // THIS COSTS THE MOST TIME OF THE RENDERING LOOP... MAYBE USE A
-      // BETTER DATASTRUCTURE FOR THE (HEAP)
-      // AND UPDATE THE HEAP WHENEVER AN ENTITY MOVES.
+      // sorting all entities every frame is expensive; persistent collections of entities should be rendered from an
+      // EntityRenderList, which only repairs the order when entities move
       try {
         Collections.sort(entitiesToRender, this.entityComparator);
       } catch (final IllegalArgumentException e) {
@@ -236,6 +253,28 @@ public final class RenderEngine {
     }
   }
 
+  /**
+   * Renders the visible entities of the specified list in their depth order.
+   * 
+   * @param g
+   *          The graphics object to render on.
+   * @param entities
+   *          The depth sorted entities to render.
+   * 
+   * @see EntityRenderList
+   */
+  public void renderEntities(final Graphics2D g, final EntityRenderList entities) {
+    final PublishedSnapshots snapshots = this.getRenderedSnapshots();
+    if (snapshots != null) {
+      this.renderEntities(g, snapshots, entities);
+      return;
+    }
+
+    for (final IEntity entity : entities.getEntities(Game.world().camera().getViewport())) {
+      this.renderEntity(g, entity);
+    }
+  }
+
   public void renderEntities(final Graphics2D g, final Collection<? extends IEntity> entities, final boolean sort, final Shape clip) {
     // set render shape according to the vision
     final Shape oldClip = g.getClip();
@@ -258,6 +297,12 @@ public final class RenderEngine {
       return;
     }
 
+    final PublishedSnapshots snapshots = this.getRenderedSnapshots();
+    if (snapshots != null) {
+      this.renderEntity(g, this.getState(snapshots, entity));
+      return;
+    }
+
     if (entity.getRenderType() == RenderType.NONE || !this.canRender(entity)) {
       return;
     }
@@ -273,29 +318,158 @@ public final class RenderEngine {
         return;
       }
 
-      if (animationController.isAutoScaling()) {
-        final double ratioX = entity.getWidth() / img.getWidth();
-        final double ratioY = entity.getHeight() / img.getHeight();
-        ImageRenderer.renderScaled(g, img, Game.world().camera().getViewportLocation(entity.getLocation()), ratioX, ratioY);
-      } else {
-        double deltaX = (entity.getWidth() - img.getWidth()) / 2.0;
-        double deltaY = (entity.getHeight() - img.getHeight()) / 2.0;
+      renderSprite(g, img, entity.getX(), entity.getY(), entity.getWidth(), entity.getHeight(), animationController.isAutoScaling(), animationController.getAffineTransform());
+    }
 
-        ImageRenderer.renderTransformed(g, img, Game.world().camera().getViewportLocation(entity.getX() + deltaX, entity.getY() + deltaY), animationController.getAffineTransform());
-      }
+    this.finishRendering(g, entity, renderEvent);
+  }
+
+  /**
+   * Gets the latest snapshot that was published by the game loop.
+   * 
+   * @return The latest render snapshot or null if snapshot rendering is disabled or no snapshot was published yet.
+   * 
+   * @see #setSnapshotRendering(boolean)
+   */
+  public RenderSnapshot getSnapshot() {
+    final PublishedSnapshots snapshots = this.published;
+    return snapshots != null ? snapshots.current : null;
+  }
+
+  /**
+   * Gets the fraction of the current game loop tick that has elapsed when the current frame was started. Entities are
+   * rendered at this fraction between their previous and their current location if interpolation is enabled.
+   * 
+   * <p>
+   * Custom <code>IRenderable</code> implementations can use this value to interpolate their own visual state.
+   * </p>
+   * 
+   * @return The interpolation alpha between 0 and 1 or 1 if interpolation is disabled.
+   * 
+   * @see #setInterpolating(boolean)
+   */
+  public double getInterpolationAlpha() {
+    return this.interpolationAlpha;
+  }
+
+  /**
+   * Gets the center of the specified entity at which it is rendered in the current frame.
+   * 
+   * @param entity
+   *          The entity.
+   * @return The rendered center of the entity which is its interpolated center if interpolation is enabled.
+   */
+  public Point2D getRenderCenter(final IEntity entity) {
+    final PublishedSnapshots snapshots = this.getRenderedSnapshots();
+    if (snapshots == null) {
+      return entity.getCenter();
     }
 
-    if (entity instanceof IRenderable) {
-      ((IRenderable) entity).render(g);
+    return this.getState(snapshots, entity).getCenter();
+  }
+
+  /**
+   * Indicates whether mobile entities are rendered at interpolated locations between the last two game loop ticks.
+   * 
+   * @return True if interpolation is enabled; otherwise false.
+   */
+  public boolean isInterpolating() {
+    return this.interpolating;
+  }
+
+  /**
+   * Indicates whether entities are rendered from the snapshots published by the game loop instead of their live state.
+   * 
+   * @return True if snapshot rendering is enabled; otherwise false.
+   */
+  public boolean isSnapshotRendering() {
+    return this.snapshotRendering;
+  }
+
+  /**
+   * Publishes the specified snapshot that is used for all subsequent entity rendering until the next snapshot is
+   * published. Snapshots are ignored while snapshot rendering is disabled.
+   * 
+   * <p>
+   * <i>This is called by the game loop at the end of each tick.</i>
+   * </p>
+   * 
+   * @param renderSnapshot
+   *          The snapshot to be published.
+   */
+  public void publish(RenderSnapshot renderSnapshot) {
+    if (this.snapshotRendering) {
+      final PublishedSnapshots previous = this.published;
+      this.published = new PublishedSnapshots(previous != null ? previous.current : null, renderSnapshot);
     }
+  }
 
-    if (!this.entityRenderedConsumer.isEmpty()) {
-      for (final Consumer<RenderEvent<IEntity>> consumer : this.entityRenderedConsumer) {
-        consumer.accept(renderEvent);
-      }
+  /**
+   * Enables or disables the interpolation of mobile entities. If enabled, mobile entities are rendered between their
+   * locations of the last two published snapshots by the fraction of the elapsed tick time. This allows for smooth
+   * movement when the render loop runs at a higher rate than the game loop, at the cost of rendering the entities one
+   * tick behind their actual state.
+   * 
+   * <p>
+   * Interpolation requires snapshot rendering which is enabled along with it.
+   * </p>
+   * 
+   * @param interpolating
+   *          True to interpolate the location of mobile entities; otherwise false.
+   * 
+   * @see #getInterpolationAlpha()
+   * @see #setSnapshotRendering(boolean)
+   */
+  public void setInterpolating(boolean interpolating) {
+    if (interpolating) {
+      this.setSnapshotRendering(true);
+    }
+
+    this.interpolating = interpolating;
+  }
+
+  /**
+   * Enables or disables rendering entities from snapshots. If enabled, the game loop publishes an immutable snapshot of
+   * the entities' render state at the end of each tick and the render loop draws the entities from the latest snapshot.
+   * This prevents the rendering from observing entities while they're being updated at the cost of capturing the
+   * snapshot on the game loop.
+   * 
+   * <p>
+   * Entities that are not part of the latest snapshot are rendered from their live state. Render listeners and the
+   * <code>render</code> method of <code>IRenderable</code> entities are still called with the live entities.
+   * </p>
+   * 
+   * <p>
+   * Captured entities are culled by their captured location, so an entity that was moved after the snapshot was
+   * published, e.g. by a teleport, is still rendered where it was captured until the next snapshot is published.
+   * </p>
+   * 
+   * @param snapshotRendering
+   *          True to render entities from snapshots; false to render their live state.
+   * 
+   * @see RenderSnapshot
+   */
+  public void setSnapshotRendering(boolean snapshotRendering) {
+    this.snapshotRendering = snapshotRendering;
+    if (!snapshotRendering) {
+      this.interpolating = false;
+      this.published = null;
     }
   }
 
+  /**
+   * Determines the snapshots and the interpolation alpha that are used to render the upcoming frame.
+   * 
+   * <p>
+   * <i>This is called by the render loop before each frame.</i>
+   * </p>
+   */
+  public void updateInterpolation() {
+    final PublishedSnapshots snapshots = this.published;
+    this.frameSnapshots = snapshots;
+    this.interpolationAlpha = this.interpolating && snapshots != null ? snapshots.getAlpha(System.nanoTime()) : 1;
+  }
+
   /**
    * Sets the global base scale that is used to calculate the actual render scale of the game.
    * 
@@ -307,4 +481,175 @@ public final class RenderEngine {
   public void setBaseRenderScale(float scale) {
     this.baseRenderScale = scale;
   }
+
+  private void renderEntities(final Graphics2D g, final PublishedSnapshots snapshots, final Collection<? extends IEntity> entities, final boolean sort) {
+    final Rectangle2D viewport = Game.world().camera().getViewport();
+    final List<RenderSnapshot.EntityState> statesToRender = new ArrayList<>();
+    for (final IEntity entity : entities) {
+      final RenderSnapshot.EntityState state = this.getState(snapshots, entity);
+      if (viewport.intersects(state.getX(), state.getY(), state.getWidth(), state.getHeight())) {
+        statesToRender.add(state);
+      }
+    }
+
+    // the captured states don't change while sorting, so the order is always consistent
+    if (sort) {
+      statesToRender.sort(Comparator.comparingDouble(RenderSnapshot.EntityState::getSortY));
+    }
+
+    for (final RenderSnapshot.EntityState state : statesToRender) {
+      this.renderEntity(g, state);
+    }
+  }
+
+  private void renderEntities(final Graphics2D g, final PublishedSnapshots snapshots, final EntityRenderList entities) {
+    // the captured locations differ from the live locations, so a sorted list only provides an almost sorted order that
+    // is repaired by an insertion sort of the visible states
+    final Rectangle2D viewport = Game.world().camera().getViewport();
+    final List<RenderSnapshot.EntityState> statesToRender = new ArrayList<>();
+    for (final IEntity entity : entities.getEntities(viewport, snapshots.getCapturedEntities(viewport))) {
+      final RenderSnapshot.EntityState state = this.getState(snapshots, entity);
+      if (!viewport.intersects(state.getX(), state.getY(), state.getWidth(), state.getHeight())) {
+        continue;
+      }
+
+      if (!entities.isSorting()) {
+        statesToRender.add(state);
+        continue;
+      }
+
+      int i = statesToRender.size();
+      statesToRender.add(state);
+      while (i > 0 && statesToRender.get(i - 1).getSortY() > state.getSortY()) {
+        statesToRender.set(i, statesToRender.get(i - 1));
+        i--;
+      }
+
+      statesToRender.set(i, state);
+    }
+
+    for (final RenderSnapshot.EntityState state : statesToRender) {
+      this.renderEntity(g, state);
+    }
+  }
+
+  private void renderEntity(final Graphics2D g, final RenderSnapshot.EntityState state) {
+    final IEntity entity = state.getEntity();
+    if (state.getRenderType() == RenderType.NONE || !this.canRender(entity)) {
+      return;
+    }
+
+    final RenderEvent<IEntity> renderEvent = new RenderEvent<>(g, entity);
+    for (final Consumer<RenderEvent<IEntity>> consumer : this.entityRenderingConsumer) {
+      consumer.accept(renderEvent);
+    }
+
+    if (state.isAnimated()) {
+      final BufferedImage img = state.getSprite();
+      if (img == null) {
+        return;
+      }
+
+      renderSprite(g, img, state.getX(), state.getY(), state.getWidth(), state.getHeight(), state.isAutoScaling(), state.getTransform());
+    }
+
+    this.finishRendering(g, entity, renderEvent);
+  }
+
+  private void finishRendering(final Graphics2D g, final IEntity entity, final RenderEvent<IEntity> renderEvent) {
+    if (entity instanceof IRenderable) {
+      ((IRenderable) entity).render(g);
+    }
+
+    if (!this.entityRenderedConsumer.isEmpty()) {
+      for (final Consumer<RenderEvent<IEntity>> consumer : this.entityRenderedConsumer) {
+        consumer.accept(renderEvent);
+      }
+    }
+  }
+
+  private static void renderSprite(final Graphics2D g, final BufferedImage img, double x, double y, double width, double height, boolean autoScaling, AffineTransform transform) {
+    if (autoScaling) {
+      final double ratioX = width / img.getWidth();
+      final double ratioY = height / img.getHeight();
+      ImageRenderer.renderScaled(g, img, Game.world().camera().getViewportLocation(x, y), ratioX, ratioY);
+    } else {
+      double deltaX = (width - img.getWidth()) / 2.0;
+      double deltaY = (height - img.getHeight()) / 2.0;
+
+      ImageRenderer.renderTransformed(g, img, Game.world().camera().getViewportLocation(x + deltaX, y + deltaY), transform);
+    }
+  }
+
+  private PublishedSnapshots getRenderedSnapshots() {
+    // while interpolating, the whole frame is rendered from the snapshots that the alpha was determined for
+    final PublishedSnapshots snapshots = this.frameSnapshots;
+    return this.interpolating && snapshots != null ? snapshots : this.published;
+  }
+
+  private RenderSnapshot.EntityState getState(final PublishedSnapshots snapshots, final IEntity entity) {
+    // entities that were added after the snapshot was published are captured on demand
+    final RenderSnapshot.EntityState state = snapshots.current.get(entity);
+    if (state == null) {
+      return new RenderSnapshot.EntityState(entity);
+    }
+
+    if (!this.interpolating || snapshots.previous == null || !(entity instanceof IMobileEntity)) {
+      return state;
+    }
+
+    return state.interpolate(snapshots.previous.get(entity), this.interpolationAlpha);
+  }
+
+  private static final class PublishedSnapshots {
+    private final RenderSnapshot previous;
+    private final RenderSnapshot current;
+
+    // the visible captured entities are only determined once per frame for all render lists
+    private Rectangle2D capturedViewport;
+    private List<IEntity> capturedEntities;
+
+    private PublishedSnapshots(RenderSnapshot previous, RenderSnapshot current) {
+      this.previous = previous;
+      this.current = current;
+    }
+
+    private double getAlpha(long time) {
+      if (this.previous == null) {
+        return 1;
+      }
+
+      // the time between the last two snapshots is the duration of the current tick
+      final long tickTime = this.current.getTime() - this.previous.getTime();
+      if (tickTime <= 0) {
+        return 1;
+      }
+
+      return Math.min(1, Math.max(0, (time - this.current.getTime()) / (double) tickTime));
+    }
+
+    private List<IEntity> getCapturedEntities(Rectangle2D viewport) {
+      // the live locations by which the render lists cull their entities may differ arbitrarily from the captured
+      // locations, e.g. for teleported entities, so the entities that are visible in the snapshots are provided as well
+      if (this.capturedEntities != null && this.capturedViewport.equals(viewport)) {
+        return this.capturedEntities;
+      }
+
+      final List<IEntity> visible = new ArrayList<>();
+      for (final RenderSnapshot.EntityState state : this.current.getStates()) {
+        // interpolated locations lie between the previous and the current location
+        if (intersects(viewport, state) || this.previous != null && intersects(viewport, this.previous.get(state.getEntity()))) {
+          visible.add(state.getEntity());
+        }
+      }
+
+      this.capturedViewport = viewport;
+      this.capturedEntities = visible;
+      return visible;
+    }
+
+    private static boolean intersects(Rectangle2D viewport, RenderSnapshot.EntityState state) {
+      return state != null && viewport.intersects(state.getX(), state.getY(), state.getWidth(), state.getHeight());
+    }
+  }
 }
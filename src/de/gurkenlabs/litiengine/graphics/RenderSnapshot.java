@@ -0,0 +1,235 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.graphics.animation.IEntityAnimationController;
+
+/**
+ * An immutable copy of the render relevant state of entities at the end of a tick of the game loop.
+ * <p>
+ * The render loop draws the entities from the latest published snapshot instead of their live state and therefore
+ * never observes entities while the game loop is updating them.
+ * </p>
+ *
+ * @see RenderEngine#setSnapshotRendering(boolean)
+ * @see RenderEngine#publish(RenderSnapshot)
+ */
+public final class RenderSnapshot {
+  private final Map<IEntity, EntityState> states;
+  private final long tick;
+  private final long time;
+
+  /**
+   * Initializes a new instance of the <code>RenderSnapshot</code> class by capturing the state of the specified
+   * entities. Entities with the <code>RenderType.NONE</code> are not captured.
+   *
+   * @param entities
+   *          The entities to capture.
+   * @param tick
+   *          The tick of the game loop at which the snapshot is captured.
+   */
+  public RenderSnapshot(Collection<? extends IEntity> entities, long tick) {
+    final Map<IEntity, EntityState> captured = new IdentityHashMap<>(entities.size() * 4 / 3 + 1);
+    for (IEntity entity : entities) {
+      if (entity != null && entity.getRenderType() != RenderType.NONE) {
+        captured.put(entity, new EntityState(entity));
+      }
+    }
+
+    this.states = Collections.unmodifiableMap(captured);
+    this.tick = tick;
+    this.time = System.nanoTime();
+  }
+
+  /**
+   * Gets the captured state of the specified entity.
+   *
+   * @param entity
+   *          The entity.
+   * @return The captured state or null if the entity is not part of this snapshot.
+   */
+  public EntityState get(IEntity entity) {
+    return this.states.get(entity);
+  }
+
+  public Collection<EntityState> getStates() {
+    return this.states.values();
+  }
+
+  public long getTick() {
+    return this.tick;
+  }
+
+  /**
+   * Gets the value of <code>System.nanoTime()</code> at which this snapshot was captured.
+   *
+   * @return The capture time of this snapshot in nanoseconds.
+   */
+  public long getTime() {
+    return this.time;
+  }
+
+  public int size() {
+    return this.states.size();
+  }
+
+  /**
+   * The render relevant state of a single entity.
+   */
+  public static final class EntityState {
+    private final IEntity entity;
+    private final RenderType renderType;
+    private final double x;
+    private final double y;
+    private final double width;
+    private final double height;
+    private final double angle;
+    private final double sortY;
+    private final boolean animated;
+    private final BufferedImage sprite;
+    private final AffineTransform transform;
+    private final boolean autoScaling;
+
+    /**
+     * Captures the current state of the specified entity.
+     *
+     * @param entity
+     *          The entity to capture.
+     */
+    public EntityState(IEntity entity) {
+      this.entity = entity;
+      this.renderType = entity.getRenderType();
+      this.x = entity.getX();
+      this.y = entity.getY();
+      this.width = entity.getWidth();
+      this.height = entity.getHeight();
+      this.angle = entity.getAngle();
+
+      this.sortY = EntityRenderList.getSortY(entity);
+
+      final IEntityAnimationController<?> animationController = entity.animations();
+      this.animated = animationController != null;
+      if (animationController != null) {
+        final AffineTransform animationTransform = animationController.getAffineTransform();
+        this.sprite = animationController.getCurrentSprite();
+        this.transform = animationTransform != null ? new AffineTransform(animationTransform) : null;
+        this.autoScaling = animationController.isAutoScaling();
+      } else {
+        this.sprite = null;
+        this.transform = null;
+        this.autoScaling = false;
+      }
+    }
+
+    private EntityState(EntityState state, double x, double y) {
+      this.entity = state.entity;
+      this.renderType = state.renderType;
+      this.x = x;
+      this.y = y;
+      this.width = state.width;
+      this.height = state.height;
+      this.angle = state.angle;
+      this.sortY = state.sortY + y - state.y;
+      this.animated = state.animated;
+      this.sprite = state.sprite;
+      this.transform = state.transform;
+      this.autoScaling = state.autoScaling;
+    }
+
+    /**
+     * Interpolates the location between the specified previous state and this state.
+     *
+     * @param previous
+     *          The state of the entity in the previous snapshot.
+     * @param alpha
+     *          The interpolation factor between 0 (the previous state) and 1 (this state).
+     * @return A state with the interpolated location and all other properties of this state.
+     */
+    public EntityState interpolate(EntityState previous, double alpha) {
+      if (previous == null || alpha >= 1 || previous.x == this.x && previous.y == this.y) {
+        return this;
+      }
+
+      return new EntityState(this, previous.x + (this.x - previous.x) * alpha, previous.y + (this.y - previous.y) * alpha);
+    }
+
+    public IEntity getEntity() {
+      return this.entity;
+    }
+
+    public RenderType getRenderType() {
+      return this.renderType;
+    }
+
+    public double getX() {
+      return this.x;
+    }
+
+    public double getY() {
+      return this.y;
+    }
+
+    public double getWidth() {
+      return this.width;
+    }
+
+    public double getHeight() {
+      return this.height;
+    }
+
+    public double getAngle() {
+      return this.angle;
+    }
+
+    public Rectangle2D getBoundingBox() {
+      return new Rectangle2D.Double(this.x, this.y, this.width, this.height);
+    }
+
+    public Point2D getCenter() {
+      return new Point2D.Double(this.x + this.width * 0.5, this.y + this.height * 0.5);
+    }
+
+    /**
+     * Gets the y-coordinate by which the entity is sorted when rendering entities in a 2.5D manner.
+     *
+     * @return The maximum y-coordinate of the entity's collision box or bounding box.
+     */
+    public double getSortY() {
+      return this.sortY;
+    }
+
+    /**
+     * Indicates whether the entity provided an animation controller when it was captured.
+     *
+     * @return True if the entity is rendered by its animation controller; otherwise false.
+     */
+    public boolean isAnimated() {
+      return this.animated;
+    }
+
+    public BufferedImage getSprite() {
+      return this.sprite;
+    }
+
+    /**
+     * Gets a copy of the animation controller's affine transform at the time of the capture.
+     *
+     * @return The transform or null if the animation controller didn't provide any.
+     */
+    public AffineTransform getTransform() {
+      return this.transform != null ? new AffineTransform(this.transform) : null;
+    }
+
+    public boolean isAutoScaling() {
+      return this.autoScaling;
+    }
+  }
+}
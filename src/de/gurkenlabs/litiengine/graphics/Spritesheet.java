@@ -17,11 +17,14 @@ public final class Spritesheet {
 
   private final List<Integer> emptySprites = new CopyOnWriteArrayList<>();
 
-  private final BufferedImage image;
   private final String name;
   private final ImageFormat imageFormat;
 
+  private BufferedImage image;
   private BufferedImage[] sprites;
+  private BufferedImage atlasPage;
+  private int atlasX;
+  private int atlasY;
   private int columns;
   private int rows;
   private int spriteHeight;
@@ -79,6 +82,11 @@ public final class Spritesheet {
     return scaled;
   }
 
+  /**
+   * Gets the image of this spritesheet. After the spritesheet was packed, this is the region of its atlas page.
+   * 
+   * @return The image that contains all sprites of this spritesheet.
+   */
   public BufferedImage getImage() {
     return this.image;
   }
@@ -121,7 +129,7 @@ public final class Spritesheet {
 
     final Point position = this.getLocation(index, margin, spacing);
     try {
-      final BufferedImage sprite = this.getImage().getSubimage(position.x, position.y, this.spriteWidth, this.spriteHeight);
+      final BufferedImage sprite = this.atlasPage != null ? this.getPackedSprite(position) : this.getImage().getSubimage(position.x, position.y, this.spriteWidth, this.spriteHeight);
       if (Imaging.isEmpty(sprite)) {
         emptySprites.add(index);
         return null;
@@ -162,6 +170,17 @@ public final class Spritesheet {
     return this.getRows() * this.getColumns();
   }
 
+  /**
+   * Indicates whether the image of this spritesheet was packed into a runtime texture atlas.
+   *
+   * @return True if the sprites are provided from an atlas page; otherwise false.
+   * 
+   * @see TextureAtlasPacker
+   */
+  public boolean isPacked() {
+    return this.atlasPage != null;
+  }
+
   public boolean isLoaded() {
     return Resources.spritesheets().contains(this.getName());
   }
@@ -180,6 +199,16 @@ public final class Spritesheet {
     this.updateRowsAndCols();
   }
 
+  void setAtlasRegion(BufferedImage page, int x, int y) {
+    this.atlasPage = page;
+    this.atlasX = x;
+    this.atlasY = y;
+
+    // the original image is released, sprites that were already provided are views of it
+    this.image = new TextureAtlasPacker.PackedImage(page, x, y, this.image.getWidth(), this.image.getHeight());
+    this.sprites = new BufferedImage[this.getTotalNumberOfSprites()];
+  }
+
   private void checkWidth(int value) {
     checkDimension(value, this.getImage().getWidth(), "width");
   }
@@ -216,6 +245,15 @@ public final class Spritesheet {
     return new Point(margin + column * (this.getSpriteWidth() + spacing), margin + row * (this.getSpriteHeight() + spacing));
   }
 
+  private BufferedImage getPackedSprite(Point position) {
+    // the atlas page contains other images next to the region of this spritesheet
+    if (position.x + this.spriteWidth > this.getImage().getWidth() || position.y + this.spriteHeight > this.getImage().getHeight()) {
+      throw new RasterFormatException("(x + width) or (y + height) is outside of the spritesheet image");
+    }
+
+    return new TextureAtlasPacker.PackedImage(this.atlasPage, this.atlasX + position.x, this.atlasY + position.y, this.spriteWidth, this.spriteHeight);
+  }
+
   private void updateRowsAndCols() {
     final BufferedImage sprite = this.getImage();
     this.columns = sprite.getWidth() / this.spriteWidth;
@@ -15,6 +15,10 @@ public class StaticShadowLayer extends ColorLayer {
     super(env, color);
   }
 
+  public StaticShadowLayer(Environment env, Color color, int downscale) {
+    super(env, color, downscale);
+  }
+
   @Override
   protected void renderSection(Graphics2D g, Rectangle2D section) {
     final Color color = this.getColor();
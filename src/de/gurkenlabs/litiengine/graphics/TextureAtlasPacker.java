@@ -0,0 +1,318 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import de.gurkenlabs.litiengine.util.Imaging;
+
+/**
+ * Packs the images of multiple spritesheets into a few large atlas pages at runtime.
+ * <p>
+ * Rendering sprites from a few large images allows Java2D to keep the source surfaces in accelerated memory instead of
+ * switching between hundreds of small images. After packing, the image and the sprites of a spritesheet are provided as
+ * regions of its atlas page that share the pixels of the page. The <code>ImageRenderer</code> draws these regions
+ * directly from the page and the original image of the spritesheet is released.
+ * </p>
+ * <p>
+ * The images are placed by the <i>maximal rectangles</i> algorithm with the <i>best short side fit</i> heuristic.
+ * Spritesheets that don't fit on a single page are not packed and keep their own image.
+ * </p>
+ *
+ * @see Spritesheet#isPacked()
+ * @see de.gurkenlabs.litiengine.resources.Spritesheets#pack()
+ */
+public final class TextureAtlasPacker {
+  public static final int DEFAULT_PAGE_SIZE = 2048;
+  public static final int DEFAULT_PADDING = 1;
+
+  private final int pageWidth;
+  private final int pageHeight;
+  private final int padding;
+
+  public TextureAtlasPacker() {
+    this(DEFAULT_PAGE_SIZE, DEFAULT_PAGE_SIZE, DEFAULT_PADDING);
+  }
+
+  /**
+   * Initializes a new instance of the <code>TextureAtlasPacker</code> class.
+   *
+   * @param pageWidth
+   *          The maximum width of an atlas page.
+   * @param pageHeight
+   *          The maximum height of an atlas page.
+   * @param padding
+   *          The number of transparent pixels between two images on a page.
+   */
+  public TextureAtlasPacker(int pageWidth, int pageHeight, int padding) {
+    if (pageWidth <= 0 || pageHeight <= 0) {
+      throw new IllegalArgumentException("The size of an atlas page must be greater than zero.");
+    }
+
+    if (padding < 0) {
+      throw new IllegalArgumentException("The padding between packed images must not be negative.");
+    }
+
+    this.pageWidth = pageWidth;
+    this.pageHeight = pageHeight;
+    this.padding = padding;
+  }
+
+  public int getPageWidth() {
+    return this.pageWidth;
+  }
+
+  public int getPageHeight() {
+    return this.pageHeight;
+  }
+
+  public int getPadding() {
+    return this.padding;
+  }
+
+  /**
+   * Packs the images of the specified spritesheets into atlas pages and lets the spritesheets provide their sprites
+   * from the regions of these pages. Spritesheets that are already packed or that are too large for a page are skipped.
+   *
+   * @param spritesheets
+   *          The spritesheets to pack.
+   * @return The atlas pages that were created.
+   */
+  public List<Page> pack(Collection<Spritesheet> spritesheets) {
+    final List<Spritesheet> candidates = new ArrayList<>();
+    for (Spritesheet spritesheet : spritesheets) {
+      final BufferedImage image = spritesheet.getImage();
+      if (!spritesheet.isPacked() && image.getWidth() + this.padding <= this.pageWidth && image.getHeight() + this.padding <= this.pageHeight) {
+        candidates.add(spritesheet);
+      }
+    }
+
+    // placing large images first leaves the small images to fill the gaps
+    candidates.sort(Comparator.comparingInt((Spritesheet s) -> Math.max(s.getImage().getWidth(), s.getImage().getHeight()))
+        .thenComparingInt(s -> Math.min(s.getImage().getWidth(), s.getImage().getHeight())).reversed());
+
+    final List<Bin> bins = new ArrayList<>();
+    for (Spritesheet spritesheet : candidates) {
+      final int width = spritesheet.getImage().getWidth() + this.padding;
+      final int height = spritesheet.getImage().getHeight() + this.padding;
+      Rectangle node = null;
+      for (Bin bin : bins) {
+        node = bin.insert(spritesheet, width, height);
+        if (node != null) {
+          break;
+        }
+      }
+
+      if (node == null) {
+        final Bin bin = new Bin(this.pageWidth, this.pageHeight);
+        bin.insert(spritesheet, width, height);
+        bins.add(bin);
+      }
+    }
+
+    final List<Page> pages = new ArrayList<>(bins.size());
+    for (Bin bin : bins) {
+      pages.add(this.createPage(bin));
+    }
+
+    return pages;
+  }
+
+  private Page createPage(Bin bin) {
+    // the page is cropped to the area that is actually occupied
+    int width = 0;
+    int height = 0;
+    for (Rectangle node : bin.nodes.values()) {
+      width = Math.max(width, node.x + node.width - this.padding);
+      height = Math.max(height, node.y + node.height - this.padding);
+    }
+
+    final BufferedImage image = Imaging.getCompatibleImage(width, height);
+    final Map<Spritesheet, Rectangle> regions = new IdentityHashMap<>();
+    final Graphics2D g = image.createGraphics();
+    for (Map.Entry<Spritesheet, Rectangle> entry : bin.nodes.entrySet()) {
+      final Spritesheet spritesheet = entry.getKey();
+      final Rectangle node = entry.getValue();
+      g.drawImage(spritesheet.getImage(), node.x, node.y, null);
+      regions.put(spritesheet, new Rectangle(node.x, node.y, spritesheet.getImage().getWidth(), spritesheet.getImage().getHeight()));
+    }
+
+    g.dispose();
+
+    for (Map.Entry<Spritesheet, Rectangle> region : regions.entrySet()) {
+      region.getKey().setAtlasRegion(image, region.getValue().x, region.getValue().y);
+    }
+
+    return new Page(image, regions);
+  }
+
+  /**
+   * A single image of a runtime texture atlas that contains the images of multiple spritesheets.
+   */
+  public static final class Page {
+    private final BufferedImage image;
+    private final Map<Spritesheet, Rectangle> regions;
+
+    private Page(BufferedImage image, Map<Spritesheet, Rectangle> regions) {
+      this.image = image;
+      this.regions = Collections.unmodifiableMap(regions);
+    }
+
+    public BufferedImage getImage() {
+      return this.image;
+    }
+
+    public Collection<Spritesheet> getSpritesheets() {
+      return this.regions.keySet();
+    }
+
+    /**
+     * Gets the region of this page that holds the image of the specified spritesheet.
+     *
+     * @param spritesheet
+     *          The spritesheet.
+     * @return The region of the spritesheet's image or null if it is not located on this page.
+     */
+    public Rectangle getRegion(Spritesheet spritesheet) {
+      final Rectangle region = this.regions.get(spritesheet);
+      return region != null ? new Rectangle(region) : null;
+    }
+
+    /**
+     * Gets the share of the page's pixels that are occupied by the images of spritesheets.
+     *
+     * @return The occupancy between 0 and 1.
+     */
+    public double getOccupancy() {
+      long used = 0;
+      for (Rectangle region : this.regions.values()) {
+        used += (long) region.width * region.height;
+      }
+
+      return used / ((double) this.image.getWidth() * this.image.getHeight());
+    }
+  }
+
+  /**
+   * A region of an atlas page that shares the pixels of the page.
+   */
+  static final class PackedImage extends BufferedImage {
+    private final BufferedImage page;
+    private final int pageX;
+    private final int pageY;
+
+    PackedImage(BufferedImage page, int x, int y, int width, int height) {
+      super(page.getColorModel(), page.getRaster().createWritableChild(x, y, width, height, 0, 0, null), page.isAlphaPremultiplied(), null);
+      this.page = page;
+      this.pageX = x;
+      this.pageY = y;
+    }
+
+    BufferedImage getPage() {
+      return this.page;
+    }
+
+    int getPageX() {
+      return this.pageX;
+    }
+
+    int getPageY() {
+      return this.pageY;
+    }
+  }
+
+  private static final class Bin {
+    private final List<Rectangle> freeRectangles = new ArrayList<>();
+    private final Map<Spritesheet, Rectangle> nodes = new IdentityHashMap<>();
+
+    private Bin(int width, int height) {
+      this.freeRectangles.add(new Rectangle(0, 0, width, height));
+    }
+
+    private Rectangle insert(Spritesheet spritesheet, int width, int height) {
+      Rectangle best = null;
+      int bestShortSide = Integer.MAX_VALUE;
+      int bestLongSide = Integer.MAX_VALUE;
+      for (Rectangle free : this.freeRectangles) {
+        if (free.width < width || free.height < height) {
+          continue;
+        }
+
+        final int leftoverX = free.width - width;
+        final int leftoverY = free.height - height;
+        final int shortSide = Math.min(leftoverX, leftoverY);
+        final int longSide = Math.max(leftoverX, leftoverY);
+        if (shortSide < bestShortSide || shortSide == bestShortSide && longSide < bestLongSide) {
+          best = new Rectangle(free.x, free.y, width, height);
+          bestShortSide = shortSide;
+          bestLongSide = longSide;
+        }
+      }
+
+      if (best == null) {
+        return null;
+      }
+
+      this.split(best);
+      this.prune();
+      this.nodes.put(spritesheet, best);
+      return best;
+    }
+
+    private void split(Rectangle node) {
+      final List<Rectangle> created = new ArrayList<>();
+      final Iterator<Rectangle> iter = this.freeRectangles.iterator();
+      while (iter.hasNext()) {
+        final Rectangle free = iter.next();
+        if (!free.intersects(node)) {
+          continue;
+        }
+
+        iter.remove();
+        if (node.x > free.x) {
+          created.add(new Rectangle(free.x, free.y, node.x - free.x, free.height));
+        }
+
+        if (node.x + node.width < free.x + free.width) {
+          created.add(new Rectangle(node.x + node.width, free.y, free.x + free.width - node.x - node.width, free.height));
+        }
+
+        if (node.y > free.y) {
+          created.add(new Rectangle(free.x, free.y, free.width, node.y - free.y));
+        }
+
+        if (node.y + node.height < free.y + free.height) {
+          created.add(new Rectangle(free.x, node.y + node.height, free.width, free.y + free.height - node.y - node.height));
+        }
+      }
+
+      this.freeRectangles.addAll(created);
+    }
+
+    private void prune() {
+      // free rectangles that are contained by another free rectangle are redundant
+      for (int i = 0; i < this.freeRectangles.size(); i++) {
+        for (int j = i + 1; j < this.freeRectangles.size(); j++) {
+          final Rectangle first = this.freeRectangles.get(i);
+          final Rectangle second = this.freeRectangles.get(j);
+          if (second.contains(first)) {
+            this.freeRectangles.remove(i--);
+            break;
+          }
+
+          if (first.contains(second)) {
+            this.freeRectangles.remove(j--);
+          }
+        }
+      }
+    }
+  }
+}
@@ -6,6 +6,7 @@ import java.util.Collection;
 import java.util.List;
 
 import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.UpdatePhase;
 import de.gurkenlabs.litiengine.graphics.ImageEffect;
 
 public interface IAnimationController extends IUpdateable {
@@ -50,4 +51,9 @@ public interface IAnimationController extends IUpdateable {
   public boolean isEnabled();
 
   public void setEnabled(boolean enabled);
+
+  @Override
+  public default UpdatePhase getUpdatePhase() {
+    return UpdatePhase.ANIMATION;
+  }
 }
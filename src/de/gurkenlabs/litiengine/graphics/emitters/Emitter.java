@@ -17,6 +17,7 @@ import de.gurkenlabs.litiengine.Align;
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.ITimeToLive;
 import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.UpdatePhase;
 import de.gurkenlabs.litiengine.Valign;
 import de.gurkenlabs.litiengine.annotation.CollisionInfo;
 import de.gurkenlabs.litiengine.annotation.EmitterInfo;
@@ -366,6 +367,11 @@ public abstract class Emitter extends Entity implements IUpdateable, ITimeToLive
     this.stopped = !this.stopped;
   }
 
+  @Override
+  public UpdatePhase getUpdatePhase() {
+    return UpdatePhase.EMITTERS;
+  }
+
   @Override
   public void update() {
     if (this.isPaused()) {
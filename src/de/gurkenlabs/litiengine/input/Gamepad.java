@@ -10,6 +10,7 @@ import java.util.function.Consumer;
 
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.UpdatePhase;
 import net.java.games.input.Component;
 import net.java.games.input.Component.Identifier;
 import net.java.games.input.Controller;
@@ -125,6 +126,11 @@ public class Gamepad implements GamepadEvents, IUpdateable {
     this.triggerDeadzone = gamepadTriggerDeadzone;
   }
 
+  @Override
+  public UpdatePhase getUpdatePhase() {
+    return UpdatePhase.INPUT;
+  }
+
   @Override
   public void update() {
     final boolean couldPoll = this.controller.poll();
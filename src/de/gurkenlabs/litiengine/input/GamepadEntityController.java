@@ -45,6 +45,12 @@ public class GamepadEntityController<T extends IMobileEntity> extends MovementCo
     super.update();
   }
 
+  @Override
+  protected boolean canSleep() {
+    // the gamepad needs to be polled each tick
+    return false;
+  }
+
   public double getGamepadDeadzone() {
     return this.gamepadDeadzone;
   }
@@ -14,6 +14,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 
 import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.UpdatePhase;
 
 public class Keyboard implements KeyEventDispatcher, IKeyboard {
   private final Collection<KeyListener> keyListeners = ConcurrentHashMap.newKeySet();
@@ -133,6 +134,11 @@ public class Keyboard implements KeyEventDispatcher, IKeyboard {
     this.keyListeners.remove(listener);
   }
 
+  @Override
+  public UpdatePhase getUpdatePhase() {
+    return UpdatePhase.INPUT;
+  }
+
   @Override
   public void update() {
     this.executePressedKeys();
@@ -19,6 +19,7 @@ import javax.swing.SwingUtilities;
 
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.UpdatePhase;
 import de.gurkenlabs.litiengine.environment.tilemap.MapUtilities;
 import de.gurkenlabs.litiengine.util.MathUtilities;
 
@@ -76,6 +77,11 @@ public class Mouse implements IMouse, IUpdateable {
     Game.inputLoop().attach(this);
   }
 
+  @Override
+  public UpdatePhase getUpdatePhase() {
+    return UpdatePhase.INPUT;
+  }
+
   @Override
   public void update() {
     if (this.updateLocation != null && !this.updatingLocation) {
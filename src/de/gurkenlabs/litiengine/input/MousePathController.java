@@ -28,6 +28,7 @@ public class MousePathController extends MovementController<IMobileEntity> {
   public void mousePressed(final MouseEvent e) {
     if (SwingUtilities.isRightMouseButton(e)) {
       this.navigating = true;
+      this.wakeUp();
     }
   }
 
@@ -37,6 +38,12 @@ public class MousePathController extends MovementController<IMobileEntity> {
     }
   }
 
+  @Override
+  protected boolean canSleep() {
+    // the navigation follows the mouse each tick
+    return !this.navigating;
+  }
+
   @Override
   public void update() {
     super.update();
@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
+import de.gurkenlabs.litiengine.UpdatePhase;
 import de.gurkenlabs.litiengine.entities.IEntityController;
 import de.gurkenlabs.litiengine.entities.IMobileEntity;
 
@@ -60,6 +61,22 @@ public interface IMovementController extends IEntityController {
   
   public Force getForce(String identifier);
 
+  /**
+   * Determines whether this controller is sleeping. A controller falls asleep when its entity has no active forces, no velocity and wasn't
+   * moved for a while. Sleeping controllers are not updated by the game loop.
+   *
+   * @return true if this controller is sleeping; otherwise false.
+   */
+  public default boolean isSleeping() {
+    return false;
+  }
+
+  /**
+   * Wakes up this controller so that it's updated by the game loop again. This is done automatically when a force is applied, a movement
+   * is requested or the entity changes its location.
+   */
+  public default void wakeUp() {}
+
   /**
    * Checks given conditions before moving.
    *
@@ -75,4 +92,9 @@ public interface IMovementController extends IEntityController {
    *          the logic that will be called after the entity has been moved.
    */
   public void onMoved(Consumer<Point2D> cons);
+
+  @Override
+  public default UpdatePhase getUpdatePhase() {
+    return UpdatePhase.MOVEMENT;
+  }
 }
@@ -7,15 +7,26 @@ import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.entities.EntityTransformListener;
+import de.gurkenlabs.litiengine.entities.IEntity;
 import de.gurkenlabs.litiengine.entities.IMobileEntity;
 import de.gurkenlabs.litiengine.util.MathUtilities;
 import de.gurkenlabs.litiengine.util.geom.GeometricUtilities;
 
 public class MovementController<T extends IMobileEntity> implements IMovementController {
+  // the number of consecutive idle updates after which the controller falls asleep
+  private static final int SLEEP_DELAY = 30;
+
   private final List<Force> activeForces;
   private final T mobileEntity;
   private final List<Predicate<IMobileEntity>> movementPredicates;
   private final List<Consumer<Point2D>> movedConsumer;
+  private final EntityTransformListener transformListener = new EntityTransformListener() {
+    @Override
+    public void locationChanged(IEntity entity) {
+      wakeUp();
+    }
+  };
 
   private float dx;
   private float dy;
@@ -24,6 +35,10 @@ public class MovementController<T extends IMobileEntity> implements IMovementCon
   private double velocityX;
   private double velocityY;
 
+  private boolean attached;
+  private volatile boolean sleeping;
+  private int idleUpdates;
+
   public MovementController(final T mobileEntity) {
     this.activeForces = new CopyOnWriteArrayList<>();
     this.movementPredicates = new CopyOnWriteArrayList<>();
@@ -33,11 +48,22 @@ public class MovementController<T extends IMobileEntity> implements IMovementCon
 
   @Override
   public void attach() {
+    if (!this.attached) {
+      // the listener wakes up the controller when the entity is moved from elsewhere
+      this.mobileEntity.addTransformListener(this.transformListener);
+    }
+
+    this.attached = true;
+    this.sleeping = false;
+    this.idleUpdates = 0;
     Game.loop().attach(this);
   }
 
   @Override
   public void detach() {
+    this.mobileEntity.removeTransformListener(this.transformListener);
+    this.attached = false;
+    this.sleeping = false;
     Game.loop().detach(this);
   }
 
@@ -46,6 +72,26 @@ public class MovementController<T extends IMobileEntity> implements IMovementCon
     if (!this.activeForces.contains(force)) {
       this.activeForces.add(force);
     }
+
+    this.wakeUp();
+  }
+
+  @Override
+  public boolean isSleeping() {
+    return this.sleeping;
+  }
+
+  @Override
+  public void wakeUp() {
+    this.idleUpdates = 0;
+    if (!this.sleeping) {
+      return;
+    }
+
+    this.sleeping = false;
+    if (this.attached) {
+      Game.loop().attach(this);
+    }
   }
 
   @Override
@@ -67,6 +113,9 @@ public class MovementController<T extends IMobileEntity> implements IMovementCon
   public void setDx(float dx) {
     this.dx = dx;
     this.setMovedX(this.dx != 0);
+    if (this.isMovedX()) {
+      this.wakeUp();
+    }
   }
 
   @Override
@@ -78,6 +127,9 @@ public class MovementController<T extends IMobileEntity> implements IMovementCon
   public void setDy(float dy) {
     this.dy = dy;
     this.setMovedY(this.dy != 0);
+    if (this.isMovedY()) {
+      this.wakeUp();
+    }
   }
 
   @Override
@@ -91,6 +143,7 @@ public class MovementController<T extends IMobileEntity> implements IMovementCon
   public void update() {
     this.handleForces();
     this.handleMovement();
+    this.handleSleeping();
   }
 
   @Override
@@ -244,6 +297,16 @@ public class MovementController<T extends IMobileEntity> implements IMovementCon
     }
   }
 
+  /**
+   * Determines whether this controller can fall asleep once the entity has come to rest. Controllers that need to be updated
+   * continuously, e.g. to poll input devices, must not sleep.
+   *
+   * @return true if this controller can fall asleep; otherwise false.
+   */
+  protected boolean canSleep() {
+    return true;
+  }
+
   protected boolean isMovementAllowed() {
     for (final Predicate<IMobileEntity> predicate : this.movementPredicates) {
       if (!predicate.test(this.getEntity())) {
@@ -254,6 +317,28 @@ public class MovementController<T extends IMobileEntity> implements IMovementCon
     return true;
   }
 
+  private void handleSleeping() {
+    if (!this.canSleep() || !this.activeForces.isEmpty() || this.getVelocityX() != 0 || this.getVelocityY() != 0 || this.isMovedX() || this.isMovedY()) {
+      this.idleUpdates = 0;
+      return;
+    }
+
+    if (++this.idleUpdates < SLEEP_DELAY) {
+      return;
+    }
+
+    // a sleeping controller is not updated until it's woken up by a force, a movement request or a location change
+    this.sleeping = true;
+    if (this.attached) {
+      Game.loop().detach(this);
+    }
+
+    // a movement might have been requested by another thread in the meantime
+    if (this.isMovedX() || this.isMovedY() || !this.activeForces.isEmpty()) {
+      this.wakeUp();
+    }
+  }
+
   private void handleForces() {
     // clean up forces
     this.activeForces.forEach(x -> {
@@ -1,10 +1,12 @@
 package de.gurkenlabs.litiengine.physics;
 
-import java.awt.Shape;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -15,10 +17,17 @@ import java.util.stream.Collectors;
 import de.gurkenlabs.litiengine.Direction;
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.UpdatePhase;
+import de.gurkenlabs.litiengine.entities.EntityTransformListener;
 import de.gurkenlabs.litiengine.entities.ICollisionEntity;
+import de.gurkenlabs.litiengine.entities.IEntity;
 import de.gurkenlabs.litiengine.entities.IMobileEntity;
 import de.gurkenlabs.litiengine.util.MathUtilities;
+import de.gurkenlabs.litiengine.util.geom.AABBTree;
 import de.gurkenlabs.litiengine.util.geom.GeometricUtilities;
+import de.gurkenlabs.litiengine.util.geom.IRaycastCallback;
+import de.gurkenlabs.litiengine.util.geom.ISpatialIndex;
+import de.gurkenlabs.litiengine.util.geom.SpatialHashGrid;
 
 /**
  * This class is used to hold all collision aware instances and static collision boxes.
@@ -27,12 +36,37 @@ import de.gurkenlabs.litiengine.util.geom.GeometricUtilities;
  * <br>
  * The <b><code>collides</code></b> method group can detect a collision at a certain location, for rectangles, or collision aware entities.
  * Also, there's an overload that takes a <code>Line2D</code> to perform a basic raycast check.
+ * <br>
+ * All queries use a broadphase so that only the entities close to the queried shape need to be tested: <code>DYNAMIC</code> entities are held
+ * by a spatial hash grid whose cells are updated whenever an entity changes its location or size. <code>STATIC</code> entities are held by
+ * a bounding volume hierarchy that is built once and afterwards only changes when a static entity is added, removed or changed.
  */
 public final class PhysicsEngine implements IUpdateable {
+  private static final ThreadLocal<CollisionQuery> SCRATCH_QUERY = ThreadLocal.withInitial(CollisionQuery::new);
+
+  // a sweep stops the movement along one axis per iteration, so two iterations are enough to slide along any contact
+  private static final int MAX_SWEEP_ITERATIONS = 2;
+  private static final double SWEEP_EPSILON = 1e-9;
+
   private Rectangle2D environmentBounds;
 
   private final Map<Collision, List<ICollisionEntity>> collisionEntities = new ConcurrentHashMap<>();
+  // snapshots of the collision boxes that are created on demand and discarded when any entity of the type changes
   private final Map<Collision, List<Rectangle2D>> collisionBoxes = new ConcurrentHashMap<>();
+  private final Map<Collision, ISpatialIndex<ICollisionEntity>> broadphase = new ConcurrentHashMap<>();
+  private final Map<Collision, List<ISpatialIndex<ICollisionEntity>>> broadphaseByType = new ConcurrentHashMap<>();
+
+  private final EntityTransformListener transformListener = new EntityTransformListener() {
+    @Override
+    public void locationChanged(IEntity entity) {
+      invalidate(entity);
+    }
+
+    @Override
+    public void sizeChanged(IEntity entity) {
+      invalidate(entity);
+    }
+  };
 
   /**
    * Instantiates a new PhysicsEngine instance.
@@ -48,9 +82,14 @@ public final class PhysicsEngine implements IUpdateable {
     this.collisionEntities.put(Collision.STATIC, new CopyOnWriteArrayList<>());
     this.collisionEntities.put(Collision.ANY, new CopyOnWriteArrayList<>());
 
-    this.collisionBoxes.put(Collision.DYNAMIC, new CopyOnWriteArrayList<>());
-    this.collisionBoxes.put(Collision.STATIC, new CopyOnWriteArrayList<>());
-    this.collisionBoxes.put(Collision.ANY, new CopyOnWriteArrayList<>());
+    this.broadphase.put(Collision.DYNAMIC, new SpatialHashGrid<>(ICollisionEntity::getCollisionBox));
+    this.broadphase.put(Collision.STATIC, new AABBTree<>(ICollisionEntity::getCollisionBox));
+
+    // the grids that need to be queried for each collision type
+    this.broadphaseByType.put(Collision.NONE, new ArrayList<>());
+    this.broadphaseByType.put(Collision.DYNAMIC, Arrays.asList(this.broadphase.get(Collision.DYNAMIC)));
+    this.broadphaseByType.put(Collision.STATIC, Arrays.asList(this.broadphase.get(Collision.STATIC)));
+    this.broadphaseByType.put(Collision.ANY, Arrays.asList(this.broadphase.get(Collision.DYNAMIC), this.broadphase.get(Collision.STATIC)));
   }
 
   /**
@@ -76,12 +115,15 @@ public final class PhysicsEngine implements IUpdateable {
     case DYNAMIC:
     case STATIC:
       this.collisionEntities.get(entity.getCollisionType()).add(entity);
+      this.broadphase.get(entity.getCollisionType()).add(entity);
       break;
     default:
       return;
     }
 
     this.collisionEntities.get(Collision.ANY).add(entity);
+    this.invalidateCollisionBoxes(entity.getCollisionType());
+    entity.addTransformListener(this.transformListener);
   }
 
   /**
@@ -100,12 +142,15 @@ public final class PhysicsEngine implements IUpdateable {
     case DYNAMIC:
     case STATIC:
       this.collisionEntities.get(entity.getCollisionType()).remove(entity);
+      this.broadphase.get(entity.getCollisionType()).remove(entity);
       break;
     default:
       return;
     }
 
     this.collisionEntities.get(Collision.ANY).remove(entity);
+    this.invalidateCollisionBoxes(entity.getCollisionType());
+    entity.removeTransformListener(this.transformListener);
   }
 
   /**
@@ -118,8 +163,17 @@ public final class PhysicsEngine implements IUpdateable {
         continue;
       }
 
+      for (ICollisionEntity entity : this.collisionEntities.get(type)) {
+        entity.removeTransformListener(this.transformListener);
+      }
+
       this.collisionEntities.get(type).clear();
-      this.collisionBoxes.get(type).clear();
+    }
+
+    this.collisionBoxes.clear();
+
+    for (ISpatialIndex<ICollisionEntity> index : this.broadphase.values()) {
+      index.clear();
     }
 
     this.setBounds(null);
@@ -129,12 +183,24 @@ public final class PhysicsEngine implements IUpdateable {
     return this.getCollisionBoxes(Collision.ANY);
   }
 
+  /**
+   * Gets the collision boxes of all entities with the specified collision type.
+   * 
+   * <p>
+   * The returned collection is an unmodifiable snapshot that is only recreated after an entity of the specified type has been added, removed
+   * or changed its location or size. Hence, subsequent calls without any changes in between are cheap and return the same instance.
+   * </p>
+   * 
+   * @param type
+   *          The collision type of the entities.
+   * @return A snapshot of the collision boxes of all entities with the specified collision type.
+   */
   public Collection<Rectangle2D> getCollisionBoxes(Collision type) {
     if (type == Collision.NONE) {
-      return new CopyOnWriteArrayList<>();
+      return Collections.emptyList();
     }
 
-    return this.collisionBoxes.get(type);
+    return this.collisionBoxes.computeIfAbsent(type, t -> Collections.unmodifiableList(this.collisionEntities.get(t).stream().map(ICollisionEntity::getCollisionBox).collect(Collectors.toList())));
   }
 
   public Collection<ICollisionEntity> getCollisionEntities() {
@@ -170,7 +236,7 @@ public final class PhysicsEngine implements IUpdateable {
   }
 
   public boolean collides(final Line2D line, Collision collision, ICollisionEntity entity) {
-    return this.collides(entity, collision, otherEntity -> GeometricUtilities.getIntersectionPoint(line, otherEntity.getCollisionBox()) != null);
+    return this.collidesAlongLine(line.getX1(), line.getY1(), line.getX2(), line.getY2(), collision, entity);
   }
 
   public boolean collides(final Rectangle2D rect) {
@@ -182,8 +248,8 @@ public final class PhysicsEngine implements IUpdateable {
    * 
    * @param rect
    *          The rectangle to check the collision for.
-   * @param collisionEntity
-   *          The entity on which this collision check is based on.
+   * @param collisionEntity
+   *          The entity on which this collision check is based on.
    * @return Returns true if the specified rectangle collides with any collision
    *         box of the specified type(s); otherwise false.
    */
@@ -196,11 +262,52 @@ public final class PhysicsEngine implements IUpdateable {
   }
 
   public boolean collides(Rectangle2D rectangle, Collision type, ICollisionEntity entity) {
-    if (this.environmentBounds != null && !this.environmentBounds.intersects(rectangle)) {
+    return this.collides(rectangle.getX(), rectangle.getY(), rectangle.getWidth(), rectangle.getHeight(), type, entity);
+  }
+
+  public boolean collides(double x, double y, double width, double height) {
+    return this.collides(x, y, width, height, Collision.ANY, null);
+  }
+
+  public boolean collides(double x, double y, double width, double height, Collision type) {
+    return this.collides(x, y, width, height, type, null);
+  }
+
+  public boolean collides(double x, double y, double width, double height, ICollisionEntity entity) {
+    return this.collides(x, y, width, height, Collision.ANY, entity);
+  }
+
+  /**
+   * Checks whether the specified rectangle collides with any collision box of the specified type.
+   * Other than the overloads that take a <code>Rectangle2D</code>, this doesn't require to allocate any objects.
+   * 
+   * @param x
+   *          The x-coordinate of the rectangle.
+   * @param y
+   *          The y-coordinate of the rectangle.
+   * @param width
+   *          The width of the rectangle.
+   * @param height
+   *          The height of the rectangle.
+   * @param type
+   *          The type of the collision boxes to check against.
+   * @param entity
+   *          The entity on which this collision check is based on, which is excluded from the check; can be null.
+   * @return Returns true if the specified rectangle collides with any collision box of the specified type(s) or lies outside the
+   *         environment; otherwise false.
+   */
+  public boolean collides(double x, double y, double width, double height, Collision type, ICollisionEntity entity) {
+    if (this.environmentBounds != null && !this.environmentBounds.intersects(x, y, width, height)) {
       return true;
     }
 
-    return collides(entity, type, otherEntity -> GeometricUtilities.intersects(otherEntity.getCollisionBox(), rectangle));
+    final CollisionQuery query = acquireQuery();
+    try {
+      query.set(QueryType.RECTANGLE, entity, x, y, width, height);
+      return this.anyMatch(type, query);
+    } finally {
+      query.release();
+    }
   }
 
   public boolean collides(final Point2D location) {
@@ -216,23 +323,33 @@ public final class PhysicsEngine implements IUpdateable {
   }
 
   public boolean collides(Point2D location, Collision type, ICollisionEntity entity) {
-    if (this.environmentBounds != null && !this.environmentBounds.contains(location)) {
-      return true;
-    }
-
-    return collides(entity, type, otherEntity -> otherEntity.getCollisionBox().contains(location));
+    return this.collides(location.getX(), location.getY(), type, entity);
   }
 
   public boolean collides(final double x, final double y) {
-    return this.collides(new Point2D.Double(x, y));
+    return this.collides(x, y, Collision.ANY, null);
   }
 
   public boolean collides(double x, double y, Collision collisionType) {
-    return this.collides(new Point2D.Double(x, y), collisionType);
+    return this.collides(x, y, collisionType, null);
   }
 
   public boolean collides(double x, double y, ICollisionEntity collisionEntity) {
-    return collides(new Point2D.Double(x, y), collisionEntity);
+    return this.collides(x, y, Collision.ANY, collisionEntity);
+  }
+
+  public boolean collides(double x, double y, Collision type, ICollisionEntity entity) {
+    if (this.environmentBounds != null && !this.environmentBounds.contains(x, y)) {
+      return true;
+    }
+
+    final CollisionQuery query = acquireQuery();
+    try {
+      query.set(QueryType.POINT, entity, x, y, 0, 0);
+      return this.anyMatch(type, query);
+    } finally {
+      query.release();
+    }
   }
 
   public boolean collides(ICollisionEntity collisionEntity) {
@@ -269,30 +386,67 @@ public final class PhysicsEngine implements IUpdateable {
     return raycast(line, Collision.ANY, entity);
   }
 
+  /**
+   * Casts a ray along the specified line and returns the hit with the collision box that is closest to the start of the line.
+   * If the line starts within a collision box, that box is hit at the start point.
+   * 
+   * @param line
+   *          The line along which the ray is cast.
+   * @param collisionType
+   *          The type of the collision boxes that can be hit by the ray.
+   * @param entity
+   *          The entity that casts the ray, which is excluded from the check; can be null.
+   * @return The closest hit or null if the ray doesn't hit any collision box.
+   */
   public RaycastHit raycast(Line2D line, Collision collisionType, ICollisionEntity entity) {
-    final Point2D rayCastSource = new Point2D.Double(line.getX1(), line.getY1());
+    final ClosestHitCallback callback = new ClosestHitCallback();
+    this.raycast(line.getX1(), line.getY1(), line.getX2(), line.getY2(), collisionType, entity, callback);
+    if (callback.hit == null) {
+      return null;
+    }
 
-    for (final ICollisionEntity collisionEntity : this.collisionEntities.get(collisionType)) {
-      if (!canCollide(entity, collisionEntity)) {
-        continue;
-      }
+    return new RaycastHit(new Point2D.Double(callback.getHitX(), callback.getHitY()), callback.hit, callback.getHitDistance());
+  }
 
-      if (collisionEntity.getCollisionBox().intersectsLine(line)) {
-        double closestDist = -1;
-        Point2D closestPoint = null;
-        for (final Point2D intersection : GeometricUtilities.getIntersectionPoints(line, collisionEntity.getCollisionBox())) {
-          final double dist = intersection.distance(rayCastSource);
-          if (closestPoint == null || dist < closestDist) {
-            closestPoint = intersection;
-            closestDist = dist;
-          }
-        }
+  public void raycast(Point2D[] origins, Point2D[] targets, RaycastResults results) {
+    this.raycast(origins, targets, Collision.ANY, null, results);
+  }
 
-        return new RaycastHit(closestPoint, collisionEntity, closestDist);
-      }
+  public void raycast(Point2D[] origins, Point2D[] targets, Collision collisionType, RaycastResults results) {
+    this.raycast(origins, targets, collisionType, null, results);
+  }
+
+  /**
+   * Casts a batch of rays from the specified origins to the corresponding targets and stores the closest hit of each ray in the specified
+   * buffer. Other than the single raycast overloads, this method doesn't allocate any objects per ray, which makes it suitable for a large
+   * number of line of sight checks per tick.
+   * 
+   * @param origins
+   *          The start points of the rays.
+   * @param targets
+   *          The end points of the rays.
+   * @param collisionType
+   *          The type of the collision boxes that can be hit by the rays.
+   * @param entities
+   *          The entities that cast the rays, which are excluded from their own ray; can be null or contain null elements.
+   * @param results
+   *          The buffer in which the results are stored at the same index as the ray; its previous content is replaced.
+   */
+  public void raycast(Point2D[] origins, Point2D[] targets, Collision collisionType, ICollisionEntity[] entities, RaycastResults results) {
+    if (origins.length != targets.length || entities != null && entities.length != origins.length) {
+      throw new IllegalArgumentException("The number of origins, targets and entities of a batched raycast must be equal.");
     }
 
-    return null;
+    results.reset(origins.length);
+    final ClosestHitCallback callback = new ClosestHitCallback();
+    for (int i = 0; i < origins.length; i++) {
+      this.raycast(origins[i].getX(), origins[i].getY(), targets[i].getX(), targets[i].getY(), collisionType, entities != null ? entities[i] : null, callback);
+      if (callback.hit == null) {
+        results.set(i, null, 0, 0, -1);
+      } else {
+        results.set(i, callback.hit, callback.getHitX(), callback.getHitY(), callback.getHitDistance());
+      }
+    }
   }
 
   /**
@@ -308,8 +462,9 @@ public final class PhysicsEngine implements IUpdateable {
    *         collision.
    */
   public boolean move(final IMobileEntity entity, final double angle, final double delta) {
-    final Point2D newPosition = GeometricUtilities.project(entity.getLocation(), angle, delta);
-    return this.move(entity, newPosition);
+    final double x = entity.getX() + GeometricUtilities.getXDelta(angle, delta);
+    final double y = entity.getY() + GeometricUtilities.getYDelta(angle, delta);
+    return this.moveTo(entity, x, y, null);
   }
 
   public boolean move(IMobileEntity entity, Direction direction, double delta) {
@@ -317,7 +472,12 @@ public final class PhysicsEngine implements IUpdateable {
   }
 
   public boolean move(final IMobileEntity entity, final double x, final double y, final float delta) {
-    return this.move(entity, new Point2D.Double(x, y), delta);
+    final double dx = x - entity.getX();
+    final double dy = y - entity.getY();
+
+    // euclidean length
+    final double len = Math.hypot(dx, dy);
+    return this.moveTo(entity, entity.getX() + dx * delta / len, entity.getY() + dy * delta / len, null);
   }
 
   public boolean move(final IMobileEntity entity, final float delta) {
@@ -325,53 +485,22 @@ public final class PhysicsEngine implements IUpdateable {
   }
 
   public boolean move(final IMobileEntity entity, Point2D newLocation) {
-    if (entity.turnOnMove()) {
-      entity.setAngle((float) GeometricUtilities.calcRotationAngleInDegrees(entity.getLocation(), newLocation));
-    }
-
-    // don't set new location if it is outside the boundaries of the map
-    if (!this.isInMap(entity.getCollisionBox(newLocation))) {
-      newLocation = this.clamptoMap(entity, newLocation);
-    }
-
-    if (!entity.hasCollision()) {
-      entity.setLocation(newLocation);
-      return true;
-    }
-
-    // check if there is any collision to resolve on the new location
-    if (this.resolveCollisionForNewPosition(entity, newLocation)) {
-      return false;
-    }
-
-    // This method provides a simplified approach for a multi-sampling algorithm
-    // to prevent glitching through collision boxes that are smaller than the
-    // movement step size
-    if (this.resolveCollisionForRaycastToNewPosition(entity, newLocation)) {
-      return false;
-    }
-
-    // set new map location
-    entity.setLocation(newLocation);
-    return true;
+    return this.moveTo(entity, newLocation.getX(), newLocation.getY(), newLocation);
   }
 
   public boolean move(final IMobileEntity entity, final Point2D target, final float delta) {
-    final Point2D newPosition = GeometricUtilities.project(entity.getLocation(), target, delta);
-    return this.move(entity, newPosition);
+    return this.move(entity, target.getX(), target.getY(), delta);
   }
 
   @Override
-  public void update() {
-    // retrieve all collision box rectangles once per update
-    for (Collision type : Collision.values()) {
-      if (type == Collision.NONE) {
-        continue;
-      }
+  public UpdatePhase getUpdatePhase() {
+    return UpdatePhase.PHYSICS;
+  }
 
-      this.collisionBoxes.get(type).clear();
-      this.collisionBoxes.get(type).addAll(this.collisionEntities.get(type).stream().map(ICollisionEntity::getCollisionBox).collect(Collectors.toList()));
-    }
+  @Override
+  public void update() {
+    // nothing to do here: the broadphase and the collision box snapshots are updated incrementally when entities publish
+    // changes of their location or size
   }
 
   private static boolean canCollide(ICollisionEntity entity, ICollisionEntity otherEntity) {
@@ -384,6 +513,11 @@ public final class PhysicsEngine implements IUpdateable {
       return true;
     }
 
+    // the collision categories and masks reject most pairs without any virtual dispatch or geometry
+    if ((entity.getCollisionCategory() & otherEntity.getCollisionMask()) == 0 || (otherEntity.getCollisionCategory() & entity.getCollisionMask()) == 0) {
+      return false;
+    }
+
     // cannot collide with itself
     if (otherEntity.equals(entity)) {
       return false;
@@ -394,61 +528,165 @@ public final class PhysicsEngine implements IUpdateable {
   }
 
   /**
-   * Returns a Rectangle2D representing the union of intersections between the targeted position and all collision boxes 
-   * that the entity would be colliding with at that targeted position.
+   * Wakes up the movement controller of a sleeping entity that is in contact with a moving entity.
+   */
+  private static void wakeUp(ICollisionEntity entity) {
+    if (!(entity instanceof IMobileEntity)) {
+      return;
+    }
+
+    final IMovementController movementController = ((IMobileEntity) entity).getMovementController();
+    if (movementController != null && movementController.isSleeping()) {
+      movementController.wakeUp();
+    }
+  }
+
+  // the query is reused per thread to avoid allocations for every collision check
+  private static CollisionQuery acquireQuery() {
+    final CollisionQuery query = SCRATCH_QUERY.get();
+    if (query.inUse) {
+      // a nested collision check, e.g. from within canCollideWith, cannot reuse the query of the outer check
+      return new CollisionQuery();
+    }
+
+    query.inUse = true;
+    return query;
+  }
+
+  /**
+   * Computes the union of intersections between the specified collision box and all collision boxes that the entity would be colliding with
+   * at that position. The result is held by the specified query.
    * 
-   * @param entity
-   * @param entityCollisionBox
-   * @return Rectangle2D
+   * @return True if there is any intersection; otherwise false.
    */
-  private Rectangle2D getIntersection(final ICollisionEntity entity, final Rectangle2D entityCollisionBox) {
-    Rectangle2D result = null;
-    for (final ICollisionEntity collisionBox : this.getCollisionEntities()) {
-      if (!canCollide(entity, collisionBox)) {
-        continue;
+  private boolean getIntersection(final ICollisionEntity entity, final double x, final double y, final double width, final double height, final CollisionQuery query) {
+    query.set(QueryType.INTERSECTION, entity, x, y, width, height);
+    this.anyMatch(Collision.ANY, query);
+    return query.intersects;
+  }
+
+  private boolean anyMatch(Collision type, CollisionQuery query) {
+    final List<ISpatialIndex<ICollisionEntity>> indices = this.getBroadphase(type);
+    for (int i = 0; i < indices.size(); i++) {
+      if (indices.get(i).anyMatch(query.x, query.y, query.width, query.height, query)) {
+        return true;
       }
+    }
 
-      if (GeometricUtilities.intersects(collisionBox.getCollisionBox(), entityCollisionBox)) {
-        Rectangle2D tmpIntersection = collisionBox.getCollisionBox().createIntersection(entityCollisionBox);
-        if (result != null) {
-          result = tmpIntersection.createUnion(result);
-        }
-        else {
-          result = tmpIntersection;
+    return false;
+  }
+
+  private boolean collidesAlongLine(double x1, double y1, double x2, double y2, Collision type, ICollisionEntity entity) {
+    final CollisionQuery query = acquireQuery();
+    try {
+      query.set(QueryType.LINE, entity, x1, y1, x2, y2);
+      final List<ISpatialIndex<ICollisionEntity>> indices = this.getBroadphase(type);
+      for (int i = 0; i < indices.size(); i++) {
+        if (indices.get(i).anyMatchAlongLine(x1, y1, x2, y2, query)) {
+          return true;
         }
       }
+
+      return false;
+    } finally {
+      query.release();
     }
+  }
 
-    return result;
+  private void raycast(double x1, double y1, double x2, double y2, Collision collisionType, ICollisionEntity entity, ClosestHitCallback callback) {
+    callback.reset(x1, y1, x2, y2, entity);
+    final List<ISpatialIndex<ICollisionEntity>> indices = this.getBroadphase(collisionType);
+    for (int i = 0; i < indices.size(); i++) {
+      indices.get(i).raycast(x1, y1, x2, y2, callback);
+    }
   }
 
-  private boolean collides(final ICollisionEntity entity, Collision type, Predicate<ICollisionEntity> check) {
-    for (final ICollisionEntity otherEntity : this.getCollisionEntities(type)) {
-      if (!canCollide(entity, otherEntity)) {
-        continue;
-      }
+  private List<ISpatialIndex<ICollisionEntity>> getBroadphase(Collision type) {
+    return this.broadphaseByType.get(type);
+  }
 
-      if (check.test(otherEntity)) {
-        return true;
-      }
+  private void invalidate(IEntity entity) {
+    if (!(entity instanceof ICollisionEntity)) {
+      return;
     }
 
-    return false;
+    final ICollisionEntity collisionEntity = (ICollisionEntity) entity;
+    final ISpatialIndex<ICollisionEntity> index = collisionEntity.getCollisionType() != null ? this.broadphase.get(collisionEntity.getCollisionType()) : null;
+    if (index != null) {
+      index.invalidate(collisionEntity);
+    }
+
+    this.invalidateCollisionBoxes(collisionEntity.getCollisionType());
+  }
+
+  private void invalidateCollisionBoxes(Collision type) {
+    if (type == Collision.DYNAMIC || type == Collision.STATIC) {
+      this.collisionBoxes.remove(type);
+      this.collisionBoxes.remove(Collision.ANY);
+    }
+  }
+
+  /**
+   * Moves the entity to the specified coordinates while respecting the environment boundaries and all collision boxes. This and all methods
+   * called by it don't allocate any objects, except for the new location that is passed to the entity.
+   * 
+   * @param location
+   *          The target location if the caller already provides it as point; otherwise null.
+   */
+  private boolean moveTo(final IMobileEntity entity, double x, double y, Point2D location) {
+    if (entity.turnOnMove()) {
+      entity.setAngle(GeometricUtilities.calcRotationAngleInDegrees(entity.getX(), entity.getY(), x, y));
+    }
+
+    // the collision box is aligned relative to the entity's location, so it can be determined for any location without creating a new one
+    final Rectangle2D collisionBox = entity.getCollisionBox();
+    final double boxOffsetX = entity.getCollisionBoxAlign().getLocation(entity.getWidth(), collisionBox.getWidth());
+    final double boxOffsetY = entity.getCollisionBoxValign().getLocation(entity.getHeight(), collisionBox.getHeight());
+
+    // don't set new location if it is outside the boundaries of the map
+    if (!this.isInMap(x + boxOffsetX, y + boxOffsetY, collisionBox.getWidth(), collisionBox.getHeight())) {
+      x = this.clampToMapX(entity, x);
+      y = this.clampToMapY(entity, y);
+      location = null;
+    }
+
+    if (!entity.hasCollision()) {
+      entity.setLocation(location != null ? location : new Point2D.Double(x, y));
+      return true;
+    }
+
+    if (entity.hasContinuousCollision()) {
+      return this.sweep(entity, x, y, location);
+    }
+
+    // check if there is any collision to resolve on the new location
+    if (this.resolveCollisionForNewPosition(entity, x, y, boxOffsetX, boxOffsetY)) {
+      return false;
+    }
+
+    // This method provides a simplified approach for a multi-sampling algorithm
+    // to prevent glitching through collision boxes that are smaller than the
+    // movement step size
+    if (this.resolveCollisionForRaycastToNewPosition(entity, x, y, boxOffsetX, boxOffsetY)) {
+      return false;
+    }
+
+    // set new map location
+    entity.setLocation(location != null ? location : new Point2D.Double(x, y));
+    return true;
   }
 
   /**
    * Checks if is in map.
    *
-   * @param collisionBox
-   *          the collision box
-   * @return true, if is in map
+   * @return true, if the collision box with the specified coordinates is in the map
    */
-  private boolean isInMap(final Shape collisionBox) {
+  private boolean isInMap(final double x, final double y, final double width, final double height) {
     if (this.environmentBounds == null) {
       return true;
     }
 
-    return this.environmentBounds.contains(collisionBox.getBounds());
+    return this.environmentBounds.contains(x, y, width, height);
   }
 
   /**
@@ -457,75 +695,383 @@ public final class PhysicsEngine implements IUpdateable {
    * moving entity and they also move towards the currently moving entity.
    *
    * @param entity
-   * @param targetPosition
+   * @param x
+   * @param y
+   * @param boxOffsetX
+   * @param boxOffsetY
    * @return
    */
-  private Point2D resolveCollision(final ICollisionEntity entity, final Point2D targetPosition) {
-    // first resolve x-axis movement
-    Point2D resolvedPosition = new Point2D.Double(targetPosition.getX(), entity.getY());
-
-    final Rectangle2D targetCollisionBoxX = entity.getCollisionBox(resolvedPosition);
-    final Rectangle2D intersectionX = this.getIntersection(entity, targetCollisionBoxX);
-    if (intersectionX != null) {
-      if (entity.getCollisionBox().getX() < targetCollisionBoxX.getX()) {
-        // entity was moved left -> right, so push out to the left
-        resolvedPosition.setLocation(Math.max(entity.getX(), resolvedPosition.getX() - intersectionX.getWidth()), resolvedPosition.getY());
-      } else {
-        // push it out to the right
-        resolvedPosition.setLocation(Math.min(entity.getX(), resolvedPosition.getX() + intersectionX.getWidth()), resolvedPosition.getY());
+  private boolean resolveCollisionForNewPosition(ICollisionEntity entity, double x, double y, double boxOffsetX, double boxOffsetY) {
+    final Rectangle2D collisionBox = entity.getCollisionBox();
+    final double width = collisionBox.getWidth();
+    final double height = collisionBox.getHeight();
+
+    // resolve collision for new location
+    if (!this.collides(x + boxOffsetX, y + boxOffsetY, width, height, entity)) {
+      return false;
+    }
+
+    double resolvedX = x;
+    double resolvedY = y;
+    final CollisionQuery query = acquireQuery();
+    try {
+      // first resolve x-axis movement
+      final double targetCollisionBoxX = resolvedX + boxOffsetX;
+      if (this.getIntersection(entity, targetCollisionBoxX, entity.getY() + boxOffsetY, width, height, query)) {
+        if (collisionBox.getX() < targetCollisionBoxX) {
+          // entity was moved left -> right, so push out to the left
+          resolvedX = Math.max(entity.getX(), resolvedX - query.getIntersectionWidth());
+        } else {
+          // push it out to the right
+          resolvedX = Math.min(entity.getX(), resolvedX + query.getIntersectionWidth());
+        }
+      }
+
+      // then resolve y-axis movement
+      final double targetCollisionBoxY = resolvedY + boxOffsetY;
+      if (this.getIntersection(entity, resolvedX + boxOffsetX, targetCollisionBoxY, width, height, query)) {
+        if (collisionBox.getY() < targetCollisionBoxY) {
+          // entity was moved top -> bottom so push out towards the top
+          resolvedY = Math.max(entity.getY(), resolvedY - query.getIntersectionHeight());
+        } else {
+          resolvedY = Math.min(entity.getY(), resolvedY + query.getIntersectionHeight());
+        }
       }
+    } finally {
+      query.release();
     }
 
-    // then resolve y-axis movement
-    resolvedPosition.setLocation(resolvedPosition.getX(), targetPosition.getY());
+    // an entity that is completely blocked keeps its current location
+    if (resolvedX != entity.getX() || resolvedY != entity.getY()) {
+      entity.setLocation(new Point2D.Double(resolvedX, resolvedY));
+    }
 
-    final Rectangle2D targetCollisionBoxY = entity.getCollisionBox(resolvedPosition);
-    final Rectangle2D intersectionY = this.getIntersection(entity, targetCollisionBoxY);
-    if (intersectionY != null) {
-      if (entity.getCollisionBox().getY() < targetCollisionBoxY.getY()) {
-        // entity was moved top -> bottom so push out towards the top
-        resolvedPosition.setLocation(resolvedPosition.getX(), Math.max(entity.getY(), resolvedPosition.getY() - intersectionY.getHeight()));
-      } else {
-        resolvedPosition.setLocation(resolvedPosition.getX(), Math.min(entity.getY(), resolvedPosition.getY() + intersectionY.getHeight()));
+    return true;
+  }
+
+  /**
+   * Sweeps the collision box of the entity from its current location towards the target location and stops it at the time of impact with
+   * the first collision box in its way. The remaining movement is then continued along the contact surface, which lets the entity slide
+   * along walls in a single pass.
+   *
+   * @return true, if the entity could be moved to the target location without any collision; otherwise false.
+   */
+  private boolean sweep(IMobileEntity entity, double x, double y, Point2D location) {
+    final Rectangle2D collisionBox = entity.getCollisionBox();
+    double boxX = collisionBox.getX();
+    double boxY = collisionBox.getY();
+    double resolvedX = entity.getX();
+    double resolvedY = entity.getY();
+    double deltaX = x - resolvedX;
+    double deltaY = y - resolvedY;
+
+    boolean collided = false;
+    final CollisionQuery query = acquireQuery();
+    try {
+      for (int i = 0; i < MAX_SWEEP_ITERATIONS && (deltaX != 0 || deltaY != 0); i++) {
+        query.setSweep(entity, boxX, boxY, collisionBox.getWidth(), collisionBox.getHeight(), deltaX, deltaY);
+        this.anyMatch(Collision.ANY, query);
+        if (!query.intersects) {
+          resolvedX += deltaX;
+          resolvedY += deltaY;
+          break;
+        }
+
+        collided = true;
+        final double timeOfImpact = query.timeOfImpact;
+        resolvedX += deltaX * timeOfImpact;
+        resolvedY += deltaY * timeOfImpact;
+        boxX += deltaX * timeOfImpact;
+        boxY += deltaY * timeOfImpact;
+
+        // remove the part of the remaining movement that points into the contact surface
+        deltaX = query.normalX ? 0 : deltaX * (1 - timeOfImpact);
+        deltaY = query.normalX ? deltaY * (1 - timeOfImpact) : 0;
       }
+    } finally {
+      query.release();
+    }
+
+    if (!collided) {
+      entity.setLocation(location != null ? location : new Point2D.Double(x, y));
+      return true;
     }
 
-    return resolvedPosition;
+    if (resolvedX != entity.getX() || resolvedY != entity.getY()) {
+      entity.setLocation(new Point2D.Double(resolvedX, resolvedY));
+    }
+
+    return false;
   }
 
-  private Point2D clamptoMap(IMobileEntity entity, Point2D newLocation) {
+  private double clampToMapX(IMobileEntity entity, double x) {
     double collisionLocationX = entity.getCollisionBoxAlign().getLocation(entity.getWidth(), entity.getCollisionBoxWidth());
     double leftBoundX = this.getBounds().getMinX() - collisionLocationX;
     double deltaX = entity.getWidth() - entity.getCollisionBoxWidth() - collisionLocationX;
     double rightBoundX = this.getBounds().getMaxX() - entity.getWidth() + deltaX;
 
+    // right and left border minus the collision box width
+    return MathUtilities.clamp(x, leftBoundX, rightBoundX);
+  }
+
+  private double clampToMapY(IMobileEntity entity, double y) {
     double collisionLocationY = entity.getCollisionBoxValign().getLocation(entity.getHeight(), entity.getCollisionBoxHeight());
     double topBoundY = this.getBounds().getMinY() - collisionLocationY;
     double deltaY = entity.getHeight() - entity.getCollisionBoxHeight() - collisionLocationY;
     double buttomBoundY = this.getBounds().getMaxY() - entity.getHeight() + deltaY;
 
-    // right and left border minus the collision box width
-    double x = MathUtilities.clamp(newLocation.getX(), leftBoundX, rightBoundX);
     // bottom and top border minus the collision box height
-    double y = MathUtilities.clamp(newLocation.getY(), topBoundY, buttomBoundY);
-    return new Point2D.Double(x, y);
+    return MathUtilities.clamp(y, topBoundY, buttomBoundY);
   }
 
-  private boolean resolveCollisionForNewPosition(ICollisionEntity entity, Point2D location) {
-    // resolve collision for new location
-    if (this.collides(entity.getCollisionBox(location), entity)) {
-      final Point2D resolvedPosition = this.resolveCollision(entity, location);
-      entity.setLocation(resolvedPosition);
-      return true;
+  private boolean resolveCollisionForRaycastToNewPosition(ICollisionEntity entity, double x, double y, double boxOffsetX, double boxOffsetY) {
+    // special case to prevent entities to glitch through collision boxes if
+    // they have a large enough step size
+    final Rectangle2D collisionBox = entity.getCollisionBox();
+    final double targetCenterX = x + boxOffsetX + collisionBox.getWidth() / 2.0;
+    final double targetCenterY = y + boxOffsetY + collisionBox.getHeight() / 2.0;
+    return this.collidesAlongLine(collisionBox.getCenterX(), collisionBox.getCenterY(), targetCenterX, targetCenterY, Collision.ANY, entity);
+  }
+
+  /**
+   * Keeps track of the collision box that is hit closest to the start of a ray. The broadphase reports the candidates front-to-back and
+   * clips the ray at the closest hit so far, which allows it to skip all candidates behind it.
+   */
+  private static final class ClosestHitCallback implements IRaycastCallback<ICollisionEntity> {
+    private double x1;
+    private double y1;
+    private double x2;
+    private double y2;
+    private ICollisionEntity entity;
+    private ICollisionEntity hit;
+    private double fraction;
+
+    private void reset(double x1, double y1, double x2, double y2, ICollisionEntity entity) {
+      this.x1 = x1;
+      this.y1 = y1;
+      this.x2 = x2;
+      this.y2 = y2;
+      this.entity = entity;
+      this.hit = null;
+      this.fraction = 1;
     }
 
-    return false;
+    @Override
+    public double hit(ICollisionEntity otherEntity, double maxFraction) {
+      if (canCollide(this.entity, otherEntity)) {
+        final double hitFraction = GeometricUtilities.getIntersectionFraction(this.x1, this.y1, this.x2, this.y2, otherEntity.getCollisionBox());
+        if (hitFraction >= 0 && (this.hit == null || hitFraction < this.fraction)) {
+          this.hit = otherEntity;
+          this.fraction = hitFraction;
+        }
+      }
+
+      return this.hit != null ? Math.min(maxFraction, this.fraction) : maxFraction;
+    }
+
+    private double getHitX() {
+      return this.x1 + (this.x2 - this.x1) * this.fraction;
+    }
+
+    private double getHitY() {
+      return this.y1 + (this.y2 - this.y1) * this.fraction;
+    }
+
+    private double getHitDistance() {
+      return GeometricUtilities.distance(this.x1, this.y1, this.x2, this.y2) * this.fraction;
+    }
   }
 
-  private boolean resolveCollisionForRaycastToNewPosition(ICollisionEntity entity, Point2D newPosition) {
-    // special case to prevent entities to glitch through collision boxes if
-    // they have a large enough step size
-    final Line2D line = new Line2D.Double(entity.getCollisionBox().getCenterX(), entity.getCollisionBox().getCenterY(), entity.getCollisionBox(newPosition).getCenterX(), entity.getCollisionBox(newPosition).getCenterY());
-    return this.collides(line, Collision.ANY, entity);
+  private enum QueryType {
+    RECTANGLE, POINT, LINE, INTERSECTION, SWEEP
+  }
+
+  /**
+   * A reusable narrow phase check for the candidates that are provided by the broadphase. Using this instead of capturing lambdas allows
+   * the collision checks and the movement resolution to not allocate any objects. Each thread reuses its own instance.
+   */
+  private static final class CollisionQuery implements Predicate<ICollisionEntity> {
+    private QueryType type;
+    private ICollisionEntity entity;
+    private double x;
+    private double y;
+    private double width;
+    private double height;
+    private boolean inUse;
+
+    // the union of all intersections, for the INTERSECTION type
+    private boolean intersects;
+    private double intersectionX;
+    private double intersectionY;
+    private double intersectionWidth;
+    private double intersectionHeight;
+
+    // the swept collision box and the earliest impact, for the SWEEP type
+    private double boxX;
+    private double boxY;
+    private double boxWidth;
+    private double boxHeight;
+    private double deltaX;
+    private double deltaY;
+    private double timeOfImpact;
+    private boolean normalX;
+
+    /**
+     * Sets up this query; for a LINE, the width and height parameters are the coordinates of the end point.
+     */
+    private void set(QueryType type, ICollisionEntity entity, double x, double y, double width, double height) {
+      this.type = type;
+      this.entity = entity;
+      this.x = x;
+      this.y = y;
+      this.width = width;
+      this.height = height;
+      this.intersects = false;
+    }
+
+    /**
+     * Sets up this query to sweep the specified box by the specified delta. The queried region covers the box along its whole path.
+     */
+    private void setSweep(ICollisionEntity entity, double x, double y, double width, double height, double deltaX, double deltaY) {
+      this.set(QueryType.SWEEP, entity, Math.min(x, x + deltaX), Math.min(y, y + deltaY), width + Math.abs(deltaX), height + Math.abs(deltaY));
+      this.boxX = x;
+      this.boxY = y;
+      this.boxWidth = width;
+      this.boxHeight = height;
+      this.deltaX = deltaX;
+      this.deltaY = deltaY;
+    }
+
+    private void release() {
+      this.entity = null;
+      this.inUse = false;
+    }
+
+    private double getIntersectionWidth() {
+      return this.intersectionWidth;
+    }
+
+    private double getIntersectionHeight() {
+      return this.intersectionHeight;
+    }
+
+    @Override
+    public boolean test(ICollisionEntity otherEntity) {
+      if (!canCollide(this.entity, otherEntity)) {
+        return false;
+      }
+
+      final Rectangle2D collisionBox = otherEntity.getCollisionBox();
+      switch (this.type) {
+      case POINT:
+        return collisionBox.contains(this.x, this.y);
+      case LINE:
+        return GeometricUtilities.hasIntersectionPoint(this.x, this.y, this.width, this.height, collisionBox);
+      case INTERSECTION:
+        if (GeometricUtilities.intersects(collisionBox.getX(), collisionBox.getY(), collisionBox.getWidth(), collisionBox.getHeight(), this.x, this.y, this.width, this.height)) {
+          this.unite(collisionBox);
+          wakeUp(otherEntity);
+        }
+
+        // visit all candidates
+        return false;
+      case SWEEP:
+        if (this.sweep(collisionBox)) {
+          wakeUp(otherEntity);
+        }
+
+        // visit all candidates
+        return false;
+      case RECTANGLE:
+      default:
+        return GeometricUtilities.intersects(collisionBox.getX(), collisionBox.getY(), collisionBox.getWidth(), collisionBox.getHeight(), this.x, this.y, this.width, this.height);
+      }
+    }
+
+    /**
+     * Computes the time of impact of the swept box with the specified collision box and keeps it, if it's the earliest impact so far.
+     * Collision boxes that only touch the swept box along its direction of movement or that already overlap with it are not considered.
+     *
+     * @return true, if the swept box hits the specified collision box along its path.
+     */
+    private boolean sweep(Rectangle2D collisionBox) {
+      final double minX = collisionBox.getMinX();
+      final double minY = collisionBox.getMinY();
+      final double maxX = collisionBox.getMaxX();
+      final double maxY = collisionBox.getMaxY();
+
+      // the parametric times at which the boxes start and stop to overlap on each axis
+      double entryX;
+      double exitX;
+      if (this.deltaX > 0) {
+        entryX = (minX - (this.boxX + this.boxWidth)) / this.deltaX;
+        exitX = (maxX - this.boxX) / this.deltaX;
+      } else if (this.deltaX < 0) {
+        entryX = (maxX - this.boxX) / this.deltaX;
+        exitX = (minX - (this.boxX + this.boxWidth)) / this.deltaX;
+      } else if (this.boxX < maxX && this.boxX + this.boxWidth > minX) {
+        entryX = Double.NEGATIVE_INFINITY;
+        exitX = Double.POSITIVE_INFINITY;
+      } else {
+        return false;
+      }
+
+      double entryY;
+      double exitY;
+      if (this.deltaY > 0) {
+        entryY = (minY - (this.boxY + this.boxHeight)) / this.deltaY;
+        exitY = (maxY - this.boxY) / this.deltaY;
+      } else if (this.deltaY < 0) {
+        entryY = (maxY - this.boxY) / this.deltaY;
+        exitY = (minY - (this.boxY + this.boxHeight)) / this.deltaY;
+      } else if (this.boxY < maxY && this.boxY + this.boxHeight > minY) {
+        entryY = Double.NEGATIVE_INFINITY;
+        exitY = Double.POSITIVE_INFINITY;
+      } else {
+        return false;
+      }
+
+      final double entry = Math.max(entryX, entryY);
+      final double exit = Math.min(exitX, exitY);
+      if (entry >= exit || entry > 1 || entry < -SWEEP_EPSILON || exit <= 0) {
+        return false;
+      }
+
+      final double time = Math.max(0, entry);
+      if (!this.intersects || time < this.timeOfImpact) {
+        this.intersects = true;
+        this.timeOfImpact = time;
+        this.normalX = entryX > entryY;
+      }
+
+      return true;
+    }
+
+    /**
+     * Adds the intersection between the specified collision box and the queried rectangle to the union of intersections.
+     */
+    private void unite(Rectangle2D collisionBox) {
+      final double minX = Math.max(collisionBox.getMinX(), this.x);
+      final double minY = Math.max(collisionBox.getMinY(), this.y);
+      final double maxX = Math.min(collisionBox.getMaxX(), this.x + this.width);
+      final double maxY = Math.min(collisionBox.getMaxY(), this.y + this.height);
+      if (!this.intersects) {
+        this.intersects = true;
+        this.intersectionX = minX;
+        this.intersectionY = minY;
+        this.intersectionWidth = maxX - minX;
+        this.intersectionHeight = maxY - minY;
+        return;
+      }
+
+      final double unionMinX = Math.min(minX, this.intersectionX);
+      final double unionMinY = Math.min(minY, this.intersectionY);
+      final double unionMaxX = Math.max(minX + (maxX - minX), this.intersectionX + this.intersectionWidth);
+      final double unionMaxY = Math.max(minY + (maxY - minY), this.intersectionY + this.intersectionHeight);
+      this.intersectionX = unionMinX;
+      this.intersectionY = unionMinY;
+      this.intersectionWidth = unionMaxX - unionMinX;
+      this.intersectionHeight = unionMaxY - unionMinY;
+    }
   }
-}
\ No newline at end of file
+}
\ No newline at end of file
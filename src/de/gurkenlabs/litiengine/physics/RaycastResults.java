@@ -0,0 +1,108 @@
+package de.gurkenlabs.litiengine.physics;
+
+import java.util.Arrays;
+
+import de.gurkenlabs.litiengine.entities.ICollisionEntity;
+
+/**
+ * A reusable buffer that holds the results of a batched raycast.
+ * <p>
+ * The results are stored in primitive arrays that only grow if a batch contains more rays than any previous batch. This allows to perform
+ * a large number of raycasts each tick (e.g. line of sight checks) without allocating any objects for the individual rays.
+ * </p>
+ *
+ * @see PhysicsEngine#raycast(java.awt.geom.Point2D[], java.awt.geom.Point2D[], Collision, ICollisionEntity[], RaycastResults)
+ */
+public class RaycastResults {
+  private ICollisionEntity[] entities;
+  private double[] x;
+  private double[] y;
+  private double[] distances;
+  private int size;
+
+  public RaycastResults() {
+    this(16);
+  }
+
+  public RaycastResults(int capacity) {
+    this.entities = new ICollisionEntity[capacity];
+    this.x = new double[capacity];
+    this.y = new double[capacity];
+    this.distances = new double[capacity];
+  }
+
+  /**
+   * Gets the number of rays of the last batch.
+   *
+   * @return The number of results in this buffer.
+   */
+  public int size() {
+    return this.size;
+  }
+
+  public boolean hasHit(int index) {
+    return this.getEntity(index) != null;
+  }
+
+  /**
+   * Gets the closest entity that was hit by the ray with the specified index.
+   *
+   * @param index
+   *          The index of the ray in the batch.
+   * @return The hit entity or null if the ray didn't hit anything.
+   */
+  public ICollisionEntity getEntity(int index) {
+    this.checkIndex(index);
+    return this.entities[index];
+  }
+
+  public double getX(int index) {
+    this.checkIndex(index);
+    return this.x[index];
+  }
+
+  public double getY(int index) {
+    this.checkIndex(index);
+    return this.y[index];
+  }
+
+  /**
+   * Gets the distance between the origin of the ray with the specified index and the point where it hit an entity.
+   *
+   * @param index
+   *          The index of the ray in the batch.
+   * @return The distance of the hit or -1 if the ray didn't hit anything.
+   */
+  public double getDistance(int index) {
+    this.checkIndex(index);
+    return this.distances[index];
+  }
+
+  void reset(int size) {
+    if (size > this.entities.length) {
+      final int capacity = Math.max(size, this.entities.length * 2);
+      this.entities = new ICollisionEntity[capacity];
+      this.x = new double[capacity];
+      this.y = new double[capacity];
+      this.distances = new double[capacity];
+    } else if (size < this.size) {
+      // release the references to the entities of the previous batch
+      Arrays.fill(this.entities, size, this.size, null);
+    }
+
+    this.size = size;
+  }
+
+  void set(int index, ICollisionEntity entity, double x, double y, double distance) {
+    this.entities[index] = entity;
+    this.x[index] = x;
+    this.y[index] = y;
+    this.distances[index] = distance;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+    }
+  }
+}
@@ -6,13 +6,72 @@ import java.net.URL;
 
 import javax.imageio.ImageIO;
 
+import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.entities.Rotation;
 import de.gurkenlabs.litiengine.util.Imaging;
 
 public final class Images extends ResourcesContainer<BufferedImage> {
+  private boolean compatibleConversion = true;
+
   Images() {
   }
 
+  /**
+   * Indicates whether loaded images are converted to the format of the screen device.
+   * 
+   * @return True if loaded images are converted; otherwise false.
+   * 
+   * @see #toCompatible(BufferedImage)
+   */
+  public boolean isCompatibleConversion() {
+    return this.compatibleConversion;
+  }
+
+  /**
+   * Sets whether loaded images are converted to the format of the screen device. Games that don't render to a screen
+   * (e.g. a headless server) can disable the conversion to save the time and the memory of the copies.
+   * 
+   * @param compatibleConversion
+   *          True if loaded images should be converted; otherwise false.
+   */
+  public void setCompatibleConversion(boolean compatibleConversion) {
+    this.compatibleConversion = compatibleConversion;
+  }
+
+  /**
+   * Converts the specified image to the format of the screen device, unless the conversion is disabled or the image
+   * already has a compatible format. The time of the conversion is tracked by the <code>GameMetrics</code>.
+   * 
+   * @param image
+   *          The image to convert.
+   * @return The converted image or the specified image if no conversion was necessary.
+   * 
+   * @see Imaging#toCompatibleImage(BufferedImage)
+   */
+  public BufferedImage toCompatible(BufferedImage image) {
+    if (!this.isCompatibleConversion() || image == null || Imaging.isCompatible(image)) {
+      return image;
+    }
+
+    final long conversionStart = System.nanoTime();
+    final BufferedImage compatibleImage = Imaging.toCompatibleImage(image);
+    Game.metrics().trackImageConversion(System.nanoTime() - conversionStart);
+    return compatibleImage;
+  }
+
+  /**
+   * Replaces all entries of the specified image by another image, e.g. the region of an atlas page that replaces the
+   * original image of a packed spritesheet.
+   * 
+   * @param image
+   *          The image to replace.
+   * @param replacement
+   *          The image that replaces it.
+   */
+  void replace(BufferedImage image, BufferedImage replacement) {
+    this.getResources().replaceAll((name, resource) -> resource == image ? replacement : resource);
+  }
+
   /**
    * Loads all images from the specified texture atlas.
    * 
@@ -46,15 +105,6 @@ public final class Images extends ResourcesContainer<BufferedImage> {
    */
   @Override
   protected BufferedImage load(URL resourceName) throws IOException {
-    BufferedImage img = ImageIO.read(resourceName);
-
-    if (img == null) {
-      return null;
-    }
-
-    final BufferedImage compatibleImg = Imaging.getCompatibleImage(img.getWidth(), img.getHeight());
-    compatibleImg.createGraphics().drawImage(img, 0, 0, null);
-
-    return compatibleImg;
+    return this.toCompatible(ImageIO.read(resourceName));
   }
 }
@@ -198,6 +198,19 @@ public final class Resources {
 
     log.log(Level.INFO, "{0} spritesheets loaded from {1}", new Object[] { loadedSprites.size(), gameResourceFile });
 
+    if (Resources.spritesheets().isAtlasPacking()) {
+      // the images of the tilesets are packed along with the spritesheets
+      for (final Tileset tileset : file.getTilesets()) {
+        try {
+          tileset.getSpritesheet();
+        } catch (final IllegalArgumentException e) {
+          log.log(Level.WARNING, "the image of tileset {0} could not be loaded: {1}", new Object[] { tileset.getName(), e.getMessage() });
+        }
+      }
+
+      Resources.spritesheets().pack();
+    }
+
     final List<Sound> loadedSounds = Collections.synchronizedList(new ArrayList<>());
     file.getSounds().parallelStream().forEach(soundResource -> {
       final Sound sound = Resources.sounds().load(soundResource);
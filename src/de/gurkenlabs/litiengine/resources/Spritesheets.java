@@ -8,9 +8,12 @@ import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -18,6 +21,7 @@ import java.util.stream.Collectors;
 
 import de.gurkenlabs.litiengine.environment.tilemap.ITileset;
 import de.gurkenlabs.litiengine.graphics.Spritesheet;
+import de.gurkenlabs.litiengine.graphics.TextureAtlasPacker;
 import de.gurkenlabs.litiengine.util.io.Codec;
 import de.gurkenlabs.litiengine.util.io.FileUtilities;
 
@@ -25,9 +29,12 @@ public final class Spritesheets {
   private final Map<String, int[]> customKeyFrameDurations = new ConcurrentHashMap<>();
   private final Map<String, Spritesheet> loadedSpritesheets = new ConcurrentHashMap<>();
   private final Collection<ResourcesContainerClearedListener> listeners = ConcurrentHashMap.newKeySet();
+  private final List<TextureAtlasPacker.Page> atlasPages = new CopyOnWriteArrayList<>();
   private static final Logger log = Logger.getLogger(Spritesheets.class.getName());
   private static final String SPRITE_INFO_COMMENT_CHAR = "#";
 
+  private boolean atlasPacking;
+
   Spritesheets() {
   }
 
@@ -45,6 +52,7 @@ public final class Spritesheets {
 
   public void clear() {
     this.loadedSpritesheets.clear();
+    this.atlasPages.clear();
   }
 
   public boolean contains(String name) {
@@ -82,6 +90,38 @@ public final class Spritesheets {
     return this.loadedSpritesheets.values();
   }
 
+  /**
+   * Gets the runtime texture atlas pages that were created by previous calls of {@link #pack()}.
+   * 
+   * @return An unmodifiable list of all atlas pages.
+   */
+  public List<TextureAtlasPacker.Page> getAtlasPages() {
+    return Collections.unmodifiableList(this.atlasPages);
+  }
+
+  /**
+   * Indicates whether the spritesheets and tilesets of a game resource file are packed into a runtime texture atlas
+   * after they were loaded.
+   * 
+   * @return True if the spritesheets are packed upon loading; otherwise false.
+   * 
+   * @see Resources#load(java.net.URL)
+   */
+  public boolean isAtlasPacking() {
+    return this.atlasPacking;
+  }
+
+  /**
+   * Sets whether the spritesheets and tilesets of a game resource file are packed into a runtime texture atlas after
+   * they were loaded. This is disabled by default.
+   * 
+   * @param atlasPacking
+   *          True if the spritesheets should be packed upon loading; otherwise false.
+   */
+  public void setAtlasPacking(boolean atlasPacking) {
+    this.atlasPacking = atlasPacking;
+  }
+
   public int[] getCustomKeyFrameDurations(final String name) {
     return this.customKeyFrameDurations.getOrDefault(FileUtilities.getFileName(name), new int[0]);
   }
@@ -91,7 +131,8 @@ public final class Spritesheets {
   }
 
   public Spritesheet load(final BufferedImage image, final String path, final int spriteWidth, final int spriteHeight) {
-    return new Spritesheet(image, path, spriteWidth, spriteHeight);
+    // decoded images of game resource files are converted on the threads that load them
+    return new Spritesheet(Resources.images().toCompatible(image), path, spriteWidth, spriteHeight);
   }
 
   public Spritesheet load(final ITileset tileset) {
@@ -171,6 +212,39 @@ public final class Spritesheets {
     return new Spritesheet(Resources.images().get(path, true), path, spriteWidth, spriteHeight);
   }
 
+  /**
+   * Packs the images of all loaded spritesheets that are not packed yet into runtime texture atlas pages. The image
+   * resources of the packed spritesheets are replaced by their regions of the atlas pages, so that the original images
+   * are released.
+   * 
+   * @return The atlas pages that were created.
+   * 
+   * @see TextureAtlasPacker
+   */
+  public List<TextureAtlasPacker.Page> pack() {
+    final Map<Spritesheet, BufferedImage> originals = new IdentityHashMap<>();
+    for (Spritesheet spritesheet : this.getAll()) {
+      originals.put(spritesheet, spritesheet.getImage());
+    }
+
+    final List<TextureAtlasPacker.Page> pages = new TextureAtlasPacker().pack(originals.keySet());
+    this.atlasPages.addAll(pages);
+
+    int packed = 0;
+    for (TextureAtlasPacker.Page page : pages) {
+      for (Spritesheet spritesheet : page.getSpritesheets()) {
+        Resources.images().replace(originals.get(spritesheet), spritesheet.getImage());
+      }
+
+      packed += page.getSpritesheets().size();
+      log.log(Level.INFO, "atlas page {0}x{1} holds {2} spritesheets ({3}% occupied)",
+          new Object[] { page.getImage().getWidth(), page.getImage().getHeight(), page.getSpritesheets().size(), Math.round(page.getOccupancy() * 100) });
+    }
+
+    log.log(Level.INFO, "{0} spritesheets packed into {1} atlas pages", new Object[] { packed, pages.size() });
+    return pages;
+  }
+
   public Spritesheet remove(final String path) {
     Spritesheet spriteToRemove = this.loadedSpritesheets.remove(path);
     customKeyFrameDurations.remove(path);
@@ -4,6 +4,7 @@ import java.util.Collections;
 import java.util.List;
 
 import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.UpdatePhase;
 
 public class StateMachine implements IUpdateable {
   private State currentState;
@@ -24,6 +25,11 @@ public class StateMachine implements IUpdateable {
     this.currentState.enter();
   }
 
+  @Override
+  public UpdatePhase getUpdatePhase() {
+    return UpdatePhase.AI;
+  }
+
   @Override
   public void update() {
     if (this.currentState == null) {
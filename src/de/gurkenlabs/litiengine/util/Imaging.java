@@ -312,13 +312,60 @@ public final class Imaging {
       return null;
     }
 
+    // without a screen device, there is no configuration that an image could be compatible to
+    if (GraphicsEnvironment.isHeadless()) {
+      return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    return getGraphicsConfiguration().createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+  }
+
+  /**
+   * Converts the specified image to the translucent format of the default screen device. Images in this format can be
+   * drawn without converting their pixels on every draw call.
+   * 
+   * @param image
+   *          The image to convert.
+   * @return The specified image if it already has a compatible format; otherwise a compatible copy of the image.
+   * 
+   * @see #getCompatibleImage(int, int)
+   */
+  public static BufferedImage toCompatibleImage(final BufferedImage image) {
+    if (image == null || image.getWidth() == 0 || image.getHeight() == 0 || isCompatible(image)) {
+      return image;
+    }
+
+    final BufferedImage compatibleImage = getCompatibleImage(image.getWidth(), image.getHeight());
+    final Graphics2D g = compatibleImage.createGraphics();
+    g.drawImage(image, 0, 0, null);
+    g.dispose();
+    return compatibleImage;
+  }
+
+  /**
+   * Checks whether the specified image has the same format as the images provided by
+   * {@link #getCompatibleImage(int, int)}.
+   * 
+   * @param image
+   *          The image to check.
+   * @return True if the image has a compatible format; otherwise false.
+   */
+  public static boolean isCompatible(final BufferedImage image) {
+    if (GraphicsEnvironment.isHeadless()) {
+      return image.getType() == BufferedImage.TYPE_INT_ARGB;
+    }
+
+    return image.getColorModel().equals(getGraphicsConfiguration().getColorModel(Transparency.TRANSLUCENT));
+  }
+
+  private static GraphicsConfiguration getGraphicsConfiguration() {
     if (graphicsConfig == null) {
       final GraphicsEnvironment env = GraphicsEnvironment.getLocalGraphicsEnvironment();
       final GraphicsDevice device = env.getDefaultScreenDevice();
       graphicsConfig = device.getDefaultConfiguration();
     }
 
-    return graphicsConfig.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    return graphicsConfig;
   }
 
   /**
@@ -0,0 +1,367 @@
+package de.gurkenlabs.litiengine.util;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A hash map with primitive <code>int</code> keys that uses open addressing and stores its entries in dense arrays.
+ * <p>
+ * In contrast to a <code>Map&lt;Integer, V&gt;</code>, keys are never boxed for lookups and no node is allocated per
+ * entry. The hash table only stores indices into the dense key and value arrays, which are kept compact by moving the
+ * last entry into the place of a removed one.
+ * </p>
+ * <p>
+ * All modifications and lookups are synchronized. The collections provided by {@link #values()} and {@link #keys()}
+ * iterate over an immutable snapshot of the dense arrays which is only copied again after the map was modified. This
+ * allows the update and the render thread to traverse the map every tick without holding a lock and without failing
+ * on concurrent modifications.
+ * </p>
+ *
+ * @param <V>
+ *          The type of the values.
+ */
+public class IntHashMap<V> {
+  private static final int DEFAULT_CAPACITY = 16;
+
+  // linear probing degrades quickly with higher load factors
+  private static final float LOAD_FACTOR = 0.5f;
+  private static final Object[] EMPTY = new Object[0];
+
+  private final Collection<V> valueView = new ValueCollection();
+  private final Collection<Integer> keyView = new KeyCollection();
+
+  // the index of the entry in the dense arrays + 1; 0 marks a free slot
+  private int[] slots;
+  private int mask;
+  private int[] keys;
+  private Object[] values;
+  private int size;
+
+  private volatile Object[] valueSnapshot = EMPTY;
+  private volatile int[] keySnapshot = new int[0];
+
+  /**
+   * Initializes a new instance of the <code>IntHashMap</code> class with the default capacity.
+   */
+  public IntHashMap() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Initializes a new instance of the <code>IntHashMap</code> class.
+   *
+   * @param initialCapacity
+   *          The number of entries that can be stored without growing the map.
+   */
+  public IntHashMap(int initialCapacity) {
+    final int capacity = Math.max(initialCapacity, 2);
+    this.keys = new int[capacity];
+    this.values = new Object[capacity];
+    this.slots = new int[tableSize(capacity)];
+    this.mask = this.slots.length - 1;
+  }
+
+  public synchronized V get(int key) {
+    final int slot = this.findSlot(key);
+    return slot < 0 ? null : this.valueAt(this.slots[slot] - 1);
+  }
+
+  public synchronized boolean containsKey(int key) {
+    return this.findSlot(key) >= 0;
+  }
+
+  /**
+   * Associates the specified value with the specified key.
+   *
+   * @param key
+   *          The key.
+   * @param value
+   *          The value; <code>null</code> values are not supported.
+   * @return The value that was previously associated with the key or <code>null</code>.
+   */
+  public synchronized V put(int key, V value) {
+    Objects.requireNonNull(value);
+    int slot = this.hash(key);
+    while (this.slots[slot] != 0) {
+      final int index = this.slots[slot] - 1;
+      if (this.keys[index] == key) {
+        final V previous = this.valueAt(index);
+        this.values[index] = value;
+        this.invalidateSnapshots();
+        return previous;
+      }
+
+      slot = (slot + 1) & this.mask;
+    }
+
+    if (this.size == this.keys.length) {
+      this.keys = Arrays.copyOf(this.keys, this.size * 2);
+      this.values = Arrays.copyOf(this.values, this.size * 2);
+    }
+
+    this.keys[this.size] = key;
+    this.values[this.size] = value;
+    this.slots[slot] = ++this.size;
+
+    if (this.size > this.slots.length * LOAD_FACTOR) {
+      this.rehash(this.slots.length * 2);
+    }
+
+    this.invalidateSnapshots();
+    return null;
+  }
+
+  public synchronized V remove(int key) {
+    final int slot = this.findSlot(key);
+    return slot < 0 ? null : this.removeSlot(slot);
+  }
+
+  /**
+   * Removes the entry for the specified key only if it is currently mapped to the specified value.
+   *
+   * @param key
+   *          The key.
+   * @param value
+   *          The value expected to be associated with the key.
+   * @return True if the entry was removed.
+   */
+  public synchronized boolean remove(int key, Object value) {
+    final int slot = this.findSlot(key);
+    if (slot < 0 || !Objects.equals(this.values[this.slots[slot] - 1], value)) {
+      return false;
+    }
+
+    this.removeSlot(slot);
+    return true;
+  }
+
+  public synchronized int size() {
+    return this.size;
+  }
+
+  public synchronized boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  public synchronized void clear() {
+    Arrays.fill(this.slots, 0);
+    Arrays.fill(this.values, 0, this.size, null);
+    this.size = 0;
+    this.invalidateSnapshots();
+  }
+
+  /**
+   * Gets an unmodifiable collection of the values in this map.
+   * <p>
+   * Iterators of this collection traverse a snapshot of the map at the time the iterator was created.
+   * </p>
+   *
+   * @return A collection view of the values.
+   */
+  public Collection<V> values() {
+    return this.valueView;
+  }
+
+  /**
+   * Gets an unmodifiable collection of the keys in this map.
+   * <p>
+   * Iterators of this collection traverse a snapshot of the map at the time the iterator was created.
+   * </p>
+   *
+   * @return A collection view of the keys.
+   */
+  public Collection<Integer> keys() {
+    return this.keyView;
+  }
+
+  private static int tableSize(int capacity) {
+    int tableSize = Integer.highestOneBit(capacity) * 2;
+    while (tableSize * LOAD_FACTOR < capacity) {
+      tableSize *= 2;
+    }
+
+    return tableSize;
+  }
+
+  private int hash(int key) {
+    final int hash = key * 0x9E3779B9;
+    return (hash ^ (hash >>> 16)) & this.mask;
+  }
+
+  private int findSlot(int key) {
+    int slot = this.hash(key);
+    while (this.slots[slot] != 0) {
+      if (this.keys[this.slots[slot] - 1] == key) {
+        return slot;
+      }
+
+      slot = (slot + 1) & this.mask;
+    }
+
+    return -1;
+  }
+
+  private V removeSlot(int slot) {
+    final int index = this.slots[slot] - 1;
+    final V removed = this.valueAt(index);
+    this.shiftBack(slot);
+
+    // keep the dense arrays compact by moving the last entry into the gap
+    final int last = this.size - 1;
+    if (index != last) {
+      this.slots[this.findSlot(this.keys[last])] = index + 1;
+      this.keys[index] = this.keys[last];
+      this.values[index] = this.values[last];
+    }
+
+    this.values[last] = null;
+    this.size--;
+    this.invalidateSnapshots();
+    return removed;
+  }
+
+  /**
+   * Closes the gap at the specified slot by moving subsequent entries of the probe sequence back so that no tombstones
+   * are needed.
+   */
+  private void shiftBack(int slot) {
+    int gap = slot;
+    int current = slot;
+    while (true) {
+      current = (current + 1) & this.mask;
+      final int entry = this.slots[current];
+      if (entry == 0) {
+        break;
+      }
+
+      final int home = this.hash(this.keys[entry - 1]);
+      if (((current - home) & this.mask) >= ((current - gap) & this.mask)) {
+        this.slots[gap] = entry;
+        gap = current;
+      }
+    }
+
+    this.slots[gap] = 0;
+  }
+
+  private void rehash(int tableSize) {
+    this.slots = new int[tableSize];
+    this.mask = tableSize - 1;
+    for (int i = 0; i < this.size; i++) {
+      int slot = this.hash(this.keys[i]);
+      while (this.slots[slot] != 0) {
+        slot = (slot + 1) & this.mask;
+      }
+
+      this.slots[slot] = i + 1;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private V valueAt(int index) {
+    return (V) this.values[index];
+  }
+
+  private void invalidateSnapshots() {
+    this.valueSnapshot = null;
+    this.keySnapshot = null;
+  }
+
+  private Object[] getValueSnapshot() {
+    Object[] snapshot = this.valueSnapshot;
+    if (snapshot == null) {
+      synchronized (this) {
+        if (this.valueSnapshot == null) {
+          this.valueSnapshot = Arrays.copyOf(this.values, this.size);
+        }
+
+        snapshot = this.valueSnapshot;
+      }
+    }
+
+    return snapshot;
+  }
+
+  private int[] getKeySnapshot() {
+    int[] snapshot = this.keySnapshot;
+    if (snapshot == null) {
+      synchronized (this) {
+        if (this.keySnapshot == null) {
+          this.keySnapshot = Arrays.copyOf(this.keys, this.size);
+        }
+
+        snapshot = this.keySnapshot;
+      }
+    }
+
+    return snapshot;
+  }
+
+  private class ValueCollection extends AbstractCollection<V> {
+    @Override
+    public Iterator<V> iterator() {
+      final Object[] snapshot = getValueSnapshot();
+      return new Iterator<V>() {
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+          return this.index < snapshot.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public V next() {
+          if (!this.hasNext()) {
+            throw new NoSuchElementException();
+          }
+
+          return (V) snapshot[this.index++];
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return IntHashMap.this.size();
+    }
+  }
+
+  private class KeyCollection extends AbstractCollection<Integer> {
+    @Override
+    public Iterator<Integer> iterator() {
+      final int[] snapshot = getKeySnapshot();
+      return new Iterator<Integer>() {
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+          return this.index < snapshot.length;
+        }
+
+        @Override
+        public Integer next() {
+          if (!this.hasNext()) {
+            throw new NoSuchElementException();
+          }
+
+          return snapshot[this.index++];
+        }
+      };
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return o instanceof Integer && containsKey((Integer) o);
+    }
+
+    @Override
+    public int size() {
+      return IntHashMap.this.size();
+    }
+  }
+}
@@ -0,0 +1,664 @@
+package de.gurkenlabs.litiengine.util.geom;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A bounding volume hierarchy of axis aligned bounding boxes (AABB).
+ * <p>
+ * This index is well suited for objects that rarely change their bounds (e.g. static collision boxes) because queries only need to descend
+ * into the branches of the tree whose bounds overlap the queried region. The tree is built top-down when many items are added at once (e.g.
+ * while loading an environment) and is afterwards updated incrementally when single items are added, removed or changed. Additions are
+ * deferred until the next query so that loading a large number of items only builds the tree once.
+ * </p>
+ *
+ * @param <T>
+ *          The type of the objects that are held by this tree.
+ */
+public class AABBTree<T> implements ISpatialIndex<T> {
+  private static final int MIN_BULK_LOAD = 16;
+  private static final double LINE_EPSILON = 1e-9;
+
+  private final Function<? super T, Rectangle2D> boundsProvider;
+  private final Map<T, Node<T>> leaves = new IdentityHashMap<>();
+  private final List<Node<T>> pending = new ArrayList<>();
+  private final List<Node<T>> dirty = new ArrayList<>();
+
+  private Node<T> root;
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private Node<T>[] stack = new Node[64];
+  private double[] stackFractions = new double[64];
+  private int stackSize;
+
+  /**
+   * Initializes a new instance of the <code>AABBTree</code> class.
+   *
+   * @param boundsProvider
+   *          The function that provides the bounds of the objects in this tree.
+   */
+  public AABBTree(Function<? super T, Rectangle2D> boundsProvider) {
+    this.boundsProvider = boundsProvider;
+  }
+
+  @Override
+  public synchronized void add(T item) {
+    final Node<T> leaf = this.leaves.get(item);
+    if (leaf != null) {
+      this.refit(leaf);
+      return;
+    }
+
+    final Node<T> newLeaf = new Node<>(item);
+    newLeaf.pending = true;
+    this.leaves.put(item, newLeaf);
+    this.pending.add(newLeaf);
+  }
+
+  @Override
+  public synchronized boolean remove(T item) {
+    final Node<T> leaf = this.leaves.remove(item);
+    if (leaf == null) {
+      return false;
+    }
+
+    if (leaf.pending) {
+      this.pending.remove(leaf);
+      leaf.pending = false;
+    } else if (leaf.inTree) {
+      this.removeLeaf(leaf);
+    }
+
+    if (leaf.dirty) {
+      this.dirty.remove(leaf);
+      leaf.dirty = false;
+    }
+
+    return true;
+  }
+
+  @Override
+  public synchronized void invalidate(T item) {
+    final Node<T> leaf = this.leaves.get(item);
+    if (leaf == null || leaf.pending || leaf.dirty) {
+      return;
+    }
+
+    leaf.dirty = true;
+    this.dirty.add(leaf);
+  }
+
+  @Override
+  public synchronized void update(T item) {
+    final Node<T> leaf = this.leaves.get(item);
+    if (leaf != null && !leaf.pending) {
+      this.refit(leaf);
+    }
+  }
+
+  @Override
+  public synchronized void updateAll() {
+    for (Node<T> leaf : this.leaves.values()) {
+      if (!leaf.pending) {
+        this.refit(leaf);
+      }
+    }
+
+    for (int i = 0; i < this.dirty.size(); i++) {
+      this.dirty.get(i).dirty = false;
+    }
+
+    this.dirty.clear();
+  }
+
+  /**
+   * Rebuilds the whole tree top-down from the current bounds of all items, which results in a better balanced tree than successive insertions.
+   */
+  public synchronized void rebuild() {
+    final List<Node<T>> all = new ArrayList<>(this.leaves.size());
+    for (Node<T> leaf : this.leaves.values()) {
+      leaf.pending = false;
+      leaf.dirty = false;
+      leaf.inTree = false;
+      leaf.parent = null;
+
+      final Rectangle2D bounds = this.boundsProvider.apply(leaf.item);
+      if (bounds != null) {
+        leaf.setBounds(bounds);
+        leaf.inTree = true;
+        all.add(leaf);
+      }
+    }
+
+    this.pending.clear();
+    this.dirty.clear();
+    this.root = all.isEmpty() ? null : build(all, 0, all.size());
+    if (this.root != null) {
+      this.root.parent = null;
+    }
+  }
+
+  /**
+   * Gets the height of this tree which is the number of levels below the root.
+   *
+   * @return The height of the tree or -1 if the tree is empty.
+   */
+  public synchronized int getHeight() {
+    this.flush();
+    return this.root == null ? -1 : this.root.height;
+  }
+
+  @Override
+  public synchronized boolean contains(T item) {
+    return this.leaves.containsKey(item);
+  }
+
+  @Override
+  public synchronized int size() {
+    return this.leaves.size();
+  }
+
+  @Override
+  public synchronized void clear() {
+    this.leaves.clear();
+    this.pending.clear();
+    this.dirty.clear();
+    this.root = null;
+  }
+
+  @Override
+  public synchronized boolean anyMatch(double x, double y, double width, double height, Predicate<? super T> predicate) {
+    this.flush();
+    if (this.root == null) {
+      return false;
+    }
+
+    final double maxX = x + width;
+    final double maxY = y + height;
+
+    // the stack is shared by all queries, which is why nested queries continue on top of the current stack
+    final int base = this.stackSize;
+    this.push(this.root);
+    while (this.stackSize > base) {
+      final Node<T> node = this.stack[--this.stackSize];
+      if (!node.overlaps(x, y, maxX, maxY)) {
+        continue;
+      }
+
+      if (node.isLeaf()) {
+        if (predicate.test(node.item)) {
+          this.stackSize = base;
+          return true;
+        }
+
+        continue;
+      }
+
+      this.push(node.left);
+      this.push(node.right);
+    }
+
+    return false;
+  }
+
+  @Override
+  public synchronized boolean anyMatchAlongLine(double x1, double y1, double x2, double y2, Predicate<? super T> predicate) {
+    this.flush();
+    if (this.root == null || intersect(this.root, x1, y1, x2 - x1, y2 - y1) < 0) {
+      return false;
+    }
+
+    final double dx = x2 - x1;
+    final double dy = y2 - y1;
+
+    final int base = this.stackSize;
+    this.push(this.root);
+    while (this.stackSize > base) {
+      final Node<T> node = this.stack[--this.stackSize];
+      if (node.isLeaf()) {
+        if (predicate.test(node.item)) {
+          this.stackSize = base;
+          return true;
+        }
+
+        continue;
+      }
+
+      final double leftHit = intersect(node.left, x1, y1, dx, dy);
+      final double rightHit = intersect(node.right, x1, y1, dx, dy);
+
+      // push the farther child first so that the nearer one is visited first
+      if (leftHit >= 0 && rightHit >= 0) {
+        this.push(leftHit <= rightHit ? node.right : node.left);
+        this.push(leftHit <= rightHit ? node.left : node.right);
+      } else if (leftHit >= 0) {
+        this.push(node.left);
+      } else if (rightHit >= 0) {
+        this.push(node.right);
+      }
+    }
+
+    return false;
+  }
+
+  @Override
+  public synchronized void raycast(double x1, double y1, double x2, double y2, IRaycastCallback<? super T> callback) {
+    this.flush();
+    final double dx = x2 - x1;
+    final double dy = y2 - y1;
+    final double rootHit = this.root != null ? intersect(this.root, x1, y1, dx, dy) : -1;
+    if (rootHit < 0) {
+      return;
+    }
+
+    double maxFraction = 1;
+    final int base = this.stackSize;
+    this.push(this.root, rootHit);
+    while (this.stackSize > base) {
+      final Node<T> node = this.stack[--this.stackSize];
+
+      // the ray has been clipped by a closer hit since this node was pushed
+      if (this.stackFractions[this.stackSize] > maxFraction) {
+        continue;
+      }
+
+      if (node.isLeaf()) {
+        maxFraction = Math.min(maxFraction, callback.hit(node.item, maxFraction));
+        if (maxFraction <= 0) {
+          this.stackSize = base;
+          return;
+        }
+
+        continue;
+      }
+
+      final double leftHit = intersect(node.left, x1, y1, dx, dy);
+      final double rightHit = intersect(node.right, x1, y1, dx, dy);
+
+      // push the farther child first so that the nearer one is visited first
+      if (leftHit >= 0 && rightHit >= 0) {
+        if (leftHit <= rightHit) {
+          this.push(node.right, rightHit);
+          this.push(node.left, leftHit);
+        } else {
+          this.push(node.left, leftHit);
+          this.push(node.right, rightHit);
+        }
+      } else if (leftHit >= 0) {
+        this.push(node.left, leftHit);
+      } else if (rightHit >= 0) {
+        this.push(node.right, rightHit);
+      }
+    }
+  }
+
+  /**
+   * Computes the parametric distance [0, 1] at which the specified line segment enters the bounds of the node.
+   *
+   * @return The parametric entry distance or -1 if the line segment doesn't intersect the bounds.
+   */
+  private static double intersect(Node<?> node, double x, double y, double dx, double dy) {
+    double tmin = 0;
+    double tmax = 1;
+    if (dx == 0) {
+      if (x < node.minX || x > node.maxX) {
+        return -1;
+      }
+    } else {
+      final double t1 = (node.minX - x) / dx;
+      final double t2 = (node.maxX - x) / dx;
+      tmin = Math.max(tmin, Math.min(t1, t2));
+      tmax = Math.min(tmax, Math.max(t1, t2));
+      if (tmin > tmax + LINE_EPSILON) {
+        return -1;
+      }
+    }
+
+    if (dy == 0) {
+      if (y < node.minY || y > node.maxY) {
+        return -1;
+      }
+    } else {
+      final double t1 = (node.minY - y) / dy;
+      final double t2 = (node.maxY - y) / dy;
+      tmin = Math.max(tmin, Math.min(t1, t2));
+      tmax = Math.min(tmax, Math.max(t1, t2));
+      if (tmin > tmax + LINE_EPSILON) {
+        return -1;
+      }
+    }
+
+    return tmin;
+  }
+
+  private static <T> Node<T> build(List<Node<T>> nodes, int from, int to) {
+    if (to - from == 1) {
+      return nodes.get(from);
+    }
+
+    double minCenterX = Double.MAX_VALUE;
+    double minCenterY = Double.MAX_VALUE;
+    double maxCenterX = -Double.MAX_VALUE;
+    double maxCenterY = -Double.MAX_VALUE;
+    for (int i = from; i < to; i++) {
+      final Node<T> node = nodes.get(i);
+      minCenterX = Math.min(minCenterX, node.getCenterX());
+      minCenterY = Math.min(minCenterY, node.getCenterY());
+      maxCenterX = Math.max(maxCenterX, node.getCenterX());
+      maxCenterY = Math.max(maxCenterY, node.getCenterY());
+    }
+
+    // split along the axis with the largest extent of the node centers
+    final Comparator<Node<T>> comparator = maxCenterX - minCenterX >= maxCenterY - minCenterY ? Comparator.comparingDouble(Node::getCenterX) : Comparator.comparingDouble(Node::getCenterY);
+    nodes.subList(from, to).sort(comparator);
+
+    final int mid = (from + to) >>> 1;
+    final Node<T> node = new Node<>(null);
+    node.left = build(nodes, from, mid);
+    node.right = build(nodes, mid, to);
+    node.left.parent = node;
+    node.right.parent = node;
+    node.refresh();
+    return node;
+  }
+
+  private void push(Node<T> node) {
+    this.push(node, 0);
+  }
+
+  private void push(Node<T> node, double fraction) {
+    if (this.stackSize == this.stack.length) {
+      this.stack = Arrays.copyOf(this.stack, this.stack.length * 2);
+      this.stackFractions = Arrays.copyOf(this.stackFractions, this.stackFractions.length * 2);
+    }
+
+    this.stackFractions[this.stackSize] = fraction;
+    this.stack[this.stackSize++] = node;
+  }
+
+  private void flush() {
+    if (!this.pending.isEmpty()) {
+      if (this.pending.size() >= MIN_BULK_LOAD && this.pending.size() * 2 > this.leaves.size()) {
+        // most of the items are new, so it's cheaper and results in a better tree to build it from scratch
+        this.rebuild();
+        return;
+      }
+
+      for (int i = 0; i < this.pending.size(); i++) {
+        final Node<T> leaf = this.pending.get(i);
+        leaf.pending = false;
+        this.refit(leaf);
+      }
+
+      this.pending.clear();
+    }
+
+    if (!this.dirty.isEmpty()) {
+      for (int i = 0; i < this.dirty.size(); i++) {
+        final Node<T> leaf = this.dirty.get(i);
+        leaf.dirty = false;
+        this.refit(leaf);
+      }
+
+      this.dirty.clear();
+    }
+  }
+
+  private void refit(Node<T> leaf) {
+    final Rectangle2D bounds = this.boundsProvider.apply(leaf.item);
+    if (leaf.inTree) {
+      if (bounds != null && leaf.hasBounds(bounds)) {
+        return;
+      }
+
+      this.removeLeaf(leaf);
+    }
+
+    if (bounds == null) {
+      // items without bounds cannot be found by any query until they are updated
+      return;
+    }
+
+    leaf.setBounds(bounds);
+    this.insertLeaf(leaf);
+  }
+
+  private void insertLeaf(Node<T> leaf) {
+    leaf.inTree = true;
+    if (this.root == null) {
+      this.root = leaf;
+      leaf.parent = null;
+      return;
+    }
+
+    // find the best sibling for the new leaf by descending into the child with the lowest cost for the resulting perimeter
+    Node<T> sibling = this.root;
+    while (!sibling.isLeaf()) {
+      final double perimeter = sibling.perimeter();
+      final double combinedPerimeter = perimeter(sibling, leaf);
+
+      // the cost of creating a new parent for this node and the new leaf and the minimum cost of pushing the leaf further down the tree
+      final double cost = 2 * combinedPerimeter;
+      final double inheritanceCost = 2 * (combinedPerimeter - perimeter);
+
+      final double costLeft = descendCost(sibling.left, leaf) + inheritanceCost;
+      final double costRight = descendCost(sibling.right, leaf) + inheritanceCost;
+      if (cost < costLeft && cost < costRight) {
+        break;
+      }
+
+      sibling = costLeft < costRight ? sibling.left : sibling.right;
+    }
+
+    final Node<T> oldParent = sibling.parent;
+    final Node<T> newParent = new Node<>(null);
+    newParent.parent = oldParent;
+    newParent.left = sibling;
+    newParent.right = leaf;
+    sibling.parent = newParent;
+    leaf.parent = newParent;
+    newParent.refresh();
+
+    if (oldParent == null) {
+      this.root = newParent;
+    } else if (oldParent.left == sibling) {
+      oldParent.left = newParent;
+    } else {
+      oldParent.right = newParent;
+    }
+
+    this.refreshAncestors(leaf.parent);
+  }
+
+  private void removeLeaf(Node<T> leaf) {
+    leaf.inTree = false;
+    if (leaf == this.root) {
+      this.root = null;
+      return;
+    }
+
+    final Node<T> parent = leaf.parent;
+    final Node<T> grandParent = parent.parent;
+    final Node<T> sibling = parent.left == leaf ? parent.right : parent.left;
+    leaf.parent = null;
+
+    if (grandParent == null) {
+      this.root = sibling;
+      sibling.parent = null;
+      return;
+    }
+
+    if (grandParent.left == parent) {
+      grandParent.left = sibling;
+    } else {
+      grandParent.right = sibling;
+    }
+
+    sibling.parent = grandParent;
+    this.refreshAncestors(grandParent);
+  }
+
+  private void refreshAncestors(Node<T> start) {
+    Node<T> node = start;
+    while (node != null) {
+      node = this.balance(node);
+      node.refresh();
+      node = node.parent;
+    }
+  }
+
+  /**
+   * Performs a left or right rotation if the specified node is imbalanced.
+   *
+   * @return The new root of the subtree.
+   */
+  private Node<T> balance(Node<T> a) {
+    if (a.isLeaf() || a.height < 2) {
+      return a;
+    }
+
+    final Node<T> b = a.left;
+    final Node<T> c = a.right;
+    final int balance = c.height - b.height;
+
+    if (balance > 1) {
+      // rotate c up
+      final Node<T> f = c.left;
+      final Node<T> g = c.right;
+      this.replaceChild(a, c);
+      c.left = a;
+      a.parent = c;
+
+      if (f.height > g.height) {
+        c.right = f;
+        a.right = g;
+        g.parent = a;
+      } else {
+        c.right = g;
+        a.right = f;
+        f.parent = a;
+      }
+
+      a.refresh();
+      c.refresh();
+      return c;
+    }
+
+    if (balance < -1) {
+      // rotate b up
+      final Node<T> d = b.left;
+      final Node<T> e = b.right;
+      this.replaceChild(a, b);
+      b.left = a;
+      a.parent = b;
+
+      if (d.height > e.height) {
+        b.right = d;
+        a.left = e;
+        e.parent = a;
+      } else {
+        b.right = e;
+        a.left = d;
+        d.parent = a;
+      }
+
+      a.refresh();
+      b.refresh();
+      return b;
+    }
+
+    return a;
+  }
+
+  private void replaceChild(Node<T> oldChild, Node<T> newChild) {
+    final Node<T> parent = oldChild.parent;
+    newChild.parent = parent;
+    if (parent == null) {
+      this.root = newChild;
+    } else if (parent.left == oldChild) {
+      parent.left = newChild;
+    } else {
+      parent.right = newChild;
+    }
+  }
+
+  private static double descendCost(Node<?> child, Node<?> leaf) {
+    if (child.isLeaf()) {
+      return perimeter(child, leaf);
+    }
+
+    return perimeter(child, leaf) - child.perimeter();
+  }
+
+  private static double perimeter(Node<?> a, Node<?> b) {
+    return 2 * (Math.max(a.maxX, b.maxX) - Math.min(a.minX, b.minX) + Math.max(a.maxY, b.maxY) - Math.min(a.minY, b.minY));
+  }
+
+  private static final class Node<T> {
+    private final T item;
+    private Node<T> parent;
+    private Node<T> left;
+    private Node<T> right;
+    private double minX;
+    private double minY;
+    private double maxX;
+    private double maxY;
+    private int height;
+    private boolean inTree;
+    private boolean pending;
+    private boolean dirty;
+
+    private Node(T item) {
+      this.item = item;
+    }
+
+    private boolean isLeaf() {
+      return this.left == null;
+    }
+
+    private void setBounds(Rectangle2D bounds) {
+      this.minX = bounds.getMinX();
+      this.minY = bounds.getMinY();
+      this.maxX = bounds.getMaxX();
+      this.maxY = bounds.getMaxY();
+    }
+
+    private boolean hasBounds(Rectangle2D bounds) {
+      return this.minX == bounds.getMinX() && this.minY == bounds.getMinY() && this.maxX == bounds.getMaxX() && this.maxY == bounds.getMaxY();
+    }
+
+    /**
+     * Recalculates the bounds and height of this inner node from its children.
+     */
+    private void refresh() {
+      this.minX = Math.min(this.left.minX, this.right.minX);
+      this.minY = Math.min(this.left.minY, this.right.minY);
+      this.maxX = Math.max(this.left.maxX, this.right.maxX);
+      this.maxY = Math.max(this.left.maxY, this.right.maxY);
+      this.height = 1 + Math.max(this.left.height, this.right.height);
+    }
+
+    private boolean overlaps(double x0, double y0, double x1, double y1) {
+      return this.minX <= x1 && this.maxX >= x0 && this.minY <= y1 && this.maxY >= y0;
+    }
+
+    private double perimeter() {
+      return 2 * (this.maxX - this.minX + this.maxY - this.minY);
+    }
+
+    private double getCenterX() {
+      return (this.minX + this.maxX) * 0.5;
+    }
+
+    private double getCenterY() {
+      return (this.minY + this.maxY) * 0.5;
+    }
+  }
+}
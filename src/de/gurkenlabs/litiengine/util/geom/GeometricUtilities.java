@@ -243,6 +243,112 @@ public class GeometricUtilities {
     return null;
   }
 
+  /**
+   * Checks whether the specified line segment has an intersection point with the rectangle's outline that is not the start point of the
+   * segment. This yields the same result as <code>getIntersectionPoint(line, rectangle) != null</code> without allocating any objects.
+   *
+   * @param x1
+   *          The x-coordinate of the start point.
+   * @param y1
+   *          The y-coordinate of the start point.
+   * @param x2
+   *          The x-coordinate of the end point.
+   * @param y2
+   *          The y-coordinate of the end point.
+   * @param rectangle
+   *          The rectangle to intersect with.
+   * @return True if there is an intersection point; otherwise false.
+   *
+   * @see #getIntersectionPoint(Line2D, Rectangle2D)
+   */
+  public static boolean hasIntersectionPoint(final double x1, final double y1, final double x2, final double y2, final Rectangle2D rectangle) {
+    final double minX = rectangle.getMinX();
+    final double minY = rectangle.getMinY();
+    final double maxX = rectangle.getMaxX();
+    final double maxY = rectangle.getMaxY();
+
+    // the outlines in the same order as provided by getLines(rectangle)
+    return hasIntersectionPoint(x1, y1, x2, y2, minX, minY, minX, maxY, rectangle)
+        || hasIntersectionPoint(x1, y1, x2, y2, minX, maxY, maxX, maxY, rectangle)
+        || hasIntersectionPoint(x1, y1, x2, y2, maxX, maxY, maxX, minY, rectangle)
+        || hasIntersectionPoint(x1, y1, x2, y2, maxX, minY, minX, minY, rectangle);
+  }
+
+  private static boolean hasIntersectionPoint(final double x1, final double y1, final double x2, final double y2, final double x3, final double y3, final double x4, final double y4, final Rectangle2D rectangle) {
+    final double d = (x1 - x2) * (y3 - y4) - (y1 - y2) * (x3 - x4);
+    if (d == 0) {
+      return false;
+    }
+
+    final double xi = ((x3 - x4) * (x1 * y2 - y1 * x2) - (x1 - x2) * (x3 * y4 - y3 * x4)) / d;
+    final double yi = ((y3 - y4) * (x1 * y2 - y1 * x2) - (y1 - y2) * (x3 * y4 - y3 * x4)) / d;
+    if (xi < Math.min(x1, x2) || xi > Math.max(x1, x2) || yi < Math.min(y1, y2) || yi > Math.max(y1, y2)) {
+      return false;
+    }
+
+    final boolean isStartPoint = xi == x1 && yi == y1;
+    return !isStartPoint && rectangle.getX() <= xi && rectangle.getY() <= yi && rectangle.getX() + rectangle.getWidth() >= xi && rectangle.getY() + rectangle.getHeight() >= yi;
+  }
+
+  /**
+   * Gets the parametric distance along the specified line segment at which it enters the specified axis aligned rectangle.
+   * <p>
+   * A value of 0 means that the segment starts within the rectangle and a value of 1 means that the rectangle is touched at the end point of the
+   * segment. Multiplying the returned value by the length of the segment results in the distance between its start point and the intersection.
+   * </p>
+   *
+   * @param x1
+   *          The x-coordinate of the start point.
+   * @param y1
+   *          The y-coordinate of the start point.
+   * @param x2
+   *          The x-coordinate of the end point.
+   * @param y2
+   *          The y-coordinate of the end point.
+   * @param rectangle
+   *          The rectangle to intersect with.
+   * @return The parametric distance within [0, 1] or -1 if the line segment doesn't intersect the rectangle.
+   */
+  public static double getIntersectionFraction(final double x1, final double y1, final double x2, final double y2, final Rectangle2D rectangle) {
+    return getIntersectionFraction(x1, y1, x2, y2, rectangle.getMinX(), rectangle.getMinY(), rectangle.getMaxX(), rectangle.getMaxY());
+  }
+
+  public static double getIntersectionFraction(final double x1, final double y1, final double x2, final double y2, final double minX, final double minY, final double maxX, final double maxY) {
+    final double dx = x2 - x1;
+    final double dy = y2 - y1;
+    double tmin = 0;
+    double tmax = 1;
+    if (dx == 0) {
+      if (x1 < minX || x1 > maxX) {
+        return -1;
+      }
+    } else {
+      final double t1 = (minX - x1) / dx;
+      final double t2 = (maxX - x1) / dx;
+      tmin = Math.max(tmin, Math.min(t1, t2));
+      tmax = Math.min(tmax, Math.max(t1, t2));
+      if (tmin > tmax) {
+        return -1;
+      }
+    }
+
+    if (dy == 0) {
+      if (y1 < minY || y1 > maxY) {
+        return -1;
+      }
+    } else {
+      final double t1 = (minY - y1) / dy;
+      final double t2 = (maxY - y1) / dy;
+      tmin = Math.max(tmin, Math.min(t1, t2));
+      tmax = Math.min(tmax, Math.max(t1, t2));
+      if (tmin > tmax) {
+        return -1;
+      }
+    }
+
+    return tmin;
+  }
+
   /**
    * Gets the intersection points.
    *
@@ -444,7 +550,11 @@ public class GeometricUtilities {
   }
 
   public static boolean intersects(final Rectangle2D a, final Rectangle2D b) {
-    return Math.abs(a.getCenterX() - b.getCenterX()) < a.getWidth() * 0.5 + b.getWidth() * 0.5 && Math.abs(a.getCenterY() - b.getCenterY()) < a.getHeight() * 0.5 + b.getHeight() * 0.5;
+    return intersects(a.getX(), a.getY(), a.getWidth(), a.getHeight(), b.getX(), b.getY(), b.getWidth(), b.getHeight());
+  }
+
+  public static boolean intersects(final double ax, final double ay, final double aWidth, final double aHeight, final double bx, final double by, final double bWidth, final double bHeight) {
+    return Math.abs(ax + aWidth / 2.0 - (bx + bWidth / 2.0)) < aWidth * 0.5 + bWidth * 0.5 && Math.abs(ay + aHeight / 2.0 - (by + bHeight / 2.0)) < aHeight * 0.5 + bHeight * 0.5;
   }
 
   public static boolean intersects(final Ellipse2D a, final Ellipse2D b) {
@@ -575,13 +685,7 @@ public class GeometricUtilities {
       return false;
     }
 
-    if (shapeA instanceof Rectangle2D && shapeB instanceof Rectangle2D) {
-      return ((Rectangle2D) shapeA).intersects((Rectangle2D) shapeB);
-    }
-
-    final Area areaA = new Area(shapeA);
-    areaA.intersect(new Area(shapeB));
-    return !areaA.isEmpty();
+    return IntersectionUtilities.intersects(shapeA, shapeB);
   }
 
   public static Shape translateShape(final Shape shape, final Point2D newLocation) {
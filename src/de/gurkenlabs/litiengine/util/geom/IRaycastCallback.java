@@ -0,0 +1,29 @@
+package de.gurkenlabs.litiengine.util.geom;
+
+/**
+ * This callback is used by a spatial index to report the candidates of a raycast.
+ * <p>
+ * The candidates are reported roughly in the order from the start to the end of the ray. By returning the parametric distance of an
+ * actual hit, the callback clips the ray which allows the index to skip all candidates that are farther away.
+ * </p>
+ *
+ * @param <T>
+ *          The type of the objects that are held by the spatial index.
+ *
+ * @see ISpatialIndex#raycast(double, double, double, double, IRaycastCallback)
+ */
+@FunctionalInterface
+public interface IRaycastCallback<T> {
+
+  /**
+   * Is called for every candidate whose bounds are crossed by the (clipped) ray.
+   *
+   * @param item
+   *          The candidate.
+   * @param maxFraction
+   *          The current parametric length of the ray within [0, 1].
+   * @return The new parametric length of the ray: Return the parametric distance of a hit to only look for closer candidates, 0 to terminate
+   *         the raycast or <code>maxFraction</code> to continue unchanged.
+   */
+  public double hit(T item, double maxFraction);
+}
@@ -0,0 +1,136 @@
+package de.gurkenlabs.litiengine.util.geom;
+
+import java.util.Collection;
+import java.util.function.Predicate;
+
+/**
+ * A spatial index holds objects by their bounding rectangle and allows to efficiently retrieve the objects that are located within a certain
+ * region or along a line.
+ *
+ * @param <T>
+ *          The type of the objects that are held by this index.
+ *
+ * @see SpatialHashGrid
+ * @see AABBTree
+ */
+public interface ISpatialIndex<T> {
+
+  /**
+   * Adds the specified item to this index. If the item is already present, it will be updated with its current bounds.
+   *
+   * @param item
+   *          The item to add.
+   */
+  public void add(T item);
+
+  /**
+   * Removes the specified item from this index.
+   *
+   * @param item
+   *          The item to remove.
+   * @return True if the item was present in this index; otherwise false.
+   */
+  public boolean remove(T item);
+
+  /**
+   * Marks the specified item as changed. The index will be updated with the current bounds of the item upon the next query.
+   *
+   * @param item
+   *          The item whose bounds have changed.
+   */
+  public void invalidate(T item);
+
+  /**
+   * Immediately updates the index with the current bounds of the specified item.
+   *
+   * @param item
+   *          The item whose bounds have changed.
+   */
+  public void update(T item);
+
+  /**
+   * Updates the index with the current bounds of all its items.
+   */
+  public void updateAll();
+
+  public boolean contains(T item);
+
+  public int size();
+
+  public void clear();
+
+  /**
+   * Checks whether any of the items whose bounds overlap the specified rectangle matches the predicate.
+   * The bounds of an item are considered to overlap if they intersect or touch the rectangle.
+   *
+   * @param x
+   *          The x-coordinate of the rectangle.
+   * @param y
+   *          The y-coordinate of the rectangle.
+   * @param width
+   *          The width of the rectangle.
+   * @param height
+   *          The height of the rectangle.
+   * @param predicate
+   *          The predicate that is tested for all candidates.
+   * @return True if the predicate returned true for any candidate; otherwise false.
+   */
+  public boolean anyMatch(double x, double y, double width, double height, Predicate<? super T> predicate);
+
+  /**
+   * Checks whether any of the items whose bounds might be crossed by the specified line segment matches the predicate.
+   * Candidates are roughly visited in the order from the start to the end of the line which allows to terminate a raycast early.
+   *
+   * @param x1
+   *          The x-coordinate of the start point.
+   * @param y1
+   *          The y-coordinate of the start point.
+   * @param x2
+   *          The x-coordinate of the end point.
+   * @param y2
+   *          The y-coordinate of the end point.
+   * @param predicate
+   *          The predicate that is tested for all candidates.
+   * @return True if the predicate returned true for any candidate; otherwise false.
+   */
+  public boolean anyMatchAlongLine(double x1, double y1, double x2, double y2, Predicate<? super T> predicate);
+
+  /**
+   * Casts a ray from the start to the end point and reports all candidates whose bounds are crossed by the ray to the specified callback.
+   * Candidates are visited front-to-back and the callback can clip the ray so that candidates that are farther away than the closest hit are
+   * skipped.
+   *
+   * @param x1
+   *          The x-coordinate of the start point.
+   * @param y1
+   *          The y-coordinate of the start point.
+   * @param x2
+   *          The x-coordinate of the end point.
+   * @param y2
+   *          The y-coordinate of the end point.
+   * @param callback
+   *          The callback that is called for all candidates.
+   */
+  public void raycast(double x1, double y1, double x2, double y2, IRaycastCallback<? super T> callback);
+
+  /**
+   * Adds all items whose bounds overlap the specified rectangle to the result collection.
+   *
+   * @param x
+   *          The x-coordinate of the rectangle.
+   * @param y
+   *          The y-coordinate of the rectangle.
+   * @param width
+   *          The width of the rectangle.
+   * @param height
+   *          The height of the rectangle.
+   * @param result
+   *          The collection to which all candidates are added.
+   */
+  public default void query(double x, double y, double width, double height, Collection<? super T> result) {
+    this.anyMatch(x, y, width, height, item -> {
+      result.add(item);
+      return false;
+    });
+  }
+}
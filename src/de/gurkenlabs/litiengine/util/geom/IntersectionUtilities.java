@@ -0,0 +1,455 @@
+package de.gurkenlabs.litiengine.util.geom;
+
+import java.awt.Shape;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Area;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+
+import de.gurkenlabs.litiengine.util.MathUtilities;
+
+/**
+ * Provides intersection tests between shapes that don't rely on the expensive boolean operations of {@link Area}.
+ * <p>
+ * Ellipses are tested analytically by transforming them into a unit circle and convex polygons are tested by the separating axis theorem.
+ * An {@link Arc2D} pie (e.g. the cone of an ability) is tested by clipping the other shape with the pie's wedge and testing the result
+ * against the pie's ellipse. Other shapes with curved outlines are flattened into polygons first. Only concave or otherwise arbitrary shapes
+ * fall back to an intersection of {@link Area}s.
+ * </p>
+ */
+public class IntersectionUtilities {
+  // the maximum distance between a curve and the line segments that approximate it when flattening a shape
+  private static final double FLATNESS = 0.1;
+
+  // corners of flattened curves can be nearly straight, so their direction is only considered above a tolerance
+  private static final double CONVEXITY_EPSILON = 1e-9;
+
+  private IntersectionUtilities() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Checks whether the interiors of the specified shapes intersect.
+   *
+   * @param shapeA
+   *          The first shape.
+   * @param shapeB
+   *          The second shape.
+   * @return True if the shapes intersect; otherwise false.
+   */
+  public static boolean intersects(final Shape shapeA, final Shape shapeB) {
+    if (shapeA instanceof Rectangle2D && shapeB instanceof Rectangle2D) {
+      return ((Rectangle2D) shapeA).intersects((Rectangle2D) shapeB);
+    }
+
+    if (isPie(shapeA)) {
+      return intersects((Arc2D) shapeA, shapeB);
+    }
+
+    if (isPie(shapeB)) {
+      return intersects((Arc2D) shapeB, shapeA);
+    }
+
+    if (shapeA instanceof Ellipse2D) {
+      return intersects((Ellipse2D) shapeA, shapeB);
+    }
+
+    if (shapeB instanceof Ellipse2D) {
+      return intersects((Ellipse2D) shapeB, shapeA);
+    }
+
+    final double[] polygonA = getConvexPolygon(shapeA);
+    final double[] polygonB = polygonA != null ? getConvexPolygon(shapeB) : null;
+    if (polygonB == null) {
+      return areaIntersects(shapeA, shapeB);
+    }
+
+    return !hasSeparatingAxis(polygonA, polygonB) && !hasSeparatingAxis(polygonB, polygonA);
+  }
+
+  /**
+   * Checks whether the interiors of the specified ellipse and shape intersect.
+   *
+   * @param ellipse
+   *          The ellipse.
+   * @param shape
+   *          The shape.
+   * @return True if the ellipse and the shape intersect; otherwise false.
+   */
+  public static boolean intersects(final Ellipse2D ellipse, final Shape shape) {
+    if (ellipse.isEmpty()) {
+      return false;
+    }
+
+    if (isPie(shape)) {
+      return intersects((Arc2D) shape, ellipse);
+    }
+
+    final double centerX = ellipse.getCenterX();
+    final double centerY = ellipse.getCenterY();
+    final double radiusX = ellipse.getWidth() / 2.0;
+    final double radiusY = ellipse.getHeight() / 2.0;
+
+    if (shape instanceof Rectangle2D) {
+      final Rectangle2D rectangle = (Rectangle2D) shape;
+      if (rectangle.isEmpty()) {
+        return false;
+      }
+
+      // the closest point of the rectangle to the center of the ellipse, in the space where the ellipse is a unit circle
+      final double closestX = (MathUtilities.clamp(centerX, rectangle.getMinX(), rectangle.getMaxX()) - centerX) / radiusX;
+      final double closestY = (MathUtilities.clamp(centerY, rectangle.getMinY(), rectangle.getMaxY()) - centerY) / radiusY;
+      return closestX * closestX + closestY * closestY < 1;
+    }
+
+    if (shape instanceof Ellipse2D) {
+      final Ellipse2D other = (Ellipse2D) shape;
+      if (other.isEmpty()) {
+        return false;
+      }
+
+      // two circles
+      if (radiusX == radiusY && other.getWidth() == other.getHeight()) {
+        final double distanceX = other.getCenterX() - centerX;
+        final double distanceY = other.getCenterY() - centerY;
+        final double radiusSum = radiusX + other.getWidth() / 2.0;
+        return distanceX * distanceX + distanceY * distanceY < radiusSum * radiusSum;
+      }
+    }
+
+    return intersectsFlattened(ellipse, shape);
+  }
+
+  /**
+   * Checks whether the specified ellipse intersects the flattened outline of the specified shape.
+   */
+  private static boolean intersectsFlattened(final Ellipse2D ellipse, final Shape shape) {
+    final double centerX = ellipse.getCenterX();
+    final double centerY = ellipse.getCenterY();
+    final double radiusX = ellipse.getWidth() / 2.0;
+    final double radiusY = ellipse.getHeight() / 2.0;
+
+    final double[] polygon = getConvexPolygon(shape);
+    if (polygon == null) {
+      return areaIntersects(ellipse, shape);
+    }
+
+    // transform the polygon into the space where the ellipse is a unit circle at the origin
+    for (int i = 0; i < polygon.length; i += 2) {
+      polygon[i] = (polygon[i] - centerX) / radiusX;
+      polygon[i + 1] = (polygon[i + 1] - centerY) / radiusY;
+    }
+
+    return intersectsUnitCircle(polygon, polygon.length);
+  }
+
+  /**
+   * Checks whether the interiors of the specified pie and shape intersect. Pies with an extent of more than 180 degrees are concave and
+   * are therefore tested as two separate halves.
+   *
+   * @param pie
+   *          The pie, i.e. an arc of the type {@link Arc2D#PIE}.
+   * @param shape
+   *          The shape.
+   * @return True if the pie and the shape intersect; otherwise false.
+   */
+  public static boolean intersects(final Arc2D pie, final Shape shape) {
+    if (pie.getArcType() != Arc2D.PIE) {
+      throw new IllegalArgumentException("Only arcs of the type Arc2D.PIE are supported.");
+    }
+
+    if (pie.isEmpty()) {
+      return false;
+    }
+
+    double start = pie.getAngleStart();
+    double extent = pie.getAngleExtent();
+    if (extent < 0) {
+      start += extent;
+      extent = -extent;
+    }
+
+    if (extent >= 360) {
+      return intersects(new Ellipse2D.Double(pie.getX(), pie.getY(), pie.getWidth(), pie.getHeight()), shape);
+    }
+
+    if (extent > 180) {
+      final double half = extent / 2.0;
+      return intersectsConvexPie(pie, start, half, shape) || intersectsConvexPie(pie, start + half, extent - half, shape);
+    }
+
+    return intersectsConvexPie(pie, start, extent, shape);
+  }
+
+  private static boolean isPie(final Shape shape) {
+    return shape instanceof Arc2D && ((Arc2D) shape).getArcType() == Arc2D.PIE;
+  }
+
+  /**
+   * Checks whether a pie with an extent of at most 180 degrees intersects the specified shape by clipping the shape with the wedge of the
+   * pie and checking whether the remainder intersects the pie's ellipse.
+   */
+  private static boolean intersectsConvexPie(final Arc2D pie, final double start, final double extent, final Shape shape) {
+    if (shape instanceof Ellipse2D || isPie(shape) && Math.abs(((Arc2D) shape).getAngleExtent()) > 180) {
+      // the ellipse can't be clipped and the concave pie needs to be split first, so test against the outline of this pie instead
+      final Arc2D convexPie = new Arc2D.Double(pie.getX(), pie.getY(), pie.getWidth(), pie.getHeight(), start, extent, Arc2D.PIE);
+      return shape instanceof Ellipse2D ? intersectsFlattened((Ellipse2D) shape, convexPie) : intersects((Arc2D) shape, convexPie);
+    }
+
+    final double[] polygon = shape instanceof Rectangle2D ? getRectangle((Rectangle2D) shape) : getConvexPolygon(shape);
+    if (polygon == null) {
+      return areaIntersects(new Arc2D.Double(pie.getX(), pie.getY(), pie.getWidth(), pie.getHeight(), start, extent, Arc2D.PIE), shape);
+    }
+
+    // transform the polygon into the space where the pie's ellipse is a unit circle at the origin; the y-axis points upwards in this space
+    // because the angles of an arc are counter-clockwise
+    final double centerX = pie.getCenterX();
+    final double centerY = pie.getCenterY();
+    final double radiusX = pie.getWidth() / 2.0;
+    final double radiusY = pie.getHeight() / 2.0;
+    for (int i = 0; i < polygon.length; i += 2) {
+      polygon[i] = (polygon[i] - centerX) / radiusX;
+      polygon[i + 1] = (centerY - polygon[i + 1]) / radiusY;
+    }
+
+    // the wedge of the pie is the intersection of two half-planes through the origin
+    final double startAngle = Math.toRadians(start);
+    final double endAngle = Math.toRadians(start + extent);
+    final double[] clipped = clip(polygon, polygon.length, -Math.sin(startAngle), Math.cos(startAngle));
+    final double[] wedge = clip(clipped, (int) clipped[clipped.length - 1], Math.sin(endAngle), -Math.cos(endAngle));
+    final int length = (int) wedge[wedge.length - 1];
+
+    // a remainder without any area only touches the wedge
+    if (length < 6 || getDoubleArea(wedge, length) == 0) {
+      return false;
+    }
+
+    return intersectsUnitCircle(wedge, length);
+  }
+
+  private static double[] getRectangle(final Rectangle2D rectangle) {
+    if (rectangle.isEmpty()) {
+      return null;
+    }
+
+    return new double[] { rectangle.getMinX(), rectangle.getMinY(), rectangle.getMaxX(), rectangle.getMinY(), rectangle.getMaxX(), rectangle.getMaxY(), rectangle.getMinX(), rectangle.getMaxY() };
+  }
+
+  /**
+   * Clips the specified convex polygon with the half-plane of all points p for which normalX * p.x + normalY * p.y &gt;= 0.
+   *
+   * @return The coordinates of the clipped polygon; the last element of the array holds the number of coordinates.
+   */
+  private static double[] clip(final double[] polygon, final int length, final double normalX, final double normalY) {
+    final double[] clipped = new double[length + 5];
+    int clippedLength = 0;
+    for (int i = 0; i < length; i += 2) {
+      final int j = (i + 2) % length;
+      final double distance = polygon[i] * normalX + polygon[i + 1] * normalY;
+      final double nextDistance = polygon[j] * normalX + polygon[j + 1] * normalY;
+      if (distance >= 0) {
+        clipped[clippedLength++] = polygon[i];
+        clipped[clippedLength++] = polygon[i + 1];
+      }
+
+      // the edge crosses the border of the half-plane
+      if (distance >= 0 != nextDistance >= 0) {
+        final double t = distance / (distance - nextDistance);
+        clipped[clippedLength++] = polygon[i] + t * (polygon[j] - polygon[i]);
+        clipped[clippedLength++] = polygon[i + 1] + t * (polygon[j + 1] - polygon[i + 1]);
+      }
+    }
+
+    clipped[clipped.length - 1] = clippedLength;
+    return clipped;
+  }
+
+  private static double getDoubleArea(final double[] polygon, final int length) {
+    double area = 0;
+    for (int i = 0; i < length; i += 2) {
+      final int j = (i + 2) % length;
+      area += polygon[i] * polygon[j + 1] - polygon[j] * polygon[i + 1];
+    }
+
+    return area;
+  }
+
+  /**
+   * Gets the vertices of the outline of the specified shape, if it is a single convex polygon. Curved segments are flattened.
+   *
+   * @return The coordinates of the vertices as [x0, y0, x1, y1, ...] or null if the shape is not a convex polygon.
+   */
+  private static double[] getConvexPolygon(final Shape shape) {
+    final PathIterator iterator = shape.getPathIterator(null, FLATNESS);
+    final double[] coords = new double[6];
+    double[] polygon = new double[16];
+    int length = 0;
+    while (!iterator.isDone()) {
+      switch (iterator.currentSegment(coords)) {
+      case PathIterator.SEG_MOVETO:
+        if (length > 0) {
+          // the shape consists of multiple polygons
+          return null;
+        }
+
+        polygon[length++] = coords[0];
+        polygon[length++] = coords[1];
+        break;
+      case PathIterator.SEG_LINETO:
+        if (coords[0] == polygon[length - 2] && coords[1] == polygon[length - 1]) {
+          break;
+        }
+
+        if (length == polygon.length) {
+          polygon = Arrays.copyOf(polygon, length * 2);
+        }
+
+        polygon[length++] = coords[0];
+        polygon[length++] = coords[1];
+        break;
+      default:
+        break;
+      }
+
+      iterator.next();
+    }
+
+    // the closing segment is implicit
+    if (length > 2 && polygon[0] == polygon[length - 2] && polygon[1] == polygon[length - 1]) {
+      length -= 2;
+    }
+
+    if (length < 6 || !isConvex(polygon, length)) {
+      return null;
+    }
+
+    return Arrays.copyOf(polygon, length);
+  }
+
+  /**
+   * Checks whether the specified polygon is convex. This is the case if all its corners turn in the same direction and the edges only turn
+   * around once, which excludes self-intersecting polygons like pentagrams.
+   */
+  private static boolean isConvex(final double[] polygon, final int length) {
+    int turn = 0;
+    int signChangesX = 0;
+    int signChangesY = 0;
+    double lastDeltaX = 0;
+    double lastDeltaY = 0;
+    for (int i = 0; i < length; i += 2) {
+      final int j = (i + 2) % length;
+      final int k = (i + 4) % length;
+      final double deltaX = polygon[j] - polygon[i];
+      final double deltaY = polygon[j + 1] - polygon[i + 1];
+
+      final double nextDeltaX = polygon[k] - polygon[j];
+      final double nextDeltaY = polygon[k + 1] - polygon[j + 1];
+      final double cross = deltaX * nextDeltaY - deltaY * nextDeltaX;
+      if (Math.abs(cross) > CONVEXITY_EPSILON * Math.sqrt((deltaX * deltaX + deltaY * deltaY) * (nextDeltaX * nextDeltaX + nextDeltaY * nextDeltaY))) {
+        final int sign = cross > 0 ? 1 : -1;
+        if (turn != 0 && sign != turn) {
+          return false;
+        }
+
+        turn = sign;
+      }
+
+      if (deltaX != 0) {
+        if (lastDeltaX != 0 && deltaX > 0 != lastDeltaX > 0) {
+          signChangesX++;
+        }
+
+        lastDeltaX = deltaX;
+      }
+
+      if (deltaY != 0) {
+        if (lastDeltaY != 0 && deltaY > 0 != lastDeltaY > 0) {
+          signChangesY++;
+        }
+
+        lastDeltaY = deltaY;
+      }
+    }
+
+    // the direction of a convex outline changes its sign at most twice per axis
+    return turn != 0 && signChangesX <= 2 && signChangesY <= 2;
+  }
+
+  /**
+   * Checks whether any edge normal of the specified polygon separates the projections of both polygons.
+   */
+  private static boolean hasSeparatingAxis(final double[] polygon, final double[] other) {
+    for (int i = 0; i < polygon.length; i += 2) {
+      final int j = (i + 2) % polygon.length;
+      final double axisX = polygon[i + 1] - polygon[j + 1];
+      final double axisY = polygon[j] - polygon[i];
+
+      double min = Double.POSITIVE_INFINITY;
+      double max = Double.NEGATIVE_INFINITY;
+      for (int v = 0; v < polygon.length; v += 2) {
+        final double projection = polygon[v] * axisX + polygon[v + 1] * axisY;
+        min = Math.min(min, projection);
+        max = Math.max(max, projection);
+      }
+
+      double otherMin = Double.POSITIVE_INFINITY;
+      double otherMax = Double.NEGATIVE_INFINITY;
+      for (int v = 0; v < other.length; v += 2) {
+        final double projection = other[v] * axisX + other[v + 1] * axisY;
+        otherMin = Math.min(otherMin, projection);
+        otherMax = Math.max(otherMax, projection);
+      }
+
+      if (max <= otherMin || otherMax <= min) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Checks whether the specified convex polygon intersects the unit circle at the origin.
+   */
+  private static boolean intersectsUnitCircle(final double[] polygon, final int length) {
+    boolean containsOrigin = true;
+    int turn = 0;
+    for (int i = 0; i < length; i += 2) {
+      final int j = (i + 2) % length;
+      final double x1 = polygon[i];
+      final double y1 = polygon[i + 1];
+      final double edgeX = polygon[j] - x1;
+      final double edgeY = polygon[j + 1] - y1;
+
+      // the distance between the origin and the closest point of the edge
+      final double lengthSq = edgeX * edgeX + edgeY * edgeY;
+      final double t = lengthSq == 0 ? 0 : MathUtilities.clamp(-(x1 * edgeX + y1 * edgeY) / lengthSq, 0, 1);
+      final double closestX = x1 + t * edgeX;
+      final double closestY = y1 + t * edgeY;
+      if (closestX * closestX + closestY * closestY < 1) {
+        return true;
+      }
+
+      // the origin is contained if it's on the same side of all edges
+      final double cross = edgeX * -y1 - edgeY * -x1;
+      if (cross != 0) {
+        final int sign = cross > 0 ? 1 : -1;
+        if (turn != 0 && sign != turn) {
+          containsOrigin = false;
+        }
+
+        turn = sign;
+      }
+    }
+
+    return containsOrigin;
+  }
+
+  private static boolean areaIntersects(final Shape shapeA, final Shape shapeB) {
+    final Area areaA = new Area(shapeA);
+    areaA.intersect(new Area(shapeB));
+    return !areaA.isEmpty();
+  }
+}
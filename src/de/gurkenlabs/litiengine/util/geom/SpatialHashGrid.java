@@ -0,0 +1,697 @@
+package de.gurkenlabs.litiengine.util.geom;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A uniform grid that buckets objects by the cells that are overlapped by their bounding rectangle.
+ * <p>
+ * This is used as broadphase for spatial queries: Instead of testing every known object against a region, only the objects that share a
+ * cell with the queried rectangle, point or line are considered as candidates. The bounds of an object are retrieved by the function that is
+ * passed to the constructor.
+ * </p>
+ *
+ * <p>
+ * Objects that change their bounds need to be either invalidated (which will lazily update them upon the next query) or updated explicitly.
+ * Objects that would span a very large number of cells are kept in a separate list that is checked by every query.
+ * </p>
+ *
+ * <p>
+ * Queries can be nested, i.e. a predicate or callback may query the same grid again. Invalidated objects are only updated
+ * before the outermost query, so that the cells aren't changed while they are iterated.
+ * </p>
+ *
+ * @param <T>
+ *          The type of the objects that are held by this grid.
+ */
+public class SpatialHashGrid<T> implements ISpatialIndex<T> {
+  public static final double DEFAULT_CELL_SIZE = 64;
+
+  private static final int MAX_CELLS_PER_ITEM = 256;
+
+  private final double cellSize;
+  private final Function<? super T, Rectangle2D> boundsProvider;
+
+  private final Map<T, Entry<T>> entries = new IdentityHashMap<>();
+  private final List<Entry<T>> entryList = new ArrayList<>();
+  private final List<Entry<T>> oversized = new ArrayList<>();
+  private final List<Entry<T>> dirty = new ArrayList<>();
+  private final CellTable<T> cells = new CellTable<>();
+
+  private long stamp;
+  private int queryDepth;
+
+  /**
+   * Initializes a new instance of the <code>SpatialHashGrid</code> class with the default cell size.
+   *
+   * @param boundsProvider
+   *          The function that provides the bounds of the objects in this grid.
+   */
+  public SpatialHashGrid(Function<? super T, Rectangle2D> boundsProvider) {
+    this(boundsProvider, DEFAULT_CELL_SIZE);
+  }
+
+  /**
+   * Initializes a new instance of the <code>SpatialHashGrid</code> class.
+   *
+   * @param boundsProvider
+   *          The function that provides the bounds of the objects in this grid.
+   * @param cellSize
+   *          The size of a single (quadratic) cell of this grid.
+   */
+  public SpatialHashGrid(Function<? super T, Rectangle2D> boundsProvider, double cellSize) {
+    if (cellSize <= 0) {
+      throw new IllegalArgumentException("The cell size of a spatial hash grid must be greater than zero.");
+    }
+
+    this.boundsProvider = boundsProvider;
+    this.cellSize = cellSize;
+  }
+
+  public double getCellSize() {
+    return this.cellSize;
+  }
+
+  @Override
+  public synchronized void add(T item) {
+    Entry<T> entry = this.entries.get(item);
+    if (entry == null) {
+      entry = new Entry<>(item);
+      this.entries.put(item, entry);
+      entry.index = this.entryList.size();
+      this.entryList.add(entry);
+    } else {
+      this.unlink(entry);
+    }
+
+    this.link(entry);
+  }
+
+  @Override
+  public synchronized boolean remove(T item) {
+    final Entry<T> entry = this.entries.remove(item);
+    if (entry == null) {
+      return false;
+    }
+
+    // swap the last entry into the place of the removed one
+    final Entry<T> last = this.entryList.remove(this.entryList.size() - 1);
+    if (last != entry) {
+      last.index = entry.index;
+      this.entryList.set(entry.index, last);
+    }
+
+    this.unlink(entry);
+    if (entry.dirty) {
+      this.dirty.remove(entry);
+      entry.dirty = false;
+    }
+
+    return true;
+  }
+
+  @Override
+  public synchronized void invalidate(T item) {
+    final Entry<T> entry = this.entries.get(item);
+    if (entry == null || entry.dirty) {
+      return;
+    }
+
+    entry.dirty = true;
+    this.dirty.add(entry);
+  }
+
+  @Override
+  public synchronized void update(T item) {
+    final Entry<T> entry = this.entries.get(item);
+    if (entry != null) {
+      this.relink(entry);
+    }
+  }
+
+  @Override
+  public synchronized void updateAll() {
+    for (int i = 0; i < this.entryList.size(); i++) {
+      this.relink(this.entryList.get(i));
+    }
+
+    this.clearDirty();
+  }
+
+  @Override
+  public synchronized boolean contains(T item) {
+    return this.entries.containsKey(item);
+  }
+
+  @Override
+  public synchronized int size() {
+    return this.entries.size();
+  }
+
+  synchronized int getCellCount() {
+    this.flushDirty();
+    return this.cells.size;
+  }
+
+  @Override
+  public synchronized void clear() {
+    this.entries.clear();
+    this.entryList.clear();
+    this.oversized.clear();
+    this.dirty.clear();
+    this.cells.clear();
+  }
+
+  @Override
+  public synchronized boolean anyMatch(double x, double y, double width, double height, Predicate<? super T> predicate) {
+    final int depth = this.beginQuery();
+    try {
+      return this.anyMatch(depth, ++this.stamp, x, y, width, height, predicate);
+    } finally {
+      this.queryDepth--;
+    }
+  }
+
+  @Override
+  public synchronized boolean anyMatchAlongLine(double x1, double y1, double x2, double y2, Predicate<? super T> predicate) {
+    final int depth = this.beginQuery();
+    try {
+      return this.anyMatchAlongLine(depth, ++this.stamp, x1, y1, x2, y2, predicate);
+    } finally {
+      this.queryDepth--;
+    }
+  }
+
+  @Override
+  public synchronized void raycast(double x1, double y1, double x2, double y2, IRaycastCallback<? super T> callback) {
+    final int depth = this.beginQuery();
+    try {
+      this.raycast(depth, ++this.stamp, x1, y1, x2, y2, callback);
+    } finally {
+      this.queryDepth--;
+    }
+  }
+
+  private boolean anyMatch(int depth, long currentStamp, double x, double y, double width, double height, Predicate<? super T> predicate) {
+    final double maxX = x + width;
+    final double maxY = y + height;
+
+    for (int i = 0; i < this.oversized.size(); i++) {
+      final Entry<T> entry = this.oversized.get(i);
+      if (entry.overlaps(x, y, maxX, maxY) && predicate.test(entry.item)) {
+        return true;
+      }
+    }
+
+    final int cx0 = this.cell(x);
+    final int cy0 = this.cell(y);
+    final int cx1 = this.cell(maxX);
+    final int cy1 = this.cell(maxY);
+
+    // the query covers more cells than there are items, so it's cheaper to test all of them
+    if ((long) (cx1 - cx0 + 1) * (cy1 - cy0 + 1) > this.entries.size()) {
+      for (int i = 0; i < this.entryList.size(); i++) {
+        final Entry<T> entry = this.entryList.get(i);
+        if (entry.linked && !entry.oversized && entry.overlaps(x, y, maxX, maxY) && predicate.test(entry.item)) {
+          return true;
+        }
+      }
+
+      return false;
+    }
+
+    for (int cx = cx0; cx <= cx1; cx++) {
+      for (int cy = cy0; cy <= cy1; cy++) {
+        final Cell<T> cell = this.cells.get(cx, cy);
+        if (cell == null) {
+          continue;
+        }
+
+        for (int i = 0; i < cell.size; i++) {
+          final Entry<T> entry = cell.entries[i];
+          if (entry.visit(depth, currentStamp) && entry.overlaps(x, y, maxX, maxY) && predicate.test(entry.item)) {
+            return true;
+          }
+        }
+      }
+    }
+
+    return false;
+  }
+
+  private boolean anyMatchAlongLine(int depth, long currentStamp, double x1, double y1, double x2, double y2, Predicate<? super T> predicate) {
+    final double minX = Math.min(x1, x2);
+    final double minY = Math.min(y1, y2);
+    final double maxX = Math.max(x1, x2);
+    final double maxY = Math.max(y1, y2);
+
+    for (int i = 0; i < this.oversized.size(); i++) {
+      final Entry<T> entry = this.oversized.get(i);
+      if (entry.overlaps(minX, minY, maxX, maxY) && predicate.test(entry.item)) {
+        return true;
+      }
+    }
+
+    int cx = this.cell(x1);
+    int cy = this.cell(y1);
+    final int endX = this.cell(x2);
+    final int endY = this.cell(y2);
+
+    final double dx = x2 - x1;
+    final double dy = y2 - y1;
+    final int stepX = dx > 0 ? 1 : dx < 0 ? -1 : 0;
+    final int stepY = dy > 0 ? 1 : dy < 0 ? -1 : 0;
+
+    // the parametric distance along the line to the next vertical/horizontal cell border and the distance between two borders
+    final double deltaX = stepX != 0 ? this.cellSize / Math.abs(dx) : Double.POSITIVE_INFINITY;
+    final double deltaY = stepY != 0 ? this.cellSize / Math.abs(dy) : Double.POSITIVE_INFINITY;
+    double maxTx = stepX > 0 ? ((cx + 1) * this.cellSize - x1) / dx : stepX < 0 ? (cx * this.cellSize - x1) / dx : Double.POSITIVE_INFINITY;
+    double maxTy = stepY > 0 ? ((cy + 1) * this.cellSize - y1) / dy : stepY < 0 ? (cy * this.cellSize - y1) / dy : Double.POSITIVE_INFINITY;
+
+    final int maxSteps = Math.abs(endX - cx) + Math.abs(endY - cy) + 1;
+    for (int i = 0; i < maxSteps * 2; i++) {
+      if (this.testCell(cx, cy, depth, currentStamp, minX, minY, maxX, maxY, predicate)) {
+        return true;
+      }
+
+      if (cx == endX && cy == endY) {
+        break;
+      }
+
+      if (maxTx < maxTy) {
+        cx += stepX;
+        maxTx += deltaX;
+      } else if (maxTy < maxTx) {
+        cy += stepY;
+        maxTy += deltaY;
+      } else {
+        // the line passes exactly through a corner: also visit both adjacent cells
+        if (this.testCell(cx + stepX, cy, depth, currentStamp, minX, minY, maxX, maxY, predicate) || this.testCell(cx, cy + stepY, depth, currentStamp, minX, minY, maxX, maxY, predicate)) {
+          return true;
+        }
+
+        cx += stepX;
+        cy += stepY;
+        maxTx += deltaX;
+        maxTy += deltaY;
+      }
+    }
+
+    return false;
+  }
+
+  private void raycast(int depth, long currentStamp, double x1, double y1, double x2, double y2, IRaycastCallback<? super T> callback) {
+    double maxFraction = 1;
+
+    for (int i = 0; i < this.oversized.size(); i++) {
+      final Entry<T> entry = this.oversized.get(i);
+      final double fraction = GeometricUtilities.getIntersectionFraction(x1, y1, x2, y2, entry.minX, entry.minY, entry.maxX, entry.maxY);
+      if (fraction >= 0 && fraction <= maxFraction) {
+        maxFraction = Math.min(maxFraction, callback.hit(entry.item, maxFraction));
+        if (maxFraction <= 0) {
+          return;
+        }
+      }
+    }
+
+    int cx = this.cell(x1);
+    int cy = this.cell(y1);
+    final int endX = this.cell(x2);
+    final int endY = this.cell(y2);
+
+    final double dx = x2 - x1;
+    final double dy = y2 - y1;
+    final int stepX = dx > 0 ? 1 : dx < 0 ? -1 : 0;
+    final int stepY = dy > 0 ? 1 : dy < 0 ? -1 : 0;
+
+    final double deltaX = stepX != 0 ? this.cellSize / Math.abs(dx) : Double.POSITIVE_INFINITY;
+    final double deltaY = stepY != 0 ? this.cellSize / Math.abs(dy) : Double.POSITIVE_INFINITY;
+    double maxTx = stepX > 0 ? ((cx + 1) * this.cellSize - x1) / dx : stepX < 0 ? (cx * this.cellSize - x1) / dx : Double.POSITIVE_INFINITY;
+    double maxTy = stepY > 0 ? ((cy + 1) * this.cellSize - y1) / dy : stepY < 0 ? (cy * this.cellSize - y1) / dy : Double.POSITIVE_INFINITY;
+
+    final int maxSteps = Math.abs(endX - cx) + Math.abs(endY - cy) + 1;
+    for (int i = 0; i < maxSteps * 2; i++) {
+      maxFraction = this.raycastCell(cx, cy, depth, currentStamp, x1, y1, x2, y2, maxFraction, callback);
+
+      // all remaining cells are entered behind the closest hit
+      if (maxFraction <= 0 || cx == endX && cy == endY || Math.min(maxTx, maxTy) > maxFraction) {
+        return;
+      }
+
+      if (maxTx < maxTy) {
+        cx += stepX;
+        maxTx += deltaX;
+      } else if (maxTy < maxTx) {
+        cy += stepY;
+        maxTy += deltaY;
+      } else {
+        maxFraction = this.raycastCell(cx + stepX, cy, depth, currentStamp, x1, y1, x2, y2, maxFraction, callback);
+        maxFraction = this.raycastCell(cx, cy + stepY, depth, currentStamp, x1, y1, x2, y2, maxFraction, callback);
+        cx += stepX;
+        cy += stepY;
+        maxTx += deltaX;
+        maxTy += deltaY;
+      }
+    }
+  }
+
+  private double raycastCell(int cx, int cy, int depth, long currentStamp, double x1, double y1, double x2, double y2, double maxFraction, IRaycastCallback<? super T> callback) {
+    final Cell<T> cell = this.cells.get(cx, cy);
+    if (cell == null || maxFraction <= 0) {
+      return maxFraction;
+    }
+
+    double fraction = maxFraction;
+    for (int i = 0; i < cell.size; i++) {
+      final Entry<T> entry = cell.entries[i];
+      if (!entry.visit(depth, currentStamp)) {
+        continue;
+      }
+
+      final double entryFraction = GeometricUtilities.getIntersectionFraction(x1, y1, x2, y2, entry.minX, entry.minY, entry.maxX, entry.maxY);
+      if (entryFraction >= 0 && entryFraction <= fraction) {
+        fraction = Math.min(fraction, callback.hit(entry.item, fraction));
+        if (fraction <= 0) {
+          return 0;
+        }
+      }
+    }
+
+    return fraction;
+  }
+
+  private boolean testCell(int cx, int cy, int depth, long currentStamp, double minX, double minY, double maxX, double maxY, Predicate<? super T> predicate) {
+    final Cell<T> cell = this.cells.get(cx, cy);
+    if (cell == null) {
+      return false;
+    }
+
+    for (int i = 0; i < cell.size; i++) {
+      final Entry<T> entry = cell.entries[i];
+      if (entry.visit(depth, currentStamp) && entry.overlaps(minX, minY, maxX, maxY) && predicate.test(entry.item)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private int cell(double coordinate) {
+    final double cell = Math.floor(coordinate / this.cellSize);
+    if (cell >= Integer.MAX_VALUE) {
+      return Integer.MAX_VALUE - 1;
+    }
+
+    if (cell <= Integer.MIN_VALUE) {
+      return Integer.MIN_VALUE + 1;
+    }
+
+    return (int) cell;
+  }
+
+  private int beginQuery() {
+    // nested queries must not relink entries while an outer query iterates the cells
+    if (this.queryDepth == 0) {
+      this.flushDirty();
+    }
+
+    return this.queryDepth++;
+  }
+
+  private void flushDirty() {
+    if (this.dirty.isEmpty()) {
+      return;
+    }
+
+    for (int i = 0; i < this.dirty.size(); i++) {
+      final Entry<T> entry = this.dirty.get(i);
+      entry.dirty = false;
+      this.relink(entry);
+    }
+
+    this.dirty.clear();
+  }
+
+  private void clearDirty() {
+    for (int i = 0; i < this.dirty.size(); i++) {
+      this.dirty.get(i).dirty = false;
+    }
+
+    this.dirty.clear();
+  }
+
+  private void relink(Entry<T> entry) {
+    final Rectangle2D bounds = this.boundsProvider.apply(entry.item);
+    if (bounds != null && entry.linked && !entry.oversized && this.cell(bounds.getMinX()) == entry.cx0 && this.cell(bounds.getMinY()) == entry.cy0 && this.cell(bounds.getMaxX()) == entry.cx1 && this.cell(bounds.getMaxY()) == entry.cy1) {
+      // the item still occupies the same cells
+      entry.setBounds(bounds);
+      return;
+    }
+
+    this.unlink(entry);
+    this.link(entry);
+  }
+
+  private void link(Entry<T> entry) {
+    final Rectangle2D bounds = this.boundsProvider.apply(entry.item);
+    if (bounds == null) {
+      // items without bounds cannot be found by any query until they are updated
+      return;
+    }
+
+    entry.setBounds(bounds);
+    entry.cx0 = this.cell(bounds.getMinX());
+    entry.cy0 = this.cell(bounds.getMinY());
+    entry.cx1 = this.cell(bounds.getMaxX());
+    entry.cy1 = this.cell(bounds.getMaxY());
+    entry.linked = true;
+
+    if ((long) (entry.cx1 - entry.cx0 + 1) * (entry.cy1 - entry.cy0 + 1) > MAX_CELLS_PER_ITEM) {
+      entry.oversized = true;
+      this.oversized.add(entry);
+      return;
+    }
+
+    for (int cx = entry.cx0; cx <= entry.cx1; cx++) {
+      for (int cy = entry.cy0; cy <= entry.cy1; cy++) {
+        this.cells.getOrCreate(cx, cy).add(entry);
+      }
+    }
+  }
+
+  private void unlink(Entry<T> entry) {
+    if (!entry.linked) {
+      return;
+    }
+
+    entry.linked = false;
+    if (entry.oversized) {
+      entry.oversized = false;
+      this.oversized.remove(entry);
+      return;
+    }
+
+    for (int cx = entry.cx0; cx <= entry.cx1; cx++) {
+      for (int cy = entry.cy0; cy <= entry.cy1; cy++) {
+        final Cell<T> cell = this.cells.get(cx, cy);
+        if (cell != null && cell.remove(entry) && cell.size == 0) {
+          // empty cells are dropped so that moving items don't grow the table without bounds
+          this.cells.remove(cx, cy);
+        }
+      }
+    }
+  }
+
+  private static final class Entry<T> {
+    private final T item;
+    private double minX;
+    private double minY;
+    private double maxX;
+    private double maxY;
+    private int cx0;
+    private int cy0;
+    private int cx1;
+    private int cy1;
+    private int index;
+    // the stamp of the last query that visited this entry, per depth of nested queries
+    private long[] stamps = new long[1];
+    private boolean linked;
+    private boolean oversized;
+    private boolean dirty;
+
+    private Entry(T item) {
+      this.item = item;
+    }
+
+    private void setBounds(Rectangle2D bounds) {
+      this.minX = bounds.getMinX();
+      this.minY = bounds.getMinY();
+      this.maxX = bounds.getMaxX();
+      this.maxY = bounds.getMaxY();
+    }
+
+    private boolean overlaps(double x0, double y0, double x1, double y1) {
+      return this.minX <= x1 && this.maxX >= x0 && this.minY <= y1 && this.maxY >= y0;
+    }
+
+    private boolean visit(int depth, long stamp) {
+      if (depth >= this.stamps.length) {
+        this.stamps = Arrays.copyOf(this.stamps, depth + 1);
+      }
+
+      if (this.stamps[depth] == stamp) {
+        return false;
+      }
+
+      this.stamps[depth] = stamp;
+      return true;
+    }
+  }
+
+  private static final class Cell<T> {
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Entry<T>[] entries = new Entry[4];
+    private int size;
+
+    private void add(Entry<T> entry) {
+      if (this.size == this.entries.length) {
+        this.entries = Arrays.copyOf(this.entries, this.size * 2);
+      }
+
+      this.entries[this.size++] = entry;
+    }
+
+    private boolean remove(Entry<T> entry) {
+      for (int i = 0; i < this.size; i++) {
+        if (this.entries[i] == entry) {
+          this.entries[i] = this.entries[--this.size];
+          this.entries[this.size] = null;
+          return true;
+        }
+      }
+
+      return false;
+    }
+  }
+
+  /**
+   * An open addressing hash table with linear probing that maps the packed coordinates of a cell to the cell itself
+   * without boxing the key.
+   */
+  private static final class CellTable<T> {
+    private long[] keys = new long[64];
+    private Cell<T>[] values = newCells(64);
+    private int size;
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static <T> Cell<T>[] newCells(int capacity) {
+      return new Cell[capacity];
+    }
+
+    private static long key(int cx, int cy) {
+      return ((long) cx << 32) | (cy & 0xffffffffL);
+    }
+
+    private static int hash(long key, int mask) {
+      final long h = key * 0x9E3779B97F4A7C15L;
+      return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private Cell<T> get(int cx, int cy) {
+      final long key = key(cx, cy);
+      final int mask = this.keys.length - 1;
+      for (int i = hash(key, mask);; i = (i + 1) & mask) {
+        final Cell<T> cell = this.values[i];
+        if (cell == null || this.keys[i] == key) {
+          return cell;
+        }
+      }
+    }
+
+    private Cell<T> getOrCreate(int cx, int cy) {
+      final long key = key(cx, cy);
+      final int mask = this.keys.length - 1;
+      int i = hash(key, mask);
+      for (;; i = (i + 1) & mask) {
+        final Cell<T> cell = this.values[i];
+        if (cell == null) {
+          break;
+        }
+
+        if (this.keys[i] == key) {
+          return cell;
+        }
+      }
+
+      final Cell<T> cell = new Cell<>();
+      this.keys[i] = key;
+      this.values[i] = cell;
+      if (++this.size * 2 > this.keys.length) {
+        this.grow();
+      }
+
+      return cell;
+    }
+
+    private void remove(int cx, int cy) {
+      final long key = key(cx, cy);
+      final int mask = this.keys.length - 1;
+      int i = hash(key, mask);
+      while (this.values[i] != null && this.keys[i] != key) {
+        i = (i + 1) & mask;
+      }
+
+      if (this.values[i] == null) {
+        return;
+      }
+
+      // shift the following cells of the probe sequence back so that no lookup stops at the freed slot
+      int gap = i;
+      for (int j = (gap + 1) & mask; this.values[j] != null; j = (j + 1) & mask) {
+        final int home = hash(this.keys[j], mask);
+        if (((j - home) & mask) >= ((j - gap) & mask)) {
+          this.keys[gap] = this.keys[j];
+          this.values[gap] = this.values[j];
+          gap = j;
+        }
+      }
+
+      this.keys[gap] = 0;
+      this.values[gap] = null;
+      this.size--;
+    }
+
+    private void grow() {
+      final long[] oldKeys = this.keys;
+      final Cell<T>[] oldValues = this.values;
+      this.keys = new long[oldKeys.length * 2];
+      this.values = newCells(oldKeys.length * 2);
+      final int mask = this.keys.length - 1;
+      for (int j = 0; j < oldKeys.length; j++) {
+        if (oldValues[j] == null) {
+          continue;
+        }
+
+        int i = hash(oldKeys[j], mask);
+        while (this.values[i] != null) {
+          i = (i + 1) & mask;
+        }
+
+        this.keys[i] = oldKeys[j];
+        this.values[i] = oldValues[j];
+      }
+    }
+
+    private void clear() {
+      this.keys = new long[64];
+      this.values = newCells(64);
+      this.size = 0;
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package de.gurkenlabs.litiengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class TimingWheelTests {
+
+  @Test
+  public void testActionsAreExecutedWhenDue() {
+    TimingWheel wheel = new TimingWheel();
+    List<String> executed = new ArrayList<>();
+    wheel.schedule(5, () -> executed.add("5"));
+    wheel.schedule(3, () -> executed.add("3"));
+    final int cancelled = wheel.schedule(4, () -> executed.add("4"));
+    final int rescheduled = wheel.schedule(2, () -> executed.add("2"));
+
+    assertTrue(wheel.cancel(cancelled));
+    assertFalse(wheel.cancel(cancelled));
+    assertTrue(wheel.reschedule(rescheduled, 1000));
+
+    List<Runnable> due = new ArrayList<>();
+    wheel.advance(4, due);
+    due.forEach(Runnable::run);
+    assertEquals(1, executed.size());
+    assertEquals("3", executed.get(0));
+
+    due.clear();
+    wheel.advance(999, due);
+    assertEquals(1, due.size());
+
+    due.clear();
+    wheel.advance(1000, due);
+    assertEquals(1, due.size());
+    assertEquals(0, wheel.size());
+
+    // actions for past ticks are executed with the next tick
+    wheel.schedule(10, () -> executed.add("10"));
+    due.clear();
+    wheel.advance(1001, due);
+    assertEquals(1, due.size());
+  }
+
+  @Test
+  public void testMatchesBruteForce() {
+    final Random rand = new Random(13);
+    TimingWheel wheel = new TimingWheel();
+    Map<Integer, Long> expected = new HashMap<>();
+    Map<Integer, Long> executed = new HashMap<>();
+
+    List<Runnable> due = new ArrayList<>();
+    for (long tick = 0; tick < 300000; tick++) {
+      if (rand.nextInt(4) == 0) {
+        // cover the lower levels as well as actions that need to be cascaded multiple times
+        final long delta = rand.nextBoolean() ? rand.nextInt(300) : rand.nextInt(200000);
+        final long execution = tick + delta;
+        final int[] index = new int[1];
+        index[0] = wheel.schedule(execution, () -> executed.put(index[0], -1L));
+        expected.put(index[0], execution);
+      }
+
+      if (rand.nextInt(10) == 0 && !expected.isEmpty()) {
+        final int index = rand.nextInt(expected.size() * 2);
+        if (expected.containsKey(index)) {
+          if (rand.nextBoolean()) {
+            assertTrue(wheel.cancel(index));
+            expected.remove(index);
+          } else {
+            final long execution = tick + rand.nextInt(70000);
+            assertTrue(wheel.reschedule(index, execution));
+            expected.put(index, execution);
+          }
+        }
+      }
+
+      wheel.advance(tick, due);
+      for (Runnable action : due) {
+        action.run();
+      }
+
+      due.clear();
+      for (Map.Entry<Integer, Long> entry : executed.entrySet()) {
+        assertEquals(tick, (long) expected.remove(entry.getKey()));
+      }
+
+      executed.clear();
+    }
+
+    assertEquals(expected.size(), wheel.size());
+  }
+
+  @Test
+  public void testFarActions() {
+    TimingWheel wheel = new TimingWheel();
+    final long far = (1L << 40) + 17;
+    wheel.schedule(far, () -> {
+    });
+
+    List<Runnable> due = new ArrayList<>();
+    wheel.advance(1L << 33, due);
+    assertTrue(due.isEmpty());
+    assertEquals(1, wheel.size());
+  }
+}
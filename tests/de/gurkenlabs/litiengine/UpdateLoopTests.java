@@ -0,0 +1,168 @@
+package de.gurkenlabs.litiengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.awt.geom.Point2D;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.entities.IEntityController;
+
+public class UpdateLoopTests {
+
+  @Test
+  public void testUpdateInterval() {
+    UpdateLoop loop = new UpdateLoop("Test Loop", 60);
+    AtomicInteger everyTick = new AtomicInteger();
+    AtomicInteger everyFourthTick = new AtomicInteger();
+    IUpdateable slow = everyFourthTick::incrementAndGet;
+    loop.attach(everyTick::incrementAndGet);
+    loop.attach(slow, 4);
+
+    for (int i = 0; i < 40; i++) {
+      loop.update();
+    }
+
+    assertEquals(40, everyTick.get());
+    assertEquals(10, everyFourthTick.get());
+
+    loop.detach(slow);
+    for (int i = 0; i < 40; i++) {
+      loop.update();
+    }
+
+    assertEquals(80, everyTick.get());
+    assertEquals(10, everyFourthTick.get());
+  }
+
+  @Test
+  public void testUpdatePolicy() {
+    UpdateLoop loop = new UpdateLoop("Test Loop", 60);
+    AtomicInteger near = new AtomicInteger();
+    AtomicInteger far = new AtomicInteger();
+    IUpdateable farUpdatable = far::incrementAndGet;
+    loop.attach(near::incrementAndGet);
+    loop.attach(farUpdatable);
+    loop.setUpdatePolicy((updatable, interval) -> updatable == farUpdatable ? 8 : interval);
+
+    for (int i = 0; i < 80; i++) {
+      loop.update();
+    }
+
+    assertEquals(80, near.get());
+
+    // the first update happens before the policy is applied
+    assertEquals(10, far.get());
+  }
+
+  @Test
+  public void testParallelPhases() {
+    UpdateLoop loop = new UpdateLoop("Test Loop", 60);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    loop.setUpdatePool(pool);
+
+    AtomicInteger animations = new AtomicInteger();
+    AtomicInteger lateAnimations = new AtomicInteger();
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    for (int i = 0; i < 200; i++) {
+      loop.attach(new IUpdateable() {
+        @Override
+        public void update() {
+          threads.add(Thread.currentThread());
+          animations.incrementAndGet();
+        }
+
+        @Override
+        public UpdatePhase getUpdatePhase() {
+          return UpdatePhase.ANIMATION;
+        }
+      });
+    }
+
+    // the emitter phase starts only after all animations of the tick were updated
+    loop.attach(new IUpdateable() {
+      @Override
+      public void update() {
+        if (animations.get() % 200 != 0) {
+          lateAnimations.incrementAndGet();
+        }
+      }
+
+      @Override
+      public UpdatePhase getUpdatePhase() {
+        return UpdatePhase.EMITTERS;
+      }
+    });
+
+    for (int i = 0; i < 20; i++) {
+      loop.update();
+    }
+
+    pool.shutdown();
+    assertEquals(4000, animations.get());
+    assertEquals(0, lateAnimations.get());
+    assertTrue(threads.stream().allMatch(t -> t != Thread.currentThread()));
+  }
+
+  @Test
+  public void testDistanceUpdatePolicy() {
+    IEntity entity = mock(IEntity.class);
+    IEntityController controller = mock(IEntityController.class);
+    when(controller.getEntity()).thenReturn(entity);
+
+    DistanceUpdatePolicy policy = new DistanceUpdatePolicy(100, 16);
+    policy.addInterestPoint(() -> new Point2D.Double(0, 0));
+    policy.addInterestPoint(() -> new Point2D.Double(1000, 1000));
+
+    when(entity.getCenter()).thenReturn(new Point2D.Double(50, 50));
+    assertEquals(1, policy.getUpdateInterval(controller, 1));
+    assertEquals(2, policy.getUpdateInterval(controller, 2));
+
+    when(entity.getCenter()).thenReturn(new Point2D.Double(250, 0));
+    assertEquals(3, policy.getUpdateInterval(controller, 1));
+
+    when(entity.getCenter()).thenReturn(new Point2D.Double(500, 5000));
+    assertEquals(16, policy.getUpdateInterval(controller, 1));
+
+    // instances without location are not affected
+    assertEquals(1, policy.getUpdateInterval(() -> {
+    }, 1));
+  }
+
+  @Test
+  public void testDeltaIsAccumulated() throws InterruptedException {
+    UpdateLoop loop = new UpdateLoop("Test Loop", 200);
+    List<Integer> deltaTicks = new CopyOnWriteArrayList<>();
+    List<Long> deltaTimes = new CopyOnWriteArrayList<>();
+    loop.attach(() -> {
+      deltaTicks.add(loop.getDeltaTicks());
+      deltaTimes.add(loop.getDeltaTime());
+    }, 5);
+
+    loop.start();
+    Thread.sleep(300);
+    loop.terminate();
+    loop.join();
+
+    assertTrue(deltaTicks.size() > 2);
+    for (int i = 1; i < deltaTicks.size(); i++) {
+      assertEquals(5, (int) deltaTicks.get(i));
+
+      // five ticks of 5 ms each
+      assertTrue(deltaTimes.get(i) >= 15, deltaTimes.toString());
+    }
+
+    // outside of an update, the values of the last tick are provided
+    assertEquals(1, loop.getDeltaTicks());
+  }
+}
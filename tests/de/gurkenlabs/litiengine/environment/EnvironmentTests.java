@@ -28,6 +28,7 @@ import org.junit.jupiter.params.provider.EnumSource;
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.GameTest;
 import de.gurkenlabs.litiengine.entities.CollisionBox;
+import de.gurkenlabs.litiengine.entities.Creature;
 import de.gurkenlabs.litiengine.entities.ICombatEntity;
 import de.gurkenlabs.litiengine.entities.IEntity;
 import de.gurkenlabs.litiengine.entities.IMobileEntity;
@@ -123,6 +124,38 @@ public class EnvironmentTests {
     assertNull(this.testEnvironment.get(""));
   }
 
+  @Test
+  public void testGetByNameAfterRename() {
+    Creature creature = new Creature();
+    creature.setName("before");
+    Prop prop = new Prop(0, 0, null);
+    prop.setName("before");
+
+    this.testEnvironment.add(creature);
+    this.testEnvironment.add(prop);
+
+    assertEquals(creature, this.testEnvironment.getCreature("before"));
+    assertEquals(prop, this.testEnvironment.getProp("before"));
+    assertEquals(creature, this.testEnvironment.get(Creature.class, "before"));
+    assertNull(this.testEnvironment.getTrigger("before"));
+
+    creature.setName("after");
+    assertNull(this.testEnvironment.getCreature("before"));
+    assertEquals(creature, this.testEnvironment.getCreature("after"));
+    assertEquals(creature, this.testEnvironment.getCombatEntity("after"));
+    assertEquals(creature, this.testEnvironment.getMobileEntity("after"));
+    assertEquals(prop, this.testEnvironment.get("before"));
+
+    assertEquals(creature, this.testEnvironment.getCreature(creature.getMapId()));
+    assertNull(this.testEnvironment.getProp(creature.getMapId()));
+    assertEquals(2, this.testEnvironment.getByType(ICombatEntity.class).size());
+    assertEquals(1, this.testEnvironment.getByType(Creature.class).size());
+
+    this.testEnvironment.remove(creature);
+    assertNull(this.testEnvironment.get("after"));
+    assertEquals(1, this.testEnvironment.getByType(ICombatEntity.class).size());
+  }
+
   @Test
   public void testGetById() {
     ICombatEntity combatEntity = mock(ICombatEntity.class);
@@ -529,6 +562,31 @@ public class EnvironmentTests {
     assertFalse(found2.contains(combatEntity2));
   }
 
+  @Test
+  public void testFindEntitiesAfterTransform() {
+    Creature creature = new Creature();
+    creature.setSize(10, 10);
+    creature.setLocation(0, 0);
+    this.testEnvironment.add(creature);
+
+    assertTrue(this.testEnvironment.findEntities(new Rectangle2D.Double(0, 0, 10, 10)).contains(creature));
+    assertTrue(this.testEnvironment.findCombatEntities(new Ellipse2D.Double(0, 0, 10, 10)).contains(creature));
+
+    // the spatial index is kept up to date when the entity is moved or resized
+    creature.setLocation(200, 200);
+    assertTrue(this.testEnvironment.findEntities(new Rectangle2D.Double(0, 0, 10, 10)).isEmpty());
+    assertTrue(this.testEnvironment.findCombatEntities(new Ellipse2D.Double(0, 0, 10, 10)).isEmpty());
+    assertTrue(this.testEnvironment.findCombatEntities(new Rectangle2D.Double(200, 200, 10, 10)).contains(creature));
+
+    creature.setSize(100, 100);
+    assertTrue(this.testEnvironment.findEntities(new Rectangle2D.Double(290, 290, 5, 5)).contains(creature));
+    assertFalse(this.testEnvironment.findCombatEntities(new Rectangle2D.Double(290, 290, 5, 5), e -> false).contains(creature));
+
+    this.testEnvironment.remove(creature);
+    assertTrue(this.testEnvironment.findEntities(new Rectangle2D.Double(200, 200, 10, 10)).isEmpty());
+    assertTrue(this.testEnvironment.findCombatEntities(new Rectangle2D.Double(200, 200, 10, 10)).isEmpty());
+  }
+
   @Test
   public void testLoading() {
     CollisionBox testCollider = new CollisionBox(true);
@@ -89,6 +89,8 @@ public class MapObjectLoaderTests {
     mapObject.setValue(MapObjectProperty.COLLISIONBOX_HEIGHT, 100.0f);
     mapObject.setValue(MapObjectProperty.COLLISION_ALIGN, Align.LEFT);
     mapObject.setValue(MapObjectProperty.COLLISION_VALIGN, Valign.MIDDLE);
+    mapObject.setValue(MapObjectProperty.COLLISION_CATEGORY, 4);
+    mapObject.setValue(MapObjectProperty.COLLISION_MASK, 3);
     
     // combat
     mapObject.setValue(MapObjectProperty.COMBAT_INDESTRUCTIBLE, true);
@@ -118,6 +120,8 @@ public class MapObjectLoaderTests {
     assertEquals(100.0, creature.getCollisionBoxHeight(), 0.0001);
     assertEquals(Align.LEFT, creature.getCollisionBoxAlign());
     assertEquals(Valign.MIDDLE, creature.getCollisionBoxValign());
+    assertEquals(4, creature.getCollisionCategory());
+    assertEquals(3, creature.getCollisionMask());
     
     assertTrue(creature.isIndestructible());
     assertEquals(100, creature.getHitPoints().getMaxValue().intValue());
@@ -0,0 +1,83 @@
+package de.gurkenlabs.litiengine.environment.tilemap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.gurkenlabs.litiengine.environment.tilemap.xml.TmxMap;
+
+public class MapRendererTests {
+
+  @Test
+  public void testVisibleTilesOrthogonal() {
+    TmxMap map = createMap(MapOrientations.ORTHOGONAL, 16, 16, 0, 0);
+    Rectangle tiles = MapRenderer.getVisibleTiles(map, new Rectangle2D.Double(160, 320, 64, 32));
+
+    // one additional tile on each side of the viewport
+    assertEquals(new Rectangle(9, 19, 7, 5), tiles);
+
+    // the range is clamped to the map
+    assertEquals(new Rectangle(0, 0, 3, 3), MapRenderer.getVisibleTiles(map, new Rectangle2D.Double(-100, -100, 116, 116)));
+    assertEquals(0, MapRenderer.getVisibleTiles(map, new Rectangle2D.Double(5000, 5000, 100, 100)).width);
+  }
+
+  @Test
+  public void testVisibleTilesContainAllIntersectingTiles() {
+    IMapOrientation[] orientations = { MapOrientations.ORTHOGONAL, MapOrientations.ISOMETRIC, MapOrientations.ISOMETRIC_STAGGERED, MapOrientations.HEXAGONAL };
+    final Random rand = new Random(7);
+    for (IMapOrientation orientation : orientations) {
+      for (int i = 0; i < 5; i++) {
+        // oversized tiles with offsets in all directions
+        final int tileWidth = 32 + rand.nextInt(64);
+        final int tileHeight = 16 + rand.nextInt(64);
+        final int offsetX = rand.nextInt(65) - 32;
+        final int offsetY = rand.nextInt(65) - 32;
+        TmxMap map = createMap(orientation, tileWidth, tileHeight, offsetX, offsetY);
+        map.setStaggerAxis(rand.nextBoolean() ? StaggerAxis.X : StaggerAxis.Y);
+        map.setStaggerIndex(rand.nextBoolean() ? StaggerIndex.EVEN : StaggerIndex.ODD);
+
+        Rectangle2D viewport = new Rectangle2D.Double(rand.nextInt(1200) - 100, rand.nextInt(1200) - 100, 50 + rand.nextInt(300), 50 + rand.nextInt(300));
+        Rectangle tiles = MapRenderer.getVisibleTiles(map, viewport);
+        for (int x = 0; x < map.getWidth(); x++) {
+          for (int y = 0; y < map.getHeight(); y++) {
+            Point location = orientation.getLocation(x, y, map);
+            Rectangle2D image = new Rectangle2D.Double(location.x + offsetX, location.y + offsetY - tileHeight, tileWidth, tileHeight);
+            if (viewport.intersects(image)) {
+              assertTrue(tiles.contains(x, y), orientation.getName() + " " + viewport + " " + tiles + " misses " + x + "," + y);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  private static TmxMap createMap(IMapOrientation orientation, int tilesetWidth, int tilesetHeight, int offsetX, int offsetY) {
+    ITileOffset offset = mock(ITileOffset.class);
+    when(offset.getX()).thenReturn(offsetX);
+    when(offset.getY()).thenReturn(offsetY);
+
+    ITileset tileset = mock(ITileset.class);
+    when(tileset.getTileWidth()).thenReturn(tilesetWidth);
+    when(tileset.getTileHeight()).thenReturn(tilesetHeight);
+    when(tileset.getTileOffset()).thenReturn(offset);
+
+    TmxMap map = new TmxMap(orientation);
+    map.setStaggerAxis(StaggerAxis.Y);
+    map.setStaggerIndex(StaggerIndex.ODD);
+    map.setHexSideLength(8);
+    map.setTileWidth(16);
+    map.setTileHeight(16);
+    map.setWidth(40);
+    map.setHeight(50);
+    map.getTilesets().add(tileset);
+    return map;
+  }
+}
@@ -0,0 +1,213 @@
+package de.gurkenlabs.litiengine.environment.tilemap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+public class TileLayerCacheTests {
+  private static final int WIDTH = 40;
+  private static final int HEIGHT = 30;
+
+  @Test
+  public void testCachedLayerMatchesTiles() {
+    for (IMapOrientation orientation : new IMapOrientation[] { MapOrientations.ORTHOGONAL, MapOrientations.ISOMETRIC }) {
+      // orthogonal maps support tall tile images
+      final int height = orientation == MapOrientations.ORTHOGONAL ? 24 : 16;
+      for (RenderOrder renderOrder : RenderOrder.values()) {
+        ITile first = createTile(createImage(Color.RED, height), null);
+        ITile second = createTile(createImage(Color.BLUE, height), null);
+        ITileLayer layer = mock(ITileLayer.class);
+        for (int x = 0; x < WIDTH; x++) {
+          for (int y = 0; y < HEIGHT; y++) {
+            if ((x * 7 + y * 3) % 5 != 0) {
+              when(layer.getTile(x, y)).thenReturn((x + y) % 2 == 0 ? first : second);
+            }
+          }
+        }
+
+        IMap map = createMap(orientation, renderOrder, layer, height);
+        Rectangle2D viewport = new Rectangle2D.Double(37, 21, 300, 200);
+        assertTrue(TileLayerCache.supports(map));
+        assertSameImage(renderTiles(map, viewport), renderCached(new TileLayerCache(4, TileLayerCache.DEFAULT_BUDGET), map, layer, viewport));
+      }
+    }
+  }
+
+  @Test
+  public void testSupports() {
+    ITileLayer layer = mock(ITileLayer.class);
+    assertFalse(TileLayerCache.supports(createMap(MapOrientations.ISOMETRIC, RenderOrder.RIGHT_DOWN, layer, 24)));
+    assertFalse(TileLayerCache.supports(createMap(MapOrientations.HEXAGONAL, RenderOrder.RIGHT_DOWN, layer, 16)));
+
+    IMap map = createMap(MapOrientations.ORTHOGONAL, RenderOrder.RIGHT_DOWN, layer, 24);
+    ITileset wide = mock(ITileset.class);
+    when(wide.getTileWidth()).thenReturn(32);
+    when(map.getTilesets()).thenReturn(Arrays.asList(wide));
+    assertFalse(TileLayerCache.supports(map));
+  }
+
+  @Test
+  public void testAnimatedChunksAreRenderedAgain() {
+    ITileAnimationFrame frame = mock(ITileAnimationFrame.class);
+    when(frame.getTileId()).thenReturn(1);
+    ITileAnimation animation = mock(ITileAnimation.class);
+    when(animation.getCurrentFrame()).thenReturn(frame);
+
+    ITile tile = createTile(createImage(Color.RED, 24), animation);
+    ITileLayer layer = createLayer(tile);
+    IMap map = createMap(MapOrientations.ORTHOGONAL, RenderOrder.RIGHT_DOWN, layer, 24);
+    Rectangle2D viewport = new Rectangle2D.Double(0, 0, 100, 100);
+    TileLayerCache cache = new TileLayerCache(8, TileLayerCache.DEFAULT_BUDGET);
+
+    renderCached(cache, map, layer, viewport);
+    final int chunks = cache.size();
+    assertTrue(chunks > 0);
+
+    // the animation advances to a frame with another image
+    when(tile.getImage()).thenReturn(createImage(Color.GREEN, 24));
+    when(frame.getTileId()).thenReturn(2);
+    assertSameImage(renderTiles(map, viewport), renderCached(cache, map, layer, viewport));
+    assertEquals(chunks, cache.size());
+  }
+
+  @Test
+  public void testInvalidate() {
+    ITile tile = createTile(createImage(Color.RED, 24), null);
+    ITileLayer layer = createLayer(tile);
+    IMap map = createMap(MapOrientations.ORTHOGONAL, RenderOrder.RIGHT_DOWN, layer, 24);
+    Rectangle2D viewport = new Rectangle2D.Double(0, 0, 100, 100);
+    TileLayerCache cache = new TileLayerCache(8, TileLayerCache.DEFAULT_BUDGET);
+
+    BufferedImage red = renderCached(cache, map, layer, viewport);
+    when(tile.getImage()).thenReturn(createImage(Color.GREEN, 24));
+
+    // changed tiles are only rendered after the layer was invalidated
+    assertSameImage(red, renderCached(cache, map, layer, viewport));
+    cache.invalidate(layer);
+    assertSameImage(renderTiles(map, viewport), renderCached(cache, map, layer, viewport));
+  }
+
+  @Test
+  public void testBudget() {
+    ITileLayer layer = createLayer(createTile(createImage(Color.RED, 24), null));
+    IMap map = createMap(MapOrientations.ORTHOGONAL, RenderOrder.RIGHT_DOWN, layer, 24);
+
+    // a chunk of 8x8 tiles with 16x24 pixel images
+    final long chunkMemory = 4L * 8 * 16 * (7 * 16 + 24);
+    TileLayerCache cache = new TileLayerCache(8, chunkMemory * 3);
+
+    renderCached(cache, map, layer, new Rectangle2D.Double(0, 0, 400, 300));
+    assertEquals(3, cache.size());
+    assertTrue(cache.getMemoryUsage() <= cache.getBudget());
+
+    cache.setBudget(chunkMemory);
+    assertEquals(1, cache.size());
+
+    cache.clear();
+    assertEquals(0, cache.getMemoryUsage());
+  }
+
+  private static BufferedImage renderTiles(IMap map, Rectangle2D viewport) {
+    final long budget = MapRenderer.getCache().getBudget();
+    MapRenderer.getCache().setBudget(0);
+    try {
+      BufferedImage image = new BufferedImage((int) viewport.getWidth(), (int) viewport.getHeight(), BufferedImage.TYPE_INT_ARGB);
+      Graphics2D g = image.createGraphics();
+      MapRenderer.render(g, map, viewport);
+      g.dispose();
+      return image;
+    } finally {
+      MapRenderer.getCache().setBudget(budget);
+    }
+  }
+
+  private static BufferedImage renderCached(TileLayerCache cache, IMap map, ITileLayer layer, Rectangle2D viewport) {
+    BufferedImage image = new BufferedImage((int) viewport.getWidth(), (int) viewport.getHeight(), BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g = image.createGraphics();
+    cache.render(g, layer, map, MapRenderer.getVisibleTiles(map, viewport), viewport);
+    g.dispose();
+    return image;
+  }
+
+  private static void assertSameImage(BufferedImage expected, BufferedImage actual) {
+    for (int x = 0; x < expected.getWidth(); x++) {
+      for (int y = 0; y < expected.getHeight(); y++) {
+        assertEquals(expected.getRGB(x, y), actual.getRGB(x, y), "pixel " + x + "," + y);
+      }
+    }
+  }
+
+  private static BufferedImage createImage(Color color, int height) {
+    // images with a gradient so that the order of overlapping tiles is visible
+    BufferedImage image = new BufferedImage(16, height, BufferedImage.TYPE_INT_ARGB);
+    for (int y = 0; y < image.getHeight(); y++) {
+      final Color row = new Color(color.getRed() * y / height, color.getGreen() * y / height, color.getBlue() * y / height);
+      for (int x = 0; x < image.getWidth(); x++) {
+        image.setRGB(x, y, x < 2 ? 0 : row.getRGB());
+      }
+    }
+
+    return image;
+  }
+
+  private static ITile createTile(BufferedImage image, ITileAnimation animation) {
+    ITileOffset offset = mock(ITileOffset.class);
+    when(offset.getX()).thenReturn(3);
+    when(offset.getY()).thenReturn(-2);
+    ITileset tileset = mock(ITileset.class);
+    when(tileset.getTileOffset()).thenReturn(offset);
+    ITilesetEntry entry = mock(ITilesetEntry.class);
+    when(entry.getTileset()).thenReturn(tileset);
+    when(entry.getAnimation()).thenReturn(animation);
+
+    ITile tile = mock(ITile.class);
+    when(tile.getImage()).thenReturn(image);
+    when(tile.getTilesetEntry()).thenReturn(entry);
+    return tile;
+  }
+
+  private static ITileLayer createLayer(ITile tile) {
+    ITileLayer layer = mock(ITileLayer.class);
+    for (int x = 0; x < WIDTH; x++) {
+      for (int y = 0; y < HEIGHT; y++) {
+        when(layer.getTile(x, y)).thenReturn(tile);
+      }
+    }
+
+    return layer;
+  }
+
+  private static IMap createMap(IMapOrientation orientation, RenderOrder renderOrder, ITileLayer layer, int tileHeight) {
+    when(layer.isVisible()).thenReturn(true);
+    when(layer.getOpacity()).thenReturn(1f);
+
+    ITileOffset offset = mock(ITileOffset.class);
+    when(offset.getX()).thenReturn(3);
+    when(offset.getY()).thenReturn(-2);
+    ITileset tileset = mock(ITileset.class);
+    when(tileset.getTileOffset()).thenReturn(offset);
+    when(tileset.getTileWidth()).thenReturn(16);
+    when(tileset.getTileHeight()).thenReturn(tileHeight);
+
+    IMap map = mock(IMap.class);
+    when(map.getOrientation()).thenReturn(orientation);
+    when(map.getRenderOrder()).thenReturn(renderOrder);
+    when(map.getTileWidth()).thenReturn(16);
+    when(map.getTileHeight()).thenReturn(16);
+    when(map.getWidth()).thenReturn(WIDTH);
+    when(map.getHeight()).thenReturn(HEIGHT);
+    when(map.getTilesets()).thenReturn(Arrays.asList(tileset));
+    when(map.getRenderLayers()).thenReturn(Arrays.asList(layer));
+    return map;
+  }
+}
@@ -0,0 +1,73 @@
+package de.gurkenlabs.litiengine.environment.tilemap.xml;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Test;
+
+public class TileTests {
+
+  @Test
+  public void testFlippedImage() {
+    BufferedImage image = new BufferedImage(2, 3, BufferedImage.TYPE_INT_ARGB);
+    image.setRGB(0, 0, 0xffff0000);
+    TestEntry entry = new TestEntry(image);
+
+    Tile horizontal = createTile(1 | Tile.FLIPPED_HORIZONTALLY_FLAG, entry);
+    assertEquals(0xffff0000, horizontal.getImage().getRGB(1, 0));
+
+    Tile vertical = createTile(1 | Tile.FLIPPED_VERTICALLY_FLAG, entry);
+    assertEquals(0xffff0000, vertical.getImage().getRGB(0, 2));
+
+    BufferedImage diagonal = createTile(1 | Tile.FLIPPED_DIAGONALLY_FLAG, entry).getImage();
+    assertEquals(3, diagonal.getWidth());
+    assertEquals(2, diagonal.getHeight());
+
+    assertSame(image, createTile(1, entry).getImage());
+  }
+
+  @Test
+  public void testFlippedImagesAreShared() {
+    TestEntry entry = new TestEntry(new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB));
+    Tile first = createTile(1 | Tile.FLIPPED_HORIZONTALLY_FLAG, entry);
+    Tile second = createTile(1 | Tile.FLIPPED_HORIZONTALLY_FLAG, entry);
+    Tile other = createTile(1 | Tile.FLIPPED_HORIZONTALLY_FLAG | Tile.FLIPPED_VERTICALLY_FLAG, entry);
+
+    assertSame(first.getImage(), first.getImage());
+    assertSame(first.getImage(), second.getImage());
+    assertNotSame(first.getImage(), other.getImage());
+
+    // a reloaded image results in new variants
+    BufferedImage flipped = first.getImage();
+    entry.image = new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB);
+    assertNotSame(flipped, first.getImage());
+    assertSame(first.getImage(), second.getImage());
+
+    flipped = first.getImage();
+    entry.clearFlippedImages();
+    assertNotSame(flipped, first.getImage());
+  }
+
+  private static Tile createTile(int gid, TilesetEntry entry) {
+    Tile tile = new Tile(gid);
+    tile.setTilesetEntry(entry);
+    return tile;
+  }
+
+  private static class TestEntry extends TilesetEntry {
+    private BufferedImage image;
+
+    private TestEntry(BufferedImage image) {
+      super(null, 0);
+      this.image = image;
+    }
+
+    @Override
+    public BufferedImage getBasicImage() {
+      return this.image;
+    }
+  }
+}
@@ -0,0 +1,133 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.gurkenlabs.litiengine.entities.LightSource;
+import de.gurkenlabs.litiengine.environment.Environment;
+import de.gurkenlabs.litiengine.environment.tilemap.IMap;
+
+public class AmbientLightTests {
+  private Environment environment;
+
+  @BeforeEach
+  public void createEnvironment() {
+    IMap map = mock(IMap.class);
+    when(map.getSizeInPixels()).thenReturn(new Dimension(1000, 600));
+    when(map.getBounds()).thenReturn(new Rectangle(0, 0, 1000, 600));
+    this.environment = new Environment(map);
+  }
+
+  @Test
+  public void testChunkedLightMapMatchesFullResolution() {
+    Color color = new Color(20, 40, 80, 200);
+    AmbientLight full = new AmbientLight(this.environment, color, 0);
+    AmbientLight chunked = new AmbientLight(this.environment, color, 4);
+    assertEquals(0, full.getDownscale());
+    assertEquals(4, chunked.getDownscale());
+
+    Rectangle2D viewport = new Rectangle2D.Double(300, 200, 320, 180);
+    BufferedImage expected = render(full, viewport);
+    BufferedImage actual = render(chunked, viewport);
+    for (int x = 0; x < expected.getWidth(); x++) {
+      for (int y = 0; y < expected.getHeight(); y++) {
+        assertEquals(expected.getRGB(x, y), actual.getRGB(x, y), x + ", " + y);
+      }
+    }
+  }
+
+  @Test
+  public void testChunksAreOnlyCreatedForVisibleSections() {
+    AmbientLight light = new AmbientLight(this.environment, Color.BLACK, 4);
+    assertEquals(0, light.getChunkCount());
+
+    // a chunk covers 256x256 pixels of the map
+    render(light, new Rectangle2D.Double(0, 0, 200, 200));
+    assertEquals(1, light.getChunkCount());
+
+    render(light, new Rectangle2D.Double(200, 0, 200, 200));
+    assertEquals(2, light.getChunkCount());
+
+    // sections outside of the map are not covered by chunks
+    render(light, new Rectangle2D.Double(-500, -500, 200, 200));
+    assertEquals(2, light.getChunkCount());
+  }
+
+  @Test
+  public void testChangedColorIsRenderedToChunks() {
+    AmbientLight light = new AmbientLight(this.environment, Color.BLACK, 2);
+    Rectangle2D viewport = new Rectangle2D.Double(0, 0, 100, 100);
+    assertEquals(Color.BLACK.getRGB(), render(light, viewport).getRGB(50, 50));
+
+    light.setColor(Color.RED);
+    assertEquals(Color.RED.getRGB(), render(light, viewport).getRGB(50, 50));
+    assertTrue(light.getChunkCount() > 0);
+  }
+
+  @Test
+  public void testGradientsAreSharedByEqualLights() {
+    AmbientLight ambientLight = new AmbientLight(this.environment, Color.BLACK, 4);
+    LightSource first = new LightSource(100, new Color(255, 200, 100, 180), LightSource.Type.ELLIPSE, true);
+    LightSource second = new LightSource(200, new Color(255, 200, 100, 180), LightSource.Type.ELLIPSE, true);
+    LightSource other = new LightSource(100, new Color(100, 200, 255, 180), LightSource.Type.ELLIPSE, true);
+
+    BufferedImage gradient = ambientLight.getGradient(first, 64, 48);
+    assertEquals(64, gradient.getWidth());
+    assertEquals(48, gradient.getHeight());
+    assertSame(gradient, ambientLight.getGradient(second, 64, 48));
+    assertSame(gradient, ambientLight.getGradient(second, 64.3, 47.8));
+    assertNotSame(gradient, ambientLight.getGradient(other, 64, 48));
+    assertNotSame(gradient, ambientLight.getGradient(first, 32, 32));
+    assertNull(ambientLight.getGradient(first, 0, 32));
+
+    // the gradient fades from the light color in the center to transparent at the edge
+    assertTrue((gradient.getRGB(32, 24) >>> 24) > 150);
+    assertEquals(0, gradient.getRGB(0, 0) >>> 24);
+
+    ambientLight.clearGradients();
+    assertEquals(0, ambientLight.getCachedGradientCount());
+    assertNotSame(gradient, ambientLight.getGradient(first, 64, 48));
+  }
+
+  @Test
+  public void testGradientCacheIsBounded() {
+    AmbientLight ambientLight = new AmbientLight(this.environment, Color.BLACK, 4);
+    LightSource light = new LightSource(100, Color.YELLOW, LightSource.Type.ELLIPSE, true);
+
+    // e.g. a light with an animated radius
+    for (int radius = 1; radius <= 200; radius++) {
+      ambientLight.getGradient(light, radius, radius);
+    }
+
+    assertTrue(ambientLight.getCachedGradientCount() <= 64);
+  }
+
+  @Test
+  public void testNegativeDownscaleIsRejected() {
+    assertThrows(IllegalArgumentException.class, () -> new AmbientLight(this.environment, Color.BLACK, -1));
+  }
+
+  private static BufferedImage render(ColorLayer layer, Rectangle2D viewport) {
+    BufferedImage image = new BufferedImage((int) viewport.getWidth(), (int) viewport.getHeight(), BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g = image.createGraphics();
+    layer.render(g, viewport);
+    g.dispose();
+    return image;
+  }
+}
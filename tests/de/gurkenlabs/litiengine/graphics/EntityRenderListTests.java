@@ -0,0 +1,145 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.gurkenlabs.litiengine.entities.EntityYComparator;
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.util.geom.ISpatialIndex;
+import de.gurkenlabs.litiengine.util.geom.SpatialHashGrid;
+
+public class EntityRenderListTests {
+  private final ISpatialIndex<IEntity> index = new SpatialHashGrid<>(IEntity::getBoundingBox);
+
+  @Test
+  public void testEntitiesAreSorted() {
+    IEntity first = createEntity(0, 10);
+    IEntity second = createEntity(0, 20);
+    IEntity third = createEntity(0, 30);
+
+    EntityRenderList list = new EntityRenderList(this.index, true);
+    this.add(list, third);
+    this.add(list, first);
+    this.add(list, second);
+    assertEquals(Arrays.asList(first, second, third), list.getEntities());
+
+    // the first entity moves behind the others
+    this.move(list, first, 0, 40);
+    assertEquals(Arrays.asList(second, third, first), list.getEntities());
+
+    assertTrue(list.remove(third));
+    assertFalse(list.remove(third));
+    assertEquals(Arrays.asList(second, first), list.getEntities());
+    assertEquals(2, list.size());
+  }
+
+  @Test
+  public void testVisibleEntities() {
+    IEntity visible = createEntity(10, 50);
+    IEntity front = createEntity(20, 60);
+    IEntity outside = createEntity(500, 50);
+
+    EntityRenderList list = new EntityRenderList(this.index, true);
+    this.add(list, front);
+    this.add(list, outside);
+    this.add(list, visible);
+
+    // entities of the index that are not part of the list are ignored
+    this.index.add(createEntity(30, 30));
+
+    Rectangle2D viewport = new Rectangle2D.Double(0, 0, 100, 100);
+    assertEquals(Arrays.asList(visible, front), list.getEntities(viewport));
+
+    // included entities are provided once in their render order if they're part of the list
+    assertEquals(Arrays.asList(outside, visible, front), list.getEntities(viewport, Arrays.asList(visible, outside, createEntity(0, 0))));
+
+    this.move(list, outside, 30, 10);
+    assertEquals(Arrays.asList(outside, visible, front), list.getEntities(viewport));
+
+    list.clear();
+    assertTrue(list.getEntities(viewport).isEmpty());
+  }
+
+  @Test
+  public void testOrderMatchesComparator() {
+    final Random rand = new Random(3);
+    List<IEntity> entities = new ArrayList<>();
+    EntityRenderList list = new EntityRenderList(this.index, true);
+    for (int i = 0; i < 500; i++) {
+      IEntity entity = createEntity(rand.nextInt(1000), rand.nextInt(1000));
+      entities.add(entity);
+      this.add(list, entity);
+    }
+
+    for (int tick = 0; tick < 20; tick++) {
+      for (int i = 0; i < 50; i++) {
+        IEntity entity = entities.get(rand.nextInt(entities.size()));
+        this.move(list, entity, entity.getX(), entity.getY() + rand.nextInt(41) - 20);
+      }
+
+      List<IEntity> sorted = list.getEntities();
+      assertEquals(entities.size(), sorted.size());
+      for (int i = 1; i < sorted.size(); i++) {
+        assertTrue(new EntityYComparator().compare(sorted.get(i - 1), sorted.get(i)) <= 0);
+      }
+    }
+  }
+
+  @Test
+  public void testUnsortedListKeepsInsertionOrder() {
+    IEntity first = createEntity(0, 30);
+    IEntity second = createEntity(0, 10);
+    IEntity third = createEntity(0, 20);
+
+    EntityRenderList list = new EntityRenderList(this.index, false);
+    assertFalse(list.isSorting());
+    this.add(list, first);
+    this.add(list, second);
+    this.add(list, third);
+    assertEquals(Arrays.asList(first, second, third), list.getEntities());
+
+    this.move(list, second, 0, 50);
+    assertEquals(Arrays.asList(first, second, third), list.getEntities());
+    assertEquals(Arrays.asList(first, second, third), list.getEntities(new Rectangle2D.Double(0, 0, 100, 100)));
+
+    list.remove(first);
+    assertEquals(Arrays.asList(second, third), list.getEntities());
+  }
+
+  private void add(EntityRenderList list, IEntity entity) {
+    this.index.add(entity);
+    list.add(entity);
+  }
+
+  private void move(EntityRenderList list, IEntity entity, double x, double y) {
+    setLocation(entity, x, y);
+
+    // the owner of the list reports the movement, e.g. the environment
+    this.index.invalidate(entity);
+    list.invalidate(entity);
+  }
+
+  private static IEntity createEntity(double x, double y) {
+    IEntity entity = mock(IEntity.class);
+    setLocation(entity, x, y);
+    return entity;
+  }
+
+  private static void setLocation(IEntity entity, double x, double y) {
+    when(entity.getX()).thenReturn(x);
+    when(entity.getY()).thenReturn(y);
+    when(entity.getHeight()).thenReturn(16.0);
+    when(entity.getBoundingBox()).thenReturn(new Rectangle2D.Double(x, y, 16, 16));
+  }
+}
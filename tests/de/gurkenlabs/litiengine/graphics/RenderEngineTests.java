@@ -1,22 +1,50 @@
 package de.gurkenlabs.litiengine.graphics;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.GameTest;
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.entities.IMobileEntity;
 import de.gurkenlabs.litiengine.util.Imaging;
+import de.gurkenlabs.litiengine.util.geom.SpatialHashGrid;
 
 public class RenderEngineTests {
 
+  @BeforeAll
+  public static void initGame() {
+    // necessary because the entities are rendered relative to the camera of the game world
+    Game.init(Game.COMMADLINE_ARG_NOGUI);
+  }
+
+  @AfterAll
+  public static void terminateGame() {
+    GameTest.resetGame();
+  }
+
   @Test
   public void testDrawText() {
     Graphics2D graphics = mock(Graphics2D.class);
@@ -40,4 +68,170 @@ public class RenderEngineTests {
     assertEquals(10, transCaptor.getValue().getTranslateX());
     assertEquals(20, transCaptor.getValue().getTranslateY());
   }
+
+  @Test
+  public void testSnapshotIsImmutable() {
+    IEntity entity = mock(IEntity.class);
+    IEntity hidden = mock(IEntity.class);
+    when(entity.getRenderType()).thenReturn(RenderType.NORMAL);
+    when(entity.getX()).thenReturn(10.0);
+    when(entity.getY()).thenReturn(20.0);
+    when(entity.getBoundingBox()).thenReturn(new Rectangle2D.Double(10, 20, 16, 16));
+    when(hidden.getRenderType()).thenReturn(RenderType.NONE);
+
+    RenderSnapshot snapshot = new RenderSnapshot(Arrays.asList(entity, hidden), 5);
+    when(entity.getX()).thenReturn(100.0);
+    when(entity.getRenderType()).thenReturn(RenderType.OVERLAY);
+
+    assertEquals(1, snapshot.size());
+    assertEquals(5, snapshot.getTick());
+    assertNull(snapshot.get(hidden));
+    assertEquals(10, snapshot.get(entity).getX());
+    assertEquals(20, snapshot.get(entity).getY());
+    assertEquals(36, snapshot.get(entity).getSortY());
+    assertEquals(RenderType.NORMAL, snapshot.get(entity).getRenderType());
+    assertFalse(snapshot.get(entity).isAnimated());
+  }
+
+  @Test
+  public void testPublishSnapshot() {
+    RenderSnapshot snapshot = new RenderSnapshot(Arrays.asList(), 0);
+
+    // snapshots are ignored unless snapshot rendering is enabled
+    Game.graphics().publish(snapshot);
+    assertNull(Game.graphics().getSnapshot());
+
+    Game.graphics().setSnapshotRendering(true);
+    Game.graphics().publish(snapshot);
+    assertSame(snapshot, Game.graphics().getSnapshot());
+
+    Game.graphics().setSnapshotRendering(false);
+    assertNull(Game.graphics().getSnapshot());
+  }
+
+  @Test
+  public void testUnsortedListKeepsOrderInSnapshot() {
+    ICamera camera = mock(ICamera.class);
+    when(camera.getViewport()).thenReturn(new Rectangle2D.Double(0, 0, 100, 100));
+    Game.world().setCamera(camera);
+
+    IEntity lower = mockEntity(50);
+    IEntity upper = mockEntity(0);
+    SpatialHashGrid<IEntity> index = new SpatialHashGrid<>(IEntity::getBoundingBox, 32);
+    EntityRenderList unsorted = new EntityRenderList(index, false);
+    EntityRenderList sorted = new EntityRenderList(index, true);
+    for (IEntity entity : Arrays.asList(lower, upper)) {
+      index.add(entity);
+      unsorted.add(entity);
+      sorted.add(entity);
+    }
+
+    List<IEntity> rendered = new ArrayList<>();
+    Game.graphics().onEntityRendering(e -> rendered.add(e.getRenderedObject()));
+    Graphics2D g = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB).createGraphics();
+    try {
+      Game.graphics().setSnapshotRendering(true);
+      Game.graphics().publish(new RenderSnapshot(Arrays.asList(lower, upper), 0));
+
+      Game.graphics().renderEntities(g, unsorted);
+      assertEquals(Arrays.asList(lower, upper), rendered);
+
+      rendered.clear();
+      Game.graphics().renderEntities(g, sorted);
+      assertEquals(Arrays.asList(upper, lower), rendered);
+    } finally {
+      g.dispose();
+      rendered.clear();
+      Game.graphics().setSnapshotRendering(false);
+    }
+  }
+
+  @Test
+  public void testSnapshotEntitiesAreCulledByCapturedLocation() {
+    ICamera camera = mock(ICamera.class);
+    when(camera.getViewport()).thenReturn(new Rectangle2D.Double(0, 0, 100, 100));
+    Game.world().setCamera(camera);
+
+    IEntity teleported = mockEntity(10);
+    IEntity arrived = mockEntity(500);
+    IEntity added = mockEntity(20);
+    SpatialHashGrid<IEntity> index = new SpatialHashGrid<>(IEntity::getBoundingBox, 32);
+    EntityRenderList list = new EntityRenderList(index, true);
+    for (IEntity entity : Arrays.asList(teleported, arrived, added)) {
+      index.add(entity);
+      list.add(entity);
+    }
+
+    List<IEntity> rendered = new ArrayList<>();
+    Game.graphics().onEntityRendering(e -> rendered.add(e.getRenderedObject()));
+    Graphics2D g = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB).createGraphics();
+    try {
+      Game.graphics().setSnapshotRendering(true);
+      Game.graphics().publish(new RenderSnapshot(Arrays.asList(teleported, arrived), 0));
+
+      // the entities are moved by the next tick before the snapshot is rendered
+      setLocation(teleported, 500);
+      setLocation(arrived, 30);
+      index.invalidate(teleported);
+      index.invalidate(arrived);
+
+      Game.graphics().renderEntities(g, list);
+      assertEquals(Arrays.asList(teleported, added), rendered);
+    } finally {
+      g.dispose();
+      rendered.clear();
+      Game.graphics().setSnapshotRendering(false);
+    }
+  }
+
+  @Test
+  public void testInterpolation() throws InterruptedException {
+    IMobileEntity entity = mock(IMobileEntity.class);
+    when(entity.getRenderType()).thenReturn(RenderType.NORMAL);
+    when(entity.getWidth()).thenReturn(10.0);
+    when(entity.getHeight()).thenReturn(10.0);
+
+    RenderSnapshot previous = new RenderSnapshot(Arrays.asList(entity), 0);
+    when(entity.getX()).thenReturn(100.0);
+    RenderSnapshot.EntityState state = new RenderSnapshot(Arrays.asList(entity), 1).get(entity);
+
+    assertEquals(25, state.interpolate(previous.get(entity), 0.25).getX());
+    assertEquals(30, state.interpolate(previous.get(entity), 0.25).getCenter().getX());
+    assertSame(state, state.interpolate(previous.get(entity), 1));
+    assertSame(state, state.interpolate(null, 0.5));
+
+    try {
+      Game.graphics().setInterpolating(true);
+      assertTrue(Game.graphics().isSnapshotRendering());
+
+      Game.graphics().publish(new RenderSnapshot(Arrays.asList(entity), 0));
+      Thread.sleep(5);
+      when(entity.getX()).thenReturn(200.0);
+      Game.graphics().publish(new RenderSnapshot(Arrays.asList(entity), 1));
+      Game.graphics().updateInterpolation();
+
+      final double alpha = Game.graphics().getInterpolationAlpha();
+      assertTrue(alpha >= 0 && alpha <= 1);
+      assertEquals(100 + 100 * alpha + 5, Game.graphics().getRenderCenter(entity).getX(), 0.0001);
+    } finally {
+      Game.graphics().setSnapshotRendering(false);
+      Game.graphics().updateInterpolation();
+    }
+
+    assertEquals(1, Game.graphics().getInterpolationAlpha());
+  }
+
+  private static IEntity mockEntity(double y) {
+    IEntity entity = mock(IEntity.class);
+    when(entity.getRenderType()).thenReturn(RenderType.NORMAL);
+    when(entity.getWidth()).thenReturn(10.0);
+    when(entity.getHeight()).thenReturn(10.0);
+    setLocation(entity, y);
+    return entity;
+  }
+
+  private static void setLocation(IEntity entity, double y) {
+    when(entity.getY()).thenReturn(y);
+    when(entity.getBoundingBox()).thenReturn(new Rectangle2D.Double(0, y, 10, 10));
+  }
 }
@@ -0,0 +1,167 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import de.gurkenlabs.litiengine.resources.Resources;
+
+public class TextureAtlasPackerTests {
+  private final List<Spritesheet> spritesheets = new ArrayList<>();
+
+  @AfterEach
+  public void removeSpritesheets() {
+    for (Spritesheet spritesheet : this.spritesheets) {
+      Resources.spritesheets().remove(spritesheet.getName());
+    }
+
+    Resources.images().remove("atlas-test-original.png");
+  }
+
+  @Test
+  public void testPackedSpritesMatchOriginalSprites() {
+    final Random rand = new Random(11);
+    for (int i = 0; i < 30; i++) {
+      this.createSpritesheet("atlas-test-" + i, 8 * (1 + rand.nextInt(6)), 8 * (1 + rand.nextInt(6)), 8, rand);
+    }
+
+    Spritesheet tooLarge = this.createSpritesheet("atlas-test-large", 160, 16, 16, rand);
+
+    List<int[]> expected = new ArrayList<>();
+    for (Spritesheet spritesheet : this.spritesheets) {
+      expected.add(getPixels(spritesheet));
+    }
+
+    List<TextureAtlasPacker.Page> pages = new TextureAtlasPacker(128, 128, 1).pack(this.spritesheets);
+    assertFalse(pages.isEmpty());
+    assertFalse(tooLarge.isPacked());
+
+    int packed = 0;
+    for (TextureAtlasPacker.Page page : pages) {
+      assertTrue(page.getImage().getWidth() <= 128 && page.getImage().getHeight() <= 128);
+      assertTrue(page.getOccupancy() > 0 && page.getOccupancy() <= 1);
+
+      List<Rectangle> regions = new ArrayList<>();
+      for (Spritesheet spritesheet : page.getSpritesheets()) {
+        Rectangle region = page.getRegion(spritesheet);
+        assertTrue(new Rectangle(0, 0, page.getImage().getWidth(), page.getImage().getHeight()).contains(region));
+        for (Rectangle other : regions) {
+          assertFalse(region.intersects(other), region + " overlaps " + other);
+        }
+
+        regions.add(region);
+        assertTrue(spritesheet.isPacked());
+        packed++;
+      }
+    }
+
+    assertEquals(this.spritesheets.size() - 1, packed);
+    for (int i = 0; i < this.spritesheets.size(); i++) {
+      assertTrue(Arrays.equals(expected.get(i), getPixels(this.spritesheets.get(i))), this.spritesheets.get(i).getName());
+    }
+
+    // packed spritesheets are not packed again
+    assertTrue(new TextureAtlasPacker(128, 128, 1).pack(this.spritesheets).isEmpty());
+  }
+
+  @Test
+  public void testSpritesAreRegionsOfPage() {
+    Spritesheet spritesheet = this.createSpritesheet("atlas-test-region", 32, 16, 16, new Random(5));
+    TextureAtlasPacker.Page page = new TextureAtlasPacker().pack(this.spritesheets).get(0);
+
+    BufferedImage sprite = spritesheet.getSprite(1);
+    Rectangle region = page.getRegion(spritesheet);
+    assertSame(page.getImage().getRaster().getDataBuffer(), sprite.getRaster().getDataBuffer());
+    assertEquals(page.getImage().getRGB(region.x + 16, region.y), sprite.getRGB(0, 0));
+    assertNull(page.getRegion(null));
+  }
+
+  @Test
+  public void testOriginalImageIsNotRetained() {
+    Spritesheet spritesheet = this.createSpritesheet("atlas-test-original", 32, 32, 16, new Random(13));
+    BufferedImage original = spritesheet.getImage();
+    Resources.images().add("atlas-test-original.png", original);
+    int[] expected = getPixels(spritesheet);
+
+    assertFalse(Resources.spritesheets().isAtlasPacking());
+    Resources.spritesheets().pack();
+    assertTrue(spritesheet.isPacked());
+
+    // the spritesheet and the image resources only refer to the region of the atlas page
+    BufferedImage image = spritesheet.getImage();
+    assertNotSame(original, image);
+    assertSame(image, Resources.images().get("atlas-test-original.png"));
+    assertFalse(Resources.images().getAll().contains(original));
+    assertEquals(32, image.getWidth());
+    assertEquals(32, image.getHeight());
+    assertTrue(Arrays.equals(expected, getPixels(spritesheet)));
+  }
+
+  @Test
+  public void testPackedSpritesAreRenderedFromPage() {
+    Spritesheet spritesheet = this.createSpritesheet("atlas-test-render", 32, 16, 16, new Random(17));
+    BufferedImage expected = render(spritesheet.getSprite(1));
+
+    new TextureAtlasPacker().pack(this.spritesheets);
+    BufferedImage sprite = spritesheet.getSprite(1);
+    assertTrue(sprite instanceof TextureAtlasPacker.PackedImage);
+
+    BufferedImage actual = render(sprite);
+    for (int x = 0; x < expected.getWidth(); x++) {
+      for (int y = 0; y < expected.getHeight(); y++) {
+        assertEquals(expected.getRGB(x, y), actual.getRGB(x, y), x + ", " + y);
+      }
+    }
+  }
+
+  private static BufferedImage render(BufferedImage sprite) {
+    // the neighbouring regions of the atlas page must not be drawn
+    BufferedImage target = new BufferedImage(24, 24, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g = target.createGraphics();
+    ImageRenderer.renderScaled(g, sprite, 4, 4, 1.0);
+    ImageRenderer.renderRotated(g, sprite, 2, 2, 90);
+    g.dispose();
+    return target;
+  }
+
+  private Spritesheet createSpritesheet(String name, int width, int height, int spriteSize, Random rand) {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    for (int x = 0; x < width; x++) {
+      for (int y = 0; y < height; y++) {
+        image.setRGB(x, y, 0xff000000 | rand.nextInt(0xffffff));
+      }
+    }
+
+    Spritesheet spritesheet = new Spritesheet(image, name + ".png", spriteSize, spriteSize);
+    this.spritesheets.add(spritesheet);
+    return spritesheet;
+  }
+
+  private static int[] getPixels(Spritesheet spritesheet) {
+    List<Integer> pixels = new ArrayList<>();
+    for (int i = 0; i < spritesheet.getTotalNumberOfSprites(); i++) {
+      BufferedImage sprite = spritesheet.getSprite(i);
+      for (int x = 0; x < sprite.getWidth(); x++) {
+        for (int y = 0; y < sprite.getHeight(); y++) {
+          pixels.add(sprite.getRGB(x, y));
+        }
+      }
+    }
+
+    return pixels.stream().mapToInt(Integer::intValue).toArray();
+  }
+}
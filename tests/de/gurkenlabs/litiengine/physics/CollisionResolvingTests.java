@@ -1,8 +1,11 @@
 package de.gurkenlabs.litiengine.physics;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.awt.geom.Rectangle2D;
+import java.lang.management.ManagementFactory;
 
 import org.junit.jupiter.api.Test;
 
@@ -244,6 +247,104 @@ public class CollisionResolvingTests {
     assertEquals(30, ent.getY(), EPSILON);
   }
 
+  @Test
+  public void testResolvingCollisionDoesNotAllocate() {
+    Creature ent = getNewCreature();
+
+    PhysicsEngine engine = new PhysicsEngine();
+    engine.setBounds(new Rectangle2D.Double(0, 0, 1000, 1000));
+    engine.add(ent);
+
+    // wall at the right of the entity
+    engine.add(new CollisionBox(20, 0, 10, 100));
+    for (int i = 0; i < 50; i++) {
+      engine.add(new CollisionBox(100 + i * 20, 100, 10, 10));
+    }
+
+    engine.update();
+
+    final com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    final long threadId = Thread.currentThread().getId();
+    final int iterations = 20000;
+
+    // warm up the JIT and the thread local scratch objects
+    for (int i = 0; i < iterations; i++) {
+      moveAgainstWall(engine, ent);
+    }
+
+    final long before = threadBean.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < iterations; i++) {
+      moveAgainstWall(engine, ent);
+    }
+
+    final long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+    assertEquals(10, ent.getX(), EPSILON);
+    assertEquals(10, ent.getY(), EPSILON);
+
+    // allow for the measurement itself but not for a single allocation per iteration
+    assertTrue(allocated < iterations, "allocated " + allocated + " bytes");
+  }
+
+  @Test
+  public void testContinuousCollisionDoesNotTunnel() {
+    Creature ent = getNewCreature();
+    ent.setContinuousCollision(true);
+
+    PhysicsEngine engine = new PhysicsEngine();
+    engine.setBounds(new Rectangle2D.Double(0, 0, 1000, 1000));
+    engine.add(ent);
+
+    // thin wall that is skipped by a single step of a fast entity
+    engine.add(new CollisionBox(50, 0, 2, 100));
+
+    // move 100 px to the right
+    engine.update();
+    assertFalse(engine.move(ent, 90, 100));
+
+    assertEquals(40, ent.getX(), EPSILON);
+    assertEquals(10, ent.getY(), EPSILON);
+
+    // move 5 px up where no collision is
+    assertTrue(engine.move(ent, 180, 5));
+
+    assertEquals(40, ent.getX(), EPSILON);
+    assertEquals(5, ent.getY(), EPSILON);
+  }
+
+  @Test
+  public void testContinuousCollisionSlidesAlongWall() {
+    Creature ent = getNewCreature();
+    ent.setContinuousCollision(true);
+
+    PhysicsEngine engine = new PhysicsEngine();
+    engine.setBounds(new Rectangle2D.Double(0, 0, 1000, 1000));
+    engine.add(ent);
+
+    // wall at the right of the entity
+    engine.add(new CollisionBox(30, 0, 10, 100));
+
+    // "slide" along the wall to the bottom right
+    engine.update();
+    assertFalse(engine.move(ent, 45, 28.2842712474619));
+
+    assertEquals(20, ent.getX(), EPSILON);
+    assertEquals(30, ent.getY(), EPSILON);
+
+    // "slide" along the wall to the top right
+    assertFalse(engine.move(ent, 135, 14.14213562373095));
+
+    assertEquals(20, ent.getX(), EPSILON);
+    assertEquals(20, ent.getY(), EPSILON);
+  }
+
+  private static void moveAgainstWall(PhysicsEngine engine, Creature ent) {
+    assertFalse(engine.move(ent, 90, 10));
+    assertTrue(engine.collides(15, 15, 10, 10, ent));
+    assertFalse(engine.collides(0, 0, 5, 5, Collision.STATIC));
+    assertTrue(engine.collides(25, 50));
+  }
+
   private static Creature getNewCreature() {
     Creature ent = new Creature();
     ent.setX(10);
@@ -0,0 +1,78 @@
+package de.gurkenlabs.litiengine.physics;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.geom.Point2D;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.GameTest;
+import de.gurkenlabs.litiengine.entities.Creature;
+
+public class MovementControllerTests {
+
+  @BeforeAll
+  public static void initGame() {
+    // necessary because the movement controller needs access to the game loop
+    Game.init(Game.COMMADLINE_ARG_NOGUI);
+  }
+
+  @AfterAll
+  public static void terminateGame() {
+    GameTest.resetGame();
+  }
+
+  @Test
+  public void testIdleEntityFallsAsleep() {
+    Creature creature = new Creature();
+    IMovementController controller = creature.getMovementController();
+    controller.attach();
+
+    controller.update();
+    assertFalse(controller.isSleeping());
+
+    sleep(controller);
+    assertTrue(controller.isSleeping());
+
+    controller.detach();
+  }
+
+  @Test
+  public void testSleepingEntityWakesUp() {
+    Creature creature = new Creature();
+    IMovementController controller = creature.getMovementController();
+    controller.attach();
+
+    // wake up on location changes
+    sleep(controller);
+    creature.setLocation(10, 10);
+    assertFalse(controller.isSleeping());
+
+    // wake up on forces
+    sleep(controller);
+    controller.apply(new Force(new Point2D.Double(100, 100), 10, 1));
+    assertFalse(controller.isSleeping());
+
+    // don't fall asleep while a force is active
+    sleep(controller);
+    assertFalse(controller.isSleeping());
+    controller.getActiveForces().clear();
+
+    // wake up on movement requests
+    sleep(controller);
+    controller.setDx(1);
+    assertFalse(controller.isSleeping());
+
+    controller.detach();
+  }
+
+  private static void sleep(IMovementController controller) {
+    for (int i = 0; i < 100 && !controller.isSleeping(); i++) {
+      controller.update();
+    }
+  }
+}
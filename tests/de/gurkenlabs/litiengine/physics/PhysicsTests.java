@@ -1,12 +1,18 @@
 package de.gurkenlabs.litiengine.physics;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.awt.geom.Line2D;
+import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.util.Collection;
 
 import org.junit.jupiter.api.Test;
 
@@ -47,6 +53,97 @@ public class PhysicsTests {
     assertTrue(engine.collides(rect5));
   }
 
+  @Test
+  public void testCollisionDetectionAfterRelocation() {
+    Creature ent = new Creature();
+    ent.setSize(16, 16);
+    ent.setCollision(true);
+    ent.setCollisionBoxWidth(16);
+    ent.setCollisionBoxHeight(16);
+    ent.setLocation(10, 10);
+
+    PhysicsEngine engine = new PhysicsEngine();
+    engine.add(ent);
+    engine.update();
+
+    assertTrue(engine.collides(15, 15));
+
+    // the entity is moved without any update of the engine in between
+    ent.setLocation(1000, 1000);
+
+    assertFalse(engine.collides(15, 15));
+    assertTrue(engine.collides(1005, 1005));
+    assertTrue(engine.collides(new Line2D.Double(990, 1008, 1020, 1008)));
+    assertFalse(engine.collides(new Line2D.Double(0, 18, 30, 18)));
+  }
+
+  @Test
+  public void testCollisionBoxesAreUpdatedOnChange() {
+    Creature ent = new Creature();
+    ent.setSize(16, 16);
+    ent.setCollision(true);
+    ent.setCollisionBoxWidth(16);
+    ent.setCollisionBoxHeight(16);
+    ent.setLocation(10, 10);
+
+    CollisionBox box = new CollisionBox(100, 100, 10, 10);
+
+    PhysicsEngine engine = new PhysicsEngine();
+    engine.add(ent);
+    engine.add(box);
+
+    Collection<Rectangle2D> all = engine.getCollisionBoxes();
+    Collection<Rectangle2D> staticBoxes = engine.getCollisionBoxes(Collision.STATIC);
+    assertEquals(2, all.size());
+    assertEquals(1, staticBoxes.size());
+
+    // without any changes, the same snapshot is provided
+    engine.update();
+    assertSame(all, engine.getCollisionBoxes());
+
+    ent.setLocation(50, 50);
+    assertSame(staticBoxes, engine.getCollisionBoxes(Collision.STATIC));
+    assertNotSame(all, engine.getCollisionBoxes());
+    assertTrue(engine.getCollisionBoxes(Collision.DYNAMIC).contains(new Rectangle2D.Double(50, 50, 16, 16)));
+
+    engine.remove(box);
+    assertTrue(engine.getCollisionBoxes(Collision.STATIC).isEmpty());
+    assertEquals(1, engine.getCollisionBoxes().size());
+  }
+
+  @Test
+  public void testCollisionCategoriesFilterCollisions() {
+    Creature ent = new Creature();
+    ent.setSize(10, 10);
+    ent.setCollision(true);
+    ent.setCollisionBoxWidth(10);
+    ent.setCollisionBoxHeight(10);
+    ent.setLocation(0, 0);
+    ent.setCollisionCategory(2);
+
+    CollisionBox box = new CollisionBox(5, 5, 10, 10);
+
+    PhysicsEngine engine = new PhysicsEngine();
+    engine.add(ent);
+    engine.add(box);
+    engine.update();
+
+    assertTrue(engine.collides(new Rectangle2D.Double(5, 5, 5, 5), ent));
+
+    // the box doesn't collide with the category of the entity
+    box.setCollisionMask(~2);
+    assertFalse(engine.collides(new Rectangle2D.Double(5, 5, 5, 5), ent));
+    assertNull(engine.raycast(new Line2D.Double(0, 8, 20, 8), ent));
+
+    // the entity doesn't collide with the category of the box
+    box.setCollisionMask(-1);
+    ent.setCollisionMask(~box.getCollisionCategory());
+    assertFalse(engine.collides(new Rectangle2D.Double(5, 5, 5, 5), ent));
+
+    // checks without an entity are not filtered
+    assertTrue(engine.collides(new Rectangle2D.Double(5, 5, 5, 5)));
+  }
+
   @Test
   public void testPointCollides() {
     IMobileEntity ent = mock(IMobileEntity.class);
@@ -87,6 +184,74 @@ public class PhysicsTests {
     assertFalse(engine.collides(new Line2D.Double(15.1, 15.0, 15, 15)));
   }
 
+  @Test
+  public void testRaycastReturnsClosestHit() {
+    CollisionBox far = new CollisionBox(100, 0, 10, 10);
+    CollisionBox near = new CollisionBox(50, 0, 10, 10);
+    Creature creature = new Creature();
+    creature.setSize(10, 10);
+    creature.setCollision(true);
+    creature.setCollisionBoxWidth(10);
+    creature.setCollisionBoxHeight(10);
+    creature.setLocation(75, 0);
+
+    PhysicsEngine engine = new PhysicsEngine();
+    engine.add(far);
+    engine.add(creature);
+    engine.add(near);
+    engine.update();
+
+    RaycastHit hit = engine.raycast(new Point2D.Double(0, 5), new Point2D.Double(200, 5));
+    assertEquals(near, hit.getEntity());
+    assertEquals(50, hit.getDistance(), 0.0001);
+    assertEquals(50, hit.getPoint().getX(), 0.0001);
+    assertEquals(5, hit.getPoint().getY(), 0.0001);
+
+    hit = engine.raycast(new Point2D.Double(200, 5), new Point2D.Double(0, 5));
+    assertEquals(far, hit.getEntity());
+    assertEquals(90, hit.getDistance(), 0.0001);
+
+    hit = engine.raycast(new Line2D.Double(65, 5, 200, 5), Collision.DYNAMIC);
+    assertEquals(creature, hit.getEntity());
+
+    hit = engine.raycast(new Line2D.Double(65, 5, 200, 5), creature);
+    assertEquals(far, hit.getEntity());
+
+    assertNull(engine.raycast(new Point2D.Double(0, 20), new Point2D.Double(200, 20)));
+  }
+
+  @Test
+  public void testBatchedRaycast() {
+    CollisionBox box = new CollisionBox(50, 0, 10, 10);
+
+    PhysicsEngine engine = new PhysicsEngine();
+    engine.add(box);
+    engine.update();
+
+    Point2D[] origins = new Point2D[] { new Point2D.Double(0, 5), new Point2D.Double(0, 20), new Point2D.Double(100, 5) };
+    Point2D[] targets = new Point2D[] { new Point2D.Double(100, 5), new Point2D.Double(100, 20), new Point2D.Double(0, 5) };
+
+    RaycastResults results = new RaycastResults(1);
+    engine.raycast(origins, targets, results);
+
+    assertEquals(3, results.size());
+    assertEquals(box, results.getEntity(0));
+    assertEquals(50, results.getDistance(0), 0.0001);
+    assertEquals(50, results.getX(0), 0.0001);
+    assertEquals(5, results.getY(0), 0.0001);
+
+    assertFalse(results.hasHit(1));
+    assertEquals(-1, results.getDistance(1));
+
+    assertEquals(box, results.getEntity(2));
+    assertEquals(40, results.getDistance(2), 0.0001);
+
+    // the buffer is reused for the next batch
+    engine.raycast(new Point2D[] { origins[1] }, new Point2D[] { targets[1] }, results);
+    assertEquals(1, results.size());
+    assertFalse(results.hasHit(0));
+  }
+
   @Test
   public void testRectangleCollides() {
     IMobileEntity ent = mock(IMobileEntity.class);
@@ -3,7 +3,9 @@ package de.gurkenlabs.litiengine.resources;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.awt.image.BufferedImage;
@@ -49,6 +51,22 @@ public class ResourcesTests {
     assertEquals(0, Resources.images().count());
   }
 
+  @Test
+  public void testCompatibleConversion() {
+    BufferedImage image = new BufferedImage(5, 5, BufferedImage.TYPE_3BYTE_BGR);
+    final int conversions = Game.metrics().getConvertedImages();
+
+    assertNotSame(image, Resources.images().toCompatible(image));
+    assertEquals(conversions + 1, Game.metrics().getConvertedImages());
+
+    Resources.images().setCompatibleConversion(false);
+    try {
+      assertSame(image, Resources.images().toCompatible(image));
+    } finally {
+      Resources.images().setCompatibleConversion(true);
+    }
+  }
+
   @Test
   public void testMapResourcesAlias() {
     IMap map = Resources.maps().get("tests/de/gurkenlabs/litiengine/environment/tilemap/xml/test-map.tmx");
@@ -3,6 +3,7 @@ package de.gurkenlabs.litiengine.util;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.awt.Color;
@@ -212,4 +213,20 @@ public class ImagingTests {
     int[] actualPixels = ((DataBufferInt) flippedVertically.getData().getDataBuffer()).getData();
     assertArrayEquals(expectedPixels, actualPixels);
   }
+
+  @Test
+  public void testToCompatibleImage() {
+    BufferedImage image = new BufferedImage(4, 3, BufferedImage.TYPE_3BYTE_BGR);
+    image.setRGB(1, 2, Color.ORANGE.getRGB());
+    assertFalse(Imaging.isCompatible(image));
+
+    BufferedImage compatible = Imaging.toCompatibleImage(image);
+    assertTrue(Imaging.isCompatible(compatible));
+    assertEquals(4, compatible.getWidth());
+    assertEquals(3, compatible.getHeight());
+    assertEquals(Color.ORANGE.getRGB(), compatible.getRGB(1, 2));
+
+    // compatible images are not copied
+    assertSame(compatible, Imaging.toCompatibleImage(compatible));
+  }
 }
\ No newline at end of file
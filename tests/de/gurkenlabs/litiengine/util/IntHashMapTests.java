@@ -0,0 +1,92 @@
+package de.gurkenlabs.litiengine.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class IntHashMapTests {
+
+  @Test
+  public void testPutGetRemove() {
+    IntHashMap<String> map = new IntHashMap<>();
+    assertNull(map.put(1, "one"));
+    assertNull(map.put(-5, "minus five"));
+    assertEquals("one", map.put(1, "uno"));
+
+    assertEquals("uno", map.get(1));
+    assertEquals("minus five", map.get(-5));
+    assertNull(map.get(2));
+    assertTrue(map.containsKey(-5));
+    assertEquals(2, map.size());
+
+    assertFalse(map.remove(1, "one"));
+    assertTrue(map.remove(1, "uno"));
+    assertEquals("minus five", map.remove(-5));
+    assertNull(map.remove(-5));
+    assertTrue(map.isEmpty());
+    assertThrows(NullPointerException.class, () -> map.put(3, null));
+  }
+
+  @Test
+  public void testMatchesHashMap() {
+    final Random rand = new Random(3);
+    IntHashMap<Integer> map = new IntHashMap<>(4);
+    Map<Integer, Integer> expected = new HashMap<>();
+
+    // a small key range provokes collisions and removals within probe sequences
+    for (int i = 0; i < 100000; i++) {
+      final int key = rand.nextInt(2000) - 1000;
+      if (rand.nextInt(3) == 0) {
+        assertEquals(expected.remove(key), map.remove(key));
+      } else {
+        assertEquals(expected.put(key, i), map.put(key, i));
+      }
+    }
+
+    assertEquals(expected.size(), map.size());
+    for (int key = -1000; key < 1000; key++) {
+      assertEquals(expected.get(key), map.get(key));
+    }
+
+    assertEquals(new HashSet<>(expected.values()), new HashSet<>(map.values()));
+    assertEquals(expected.keySet(), new HashSet<>(map.keys()));
+
+    map.clear();
+    assertEquals(0, map.size());
+    assertFalse(map.values().iterator().hasNext());
+  }
+
+  @Test
+  public void testIterationUsesSnapshot() {
+    IntHashMap<String> map = new IntHashMap<>();
+    map.put(1, "one");
+    map.put(2, "two");
+
+    List<String> iterated = new ArrayList<>();
+    Iterator<String> iterator = map.values().iterator();
+    map.put(3, "three");
+    map.remove(1);
+    iterator.forEachRemaining(iterated::add);
+
+    assertEquals(2, iterated.size());
+    assertTrue(iterated.contains("one"));
+    assertTrue(iterated.contains("two"));
+
+    assertEquals(2, map.values().size());
+    assertTrue(map.keys().contains(3));
+    assertFalse(map.keys().contains(1));
+    assertThrows(UnsupportedOperationException.class, () -> map.values().add("four"));
+  }
+}
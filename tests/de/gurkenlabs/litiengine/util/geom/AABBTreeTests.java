@@ -0,0 +1,139 @@
+package de.gurkenlabs.litiengine.util.geom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class AABBTreeTests {
+
+  @Test
+  public void testRectangleQuery() {
+    AABBTree<Rectangle2D> tree = new AABBTree<>(r -> r);
+    Rectangle2D rect1 = new Rectangle2D.Double(0, 0, 5, 5);
+    Rectangle2D rect2 = new Rectangle2D.Double(100, 100, 25, 25);
+    tree.add(rect1);
+    tree.add(rect2);
+
+    List<Rectangle2D> result = new ArrayList<>();
+    tree.query(1, 1, 2, 2, result);
+    assertEquals(1, result.size());
+    assertTrue(result.contains(rect1));
+
+    assertTrue(tree.anyMatch(110, 110, 0, 0, r -> r == rect2));
+    assertFalse(tree.anyMatch(50, 50, 10, 10, r -> true));
+
+    assertTrue(tree.remove(rect1));
+    assertFalse(tree.anyMatch(1, 1, 2, 2, r -> true));
+    assertEquals(1, tree.size());
+  }
+
+  @Test
+  public void testLineQuery() {
+    AABBTree<Rectangle2D> tree = new AABBTree<>(r -> r);
+    Rectangle2D onLine = new Rectangle2D.Double(45, 45, 5, 5);
+    Rectangle2D offLine = new Rectangle2D.Double(45, 0, 5, 5);
+    tree.add(onLine);
+    tree.add(offLine);
+
+    List<Rectangle2D> visited = new ArrayList<>();
+    tree.anyMatchAlongLine(0, 0, 100, 100, visited::add);
+    assertEquals(1, visited.size());
+    assertTrue(visited.contains(onLine));
+
+    assertTrue(tree.anyMatchAlongLine(50, 100, 50, 0, r -> r == offLine));
+    assertFalse(tree.anyMatchAlongLine(0, 100, 40, 100, r -> true));
+  }
+
+  @Test
+  public void testMatchesBruteForce() {
+    final Random rand = new Random(42);
+    AABBTree<Rectangle2D> tree = new AABBTree<>(r -> r);
+    List<Rectangle2D> rects = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      Rectangle2D rect = new Rectangle2D.Double(rand.nextInt(1000), rand.nextInt(1000), 1 + rand.nextInt(40), 1 + rand.nextInt(40));
+      rects.add(rect);
+      tree.add(rect);
+    }
+
+    // incremental changes after the tree has been built initially
+    tree.anyMatch(0, 0, 0, 0, r -> false);
+    for (int i = 0; i < 100; i++) {
+      tree.remove(rects.remove(rand.nextInt(rects.size())));
+      Rectangle2D rect = new Rectangle2D.Double(rand.nextInt(1000), rand.nextInt(1000), 1 + rand.nextInt(40), 1 + rand.nextInt(40));
+      rects.add(rect);
+      tree.add(rect);
+    }
+
+    for (int i = 0; i < 50; i++) {
+      Rectangle2D moved = rects.get(rand.nextInt(rects.size()));
+      moved.setRect(rand.nextInt(1000), rand.nextInt(1000), moved.getWidth(), moved.getHeight());
+      tree.invalidate(moved);
+    }
+
+    for (int i = 0; i < 100; i++) {
+      Rectangle2D region = new Rectangle2D.Double(rand.nextInt(1000), rand.nextInt(1000), rand.nextInt(200), rand.nextInt(200));
+      Set<Rectangle2D> expected = new HashSet<>();
+      for (Rectangle2D rect : rects) {
+        if (rect.getMinX() <= region.getMaxX() && rect.getMaxX() >= region.getMinX() && rect.getMinY() <= region.getMaxY() && rect.getMaxY() >= region.getMinY()) {
+          expected.add(rect);
+        }
+      }
+
+      List<Rectangle2D> result = new ArrayList<>();
+      tree.query(region.getX(), region.getY(), region.getWidth(), region.getHeight(), result);
+      assertEquals(expected, new HashSet<>(result));
+    }
+
+    // the tree is balanced
+    assertTrue(tree.getHeight() < 30);
+  }
+
+  @Test
+  public void testRaycastFindsClosestHit() {
+    final Random rand = new Random(7);
+    AABBTree<Rectangle2D> tree = new AABBTree<>(r -> r);
+    List<Rectangle2D> rects = new ArrayList<>();
+    for (int i = 0; i < 300; i++) {
+      Rectangle2D rect = new Rectangle2D.Double(rand.nextInt(1000), rand.nextInt(1000), 1 + rand.nextInt(40), 1 + rand.nextInt(40));
+      rects.add(rect);
+      tree.add(rect);
+    }
+
+    for (int i = 0; i < 100; i++) {
+      final double x1 = rand.nextInt(1000);
+      final double y1 = rand.nextInt(1000);
+      final double x2 = rand.nextInt(1000);
+      final double y2 = rand.nextInt(1000);
+
+      double expected = -1;
+      for (Rectangle2D rect : rects) {
+        final double fraction = GeometricUtilities.getIntersectionFraction(x1, y1, x2, y2, rect);
+        if (fraction >= 0 && (expected < 0 || fraction < expected)) {
+          expected = fraction;
+        }
+      }
+
+      final double[] closest = new double[] { -1 };
+      tree.raycast(x1, y1, x2, y2, (rect, maxFraction) -> {
+        final double fraction = GeometricUtilities.getIntersectionFraction(x1, y1, x2, y2, rect);
+        if (fraction < 0 || fraction > maxFraction) {
+          return maxFraction;
+        }
+
+        closest[0] = fraction;
+        return fraction;
+      });
+
+      assertEquals(expected, closest[0], 0.000001);
+    }
+  }
+}
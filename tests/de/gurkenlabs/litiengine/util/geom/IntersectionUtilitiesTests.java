@@ -0,0 +1,110 @@
+package de.gurkenlabs.litiengine.util.geom;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Polygon;
+import java.awt.Shape;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Area;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class IntersectionUtilitiesTests {
+
+  @Test
+  public void testEllipseIntersectsRectangle() {
+    Ellipse2D circle = new Ellipse2D.Double(0, 0, 10, 10);
+
+    // the corner of the bounds lies outside of the circle
+    assertFalse(IntersectionUtilities.intersects(circle, new Rectangle2D.Double(9, 9, 5, 5)));
+    assertTrue(IntersectionUtilities.intersects(circle, new Rectangle2D.Double(8, 8, 5, 5)));
+    assertTrue(IntersectionUtilities.intersects(circle, new Rectangle2D.Double(2, 2, 1, 1)));
+
+    Ellipse2D ellipse = new Ellipse2D.Double(0, 0, 20, 10);
+    assertTrue(IntersectionUtilities.intersects(new Rectangle2D.Double(19, 4, 5, 2), ellipse));
+    assertFalse(IntersectionUtilities.intersects(new Rectangle2D.Double(18, 0, 5, 1), ellipse));
+  }
+
+  @Test
+  public void testPieIntersectsShapes() {
+    // a cone that points to the right
+    Arc2D cone = new Arc2D.Double(0, 0, 100, 100, -30, 60, Arc2D.PIE);
+
+    assertTrue(IntersectionUtilities.intersects(cone, new Rectangle2D.Double(80, 45, 5, 5)));
+    assertTrue(IntersectionUtilities.intersects(cone, new Rectangle2D.Double(55, 49, 20, 2)));
+    assertTrue(IntersectionUtilities.intersects(cone, new Rectangle2D.Double(60, 0, 20, 40)));
+    assertFalse(IntersectionUtilities.intersects(cone, new Rectangle2D.Double(40, 0, 10, 10)));
+    assertFalse(IntersectionUtilities.intersects(cone, new Rectangle2D.Double(0, 45, 40, 10)));
+    assertFalse(IntersectionUtilities.intersects(cone, new Rectangle2D.Double(55, 10, 5, 20)));
+    assertTrue(IntersectionUtilities.intersects(cone, new Ellipse2D.Double(96, 46, 8, 8)));
+    assertFalse(IntersectionUtilities.intersects(cone, new Ellipse2D.Double(101, 46, 8, 8)));
+
+    // a concave pie that excludes the cone and only touches its edges
+    Arc2D pacman = new Arc2D.Double(0, 0, 100, 100, 30, 300, Arc2D.PIE);
+    assertFalse(IntersectionUtilities.intersects(pacman, new Rectangle2D.Double(80, 45, 5, 5)));
+    assertTrue(IntersectionUtilities.intersects(pacman, new Rectangle2D.Double(10, 45, 5, 5)));
+    assertFalse(IntersectionUtilities.intersects(pacman, cone));
+    assertTrue(IntersectionUtilities.intersects(new Ellipse2D.Double(0, 0, 100, 100), cone));
+  }
+
+  @Test
+  public void testConvexPolygonsIntersect() {
+    Polygon triangle = new Polygon(new int[] { 0, 10, 0 }, new int[] { 0, 0, 10 }, 3);
+
+    assertTrue(IntersectionUtilities.intersects(triangle, new Rectangle2D.Double(2, 2, 2, 2)));
+    assertFalse(IntersectionUtilities.intersects(triangle, new Rectangle2D.Double(6, 6, 2, 2)));
+    assertFalse(IntersectionUtilities.intersects(triangle, new Polygon(new int[] { 10, 10, 6 }, new int[] { 6, 10, 10 }, 3)));
+    assertTrue(IntersectionUtilities.intersects(triangle, new Polygon(new int[] { 5, 10, 10 }, new int[] { 2, 2, 10 }, 3)));
+  }
+
+  @Test
+  public void testMatchesArea() {
+    final Random rand = new Random(1);
+    for (int i = 0; i < 20000; i++) {
+      Shape shapeA = getRandomShape(rand);
+      Shape shapeB = getRandomShape(rand);
+
+      Area area = new Area(shapeA);
+      area.intersect(new Area(shapeB));
+      final boolean intersects = IntersectionUtilities.intersects(shapeA, shapeB);
+      if (area.isEmpty()) {
+        assertFalse(intersects);
+      } else if (!intersects) {
+        // curves are flattened, so only a sliver of an intersection can be missed
+        final Rectangle2D bounds = area.getBounds2D();
+        assertTrue(Math.min(bounds.getWidth(), bounds.getHeight()) < 2, shapeA + " " + shapeB);
+      }
+    }
+  }
+
+  private static Shape getRandomShape(Random rand) {
+    final double x = rand.nextInt(200);
+    final double y = rand.nextInt(200);
+    final double width = 1 + rand.nextInt(80);
+    final double height = 1 + rand.nextInt(80);
+    switch (rand.nextInt(5)) {
+    case 0:
+      return new Rectangle2D.Double(x, y, width, height);
+    case 1:
+      return new Ellipse2D.Double(x, y, width, height);
+    case 2:
+      return new Arc2D.Double(x, y, width, height, rand.nextInt(360), 1 + rand.nextInt(359), Arc2D.PIE);
+    case 3:
+      return new Polygon(new int[] { (int) x, (int) (x + width), (int) x + rand.nextInt(40) }, new int[] { (int) y, (int) y + rand.nextInt(20), (int) (y + height) }, 3);
+    default:
+      // concave
+      Path2D path = new Path2D.Double();
+      path.moveTo(x, y);
+      path.lineTo(x + width, y);
+      path.lineTo(x + width / 2.0, y + height / 4.0);
+      path.lineTo(x + width / 2.0, y + height);
+      path.closePath();
+      return path;
+    }
+  }
+}
@@ -0,0 +1,185 @@
+package de.gurkenlabs.litiengine.util.geom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class SpatialHashGridTests {
+
+  @Test
+  public void testRectangleQuery() {
+    SpatialHashGrid<Rectangle2D> grid = new SpatialHashGrid<>(r -> r, 10);
+    Rectangle2D rect1 = new Rectangle2D.Double(0, 0, 5, 5);
+    Rectangle2D rect2 = new Rectangle2D.Double(100, 100, 25, 25);
+    grid.add(rect1);
+    grid.add(rect2);
+
+    List<Rectangle2D> result = new ArrayList<>();
+    grid.query(1, 1, 2, 2, result);
+    assertEquals(1, result.size());
+    assertTrue(result.contains(rect1));
+
+    result.clear();
+    grid.query(0, 0, 200, 200, result);
+    assertEquals(2, result.size());
+
+    result.clear();
+    grid.query(50, 50, 10, 10, result);
+    assertTrue(result.isEmpty());
+
+    assertTrue(grid.anyMatch(110, 110, 0, 0, r -> r == rect2));
+    assertFalse(grid.anyMatch(110, 110, 0, 0, r -> r == rect1));
+  }
+
+  @Test
+  public void testItemsAreOnlyVisitedOnce() {
+    SpatialHashGrid<Rectangle2D> grid = new SpatialHashGrid<>(r -> r, 10);
+    grid.add(new Rectangle2D.Double(-15, -15, 50, 50));
+
+    List<Rectangle2D> result = new ArrayList<>();
+    grid.query(-20, -20, 60, 60, result);
+    assertEquals(1, result.size());
+  }
+
+  @Test
+  public void testLineQuery() {
+    SpatialHashGrid<Rectangle2D> grid = new SpatialHashGrid<>(r -> r, 10);
+    Rectangle2D onLine = new Rectangle2D.Double(45, 45, 5, 5);
+    Rectangle2D offLine = new Rectangle2D.Double(45, 0, 5, 5);
+    grid.add(onLine);
+    grid.add(offLine);
+
+    List<Rectangle2D> visited = new ArrayList<>();
+    grid.anyMatchAlongLine(0, 0, 100, 100, visited::add);
+    assertEquals(1, visited.size());
+    assertTrue(visited.contains(onLine));
+
+    // vertical line exactly on a cell border
+    assertTrue(grid.anyMatchAlongLine(50, 100, 50, 0, r -> r == onLine));
+    assertTrue(grid.anyMatchAlongLine(50, 100, 50, 0, r -> r == offLine));
+  }
+
+  @Test
+  public void testInvalidate() {
+    Rectangle2D rect = new Rectangle2D.Double(0, 0, 5, 5);
+    SpatialHashGrid<Rectangle2D> grid = new SpatialHashGrid<>(r -> r, 10);
+    grid.add(rect);
+
+    rect.setRect(500, 500, 5, 5);
+    grid.invalidate(rect);
+
+    assertFalse(grid.anyMatch(0, 0, 5, 5, r -> true));
+    assertTrue(grid.anyMatch(501, 501, 1, 1, r -> true));
+
+    assertTrue(grid.remove(rect));
+    assertFalse(grid.anyMatch(501, 501, 1, 1, r -> true));
+    assertEquals(0, grid.size());
+  }
+
+  @Test
+  public void testNestedQueries() {
+    SpatialHashGrid<Rectangle2D> grid = new SpatialHashGrid<>(r -> r, 10);
+    Rectangle2D moving = new Rectangle2D.Double(0, 0, 25, 25);
+    grid.add(moving);
+    for (int i = 0; i < 5; i++) {
+      grid.add(new Rectangle2D.Double(i * 12, 0, 25, 25));
+    }
+
+    // the nested queries must neither skip nor repeat any item of the outer query
+    List<Rectangle2D> visited = new ArrayList<>();
+    grid.anyMatch(0, 0, 100, 100, r -> {
+      visited.add(r);
+      moving.setRect(moving.getX() + 10, 0, 25, 25);
+      grid.invalidate(moving);
+      assertTrue(grid.anyMatch(0, 0, 100, 100, n -> n == r));
+      assertTrue(grid.anyMatchAlongLine(0, 5, 100, 5, n -> n == r));
+      return false;
+    });
+
+    assertEquals(6, visited.size());
+    assertEquals(6, visited.stream().distinct().count());
+
+    // invalidated items are updated by the next query
+    assertTrue(grid.anyMatch(60, 0, 1, 1, r -> r == moving));
+    assertFalse(grid.anyMatch(0, 0, 1, 1, r -> r == moving));
+  }
+
+  @Test
+  public void testEmptyCellsAreRemoved() {
+    Rectangle2D rect = new Rectangle2D.Double(0, 0, 5, 5);
+    SpatialHashGrid<Rectangle2D> grid = new SpatialHashGrid<>(r -> r, 10);
+    grid.add(rect);
+    grid.add(new Rectangle2D.Double(-8, -8, 5, 5));
+    assertEquals(2, grid.getCellCount());
+
+    // an item that wanders across the map only occupies the cells around it
+    for (int i = 0; i < 1000; i++) {
+      rect.setRect(i * 10 + 2, 2, 5, 5);
+      grid.invalidate(rect);
+      assertEquals(2, grid.getCellCount());
+    }
+
+    assertTrue(grid.anyMatch(9993, 3, 1, 1, r -> r == rect));
+    assertTrue(grid.anyMatch(-7, -7, 1, 1, r -> r != rect));
+    assertTrue(grid.remove(rect));
+    assertEquals(1, grid.getCellCount());
+  }
+
+  @Test
+  public void testOversizedItems() {
+    SpatialHashGrid<Rectangle2D> grid = new SpatialHashGrid<>(r -> r, 1);
+    Rectangle2D huge = new Rectangle2D.Double(0, 0, 10000, 10000);
+    grid.add(huge);
+
+    assertTrue(grid.anyMatch(5000, 5000, 1, 1, r -> r == huge));
+    assertTrue(grid.anyMatchAlongLine(-10, 5000, 10, 5000, r -> r == huge));
+    assertFalse(grid.anyMatch(20000, 20000, 1, 1, r -> true));
+  }
+
+  @Test
+  public void testRaycastFindsClosestHit() {
+    final Random rand = new Random(7);
+    SpatialHashGrid<Rectangle2D> grid = new SpatialHashGrid<>(r -> r, 32);
+    List<Rectangle2D> rects = new ArrayList<>();
+    for (int i = 0; i < 300; i++) {
+      Rectangle2D rect = new Rectangle2D.Double(rand.nextInt(1000), rand.nextInt(1000), 1 + rand.nextInt(40), 1 + rand.nextInt(40));
+      rects.add(rect);
+      grid.add(rect);
+    }
+
+    for (int i = 0; i < 100; i++) {
+      final double x1 = rand.nextInt(1000);
+      final double y1 = rand.nextInt(1000);
+      final double x2 = rand.nextInt(1000);
+      final double y2 = rand.nextInt(1000);
+
+      double expected = -1;
+      for (Rectangle2D rect : rects) {
+        final double fraction = GeometricUtilities.getIntersectionFraction(x1, y1, x2, y2, rect);
+        if (fraction >= 0 && (expected < 0 || fraction < expected)) {
+          expected = fraction;
+        }
+      }
+
+      final double[] closest = new double[] { -1 };
+      grid.raycast(x1, y1, x2, y2, (rect, maxFraction) -> {
+        final double fraction = GeometricUtilities.getIntersectionFraction(x1, y1, x2, y2, rect);
+        if (fraction < 0 || fraction > maxFraction) {
+          return maxFraction;
+        }
+
+        closest[0] = fraction;
+        return fraction;
+      });
+
+      assertEquals(expected, closest[0], 0.000001);
+    }
+  }
+}